@@ -0,0 +1,387 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import javax.sound.sampled.*;
+
+/**
+The AudioMixer class plays every sound of the game through a single
+SourceDataLine. Each sound is registered as one or more voices, each holding
+16-bit mono samples at RATE, and a thread of its own sums the voices that are
+playing into a small buffer, a few milliseconds of sound at a time, and
+writes it to the line. The threads giving commands, the one stepping the
+game and the event dispatch thread starting a new game, never touch the
+line: they post play, resume, loop, and stop commands into a ring buffer,
+which the mixer thread drains before mixing each buffer. Posting is
+synchronized on the mixer, so that commands from both threads go into the
+ring one at a time; the mixer thread never takes the lock, reading the
+commands posted as InputQueue hands over inputs.
+The latency of a command is at most the latency the line is opened with.
+With no audio device, or when asked for, the mixer writes to a null sink,
+mixing at the same pace and throwing the sound away, so that it behaves the
+same without a sound card.
+@since 10-18-2026
+*/
+public class AudioMixer implements Runnable
+{
+   /** samples per second of every voice and of the line */
+   public static final int RATE = 22050;
+   /** milliseconds of sound buffered by the line unless told otherwise */
+   public static final int DEFAULT_LATENCY = 40;
+   /** command playing a voice once from its start */
+   public static final int PLAY = 1;
+   /** command playing a voice once from where it was stopped */
+   public static final int RESUME = 2;
+   /** command playing a voice over and over from where it was stopped */
+   public static final int LOOP = 3;
+   /** command stopping a voice where it is */
+   public static final int STOP = 4;
+   /** number of commands the ring holds */
+   private static final int COMMANDS = 64;
+   /** most voices a mixer holds, so that a voice fits in thirteen bits of a
+   command */
+   private static final int MAX_VOICES = 8192;
+   /** fewest samples mixed at a time */
+   private static final int MIN_CHUNK = 64;
+
+   /** samples of each voice */
+   private short[][] samples = new short[8][];
+   /** number of voices */
+   private int voices;
+   /** milliseconds of sound buffered */
+   private int latency;
+   /** line written to, or null for the null sink */
+   private SourceDataLine line;
+   /** thread mixing the voices */
+   private Thread thread;
+   /** whether the mixer thread should go on */
+   private volatile boolean alive;
+   /** samples mixed since the mixer started */
+   private volatile long mixed;
+
+   /** commands waiting, each the generation of the voice shifted left by
+   sixteen bits, or'ed with the voice shifted left by three, or'ed with the
+   command */
+   private final long[] ring = new long[COMMANDS];
+   /** number of commands taken so far, written only by the mixer thread */
+   private volatile long head;
+   /** number of commands posted so far, written only while holding the lock
+   of the mixer */
+   private volatile long tail;
+   /** number of commands dropped because the ring was full */
+   private int dropped;
+
+   /** number of times each voice has been started, counted while holding the
+   lock of the mixer */
+   private int[] generation = new int[8];
+   /** whether each voice was last told to play rather than stop */
+   private boolean[] requested = new boolean[8];
+   /** generation of each voice when it last played to its end */
+   private AtomicIntegerArray finished;
+
+   /** sample each voice is at, kept by the mixer thread */
+   private int[] position;
+   /** whether each voice is playing, kept by the mixer thread */
+   private boolean[] active;
+   /** whether each voice plays over and over, kept by the mixer thread */
+   private boolean[] looping;
+   /** generation each voice is playing, kept by the mixer thread */
+   private int[] playing;
+
+   /**
+   Initializes an AudioMixer buffering the given milliseconds of sound, which
+   opens the line of the default audio device if a sink is wanted, or uses
+   the null sink if not or if no line can be opened. Voices are added before
+   the mixer is started.
+   @param latency   milliseconds of sound buffered, at least 5
+   @param sink   whether to play to the audio device rather than the null sink
+   @throws IllegalArgumentException if the latency is less than 5
+   */
+   public AudioMixer(int latency, boolean sink)
+   {
+      if(latency < 5)
+         throw new IllegalArgumentException("latency " + latency);
+      this.latency = latency;
+      if(!sink)
+         return;
+      AudioFormat format = new AudioFormat(RATE, 16, 1, true, false);
+      try{
+         line = AudioSystem.getSourceDataLine(format);
+         line.open(format, frames() * 2);
+      }
+      catch(LineUnavailableException | IllegalArgumentException | SecurityException e){
+         line = null;
+      }
+   }
+
+   /**
+   Adds a voice playing the given samples. The same samples may be shared by
+   several voices, so that a sound can be played on each at once.
+   @param pcm 16-bit mono samples at RATE
+   @return  index of the voice
+   @throws IllegalStateException if the mixer has already been started
+   */
+   public int addVoice(short[] pcm)
+   {
+      if(thread != null)
+         throw new IllegalStateException("mixer already started");
+      if(voices == MAX_VOICES)
+         throw new IllegalStateException("more than " + MAX_VOICES + " voices");
+      if(voices == samples.length){
+         samples = Arrays.copyOf(samples, voices * 2);
+         generation = Arrays.copyOf(generation, voices * 2);
+         requested = Arrays.copyOf(requested, voices * 2);
+      }
+      samples[voices] = pcm;
+      return voices++;
+   }
+
+   /**
+   Starts the line, if there is one, and the thread mixing the voices.
+   */
+   public void start()
+   {
+      if(thread != null)
+         return;
+      finished = new AtomicIntegerArray(voices);
+      position = new int[voices];
+      active = new boolean[voices];
+      looping = new boolean[voices];
+      playing = new int[voices];
+      alive = true;
+      if(line != null)
+         line.start();
+      thread = new Thread(this, "AudioMixer");
+      thread.setDaemon(true);
+      thread.setPriority(Thread.MAX_PRIORITY);
+      thread.start();
+   }
+
+   /**
+   Stops the thread mixing the voices and closes the line.
+   */
+   public void close()
+   {
+      alive = false;
+      if(thread != null)
+         try{
+            thread.join(1000);
+         }
+         catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+         }
+   }
+
+   /**
+   Posts a command for a voice, to be carried out by the mixer thread before
+   it mixes its next buffer. Stopping a voice that is not playing does
+   nothing. Commands may be posted by any thread, each waiting for any other
+   posting at the same time.
+   @param voice  index of the voice
+   @param command   PLAY, RESUME, LOOP, or STOP
+   @return  whether the command was posted, the ring not being full
+   */
+   public synchronized boolean post(int voice, int command)
+   {
+      if(command == STOP && !requested[voice])
+         return true;
+      long t = tail;
+      if(t - head == ring.length){
+         dropped++;
+         return false;
+      }
+      if(command != STOP)
+         generation[voice]++;
+      ring[(int) t & (COMMANDS - 1)] = (long) generation[voice] << 16 | voice << 3 | command;
+      tail = t + 1;
+      requested[voice] = command != STOP;
+      return true;
+   }
+
+   /**
+   Returns whether the given voice is playing, as far as the threads posting
+   commands know: it was last told to play, and has not since played to its
+   end.
+   @param voice  index of the voice
+   @return  whether the voice is playing
+   */
+   public synchronized boolean isPlaying(int voice)
+   {
+      return requested[voice] && (finished == null || finished.get(voice) != generation[voice]);
+   }
+
+   /**
+   Returns whether sound goes to the null sink rather than an audio device.
+   @return  whether the null sink is used
+   */
+   public boolean isNullSink()
+   {
+      return line == null;
+   }
+
+   /**
+   Returns the milliseconds of sound buffered.
+   @return  latency in milliseconds
+   */
+   public int getLatency()
+   {
+      return latency;
+   }
+
+   /**
+   Returns the number of samples mixed since the mixer started.
+   @return  samples mixed
+   */
+   public long getMixed()
+   {
+      return mixed;
+   }
+
+   /**
+   Returns the number of commands dropped because the ring was full.
+   @return  commands dropped
+   */
+   public synchronized int getDropped()
+   {
+      return dropped;
+   }
+
+   /**
+   Mixes the voices that are playing a chunk at a time, a quarter of the
+   latency, carrying out the commands posted before each chunk, and writes
+   each chunk to the line, which blocks while the line is full, or to the
+   null sink, which waits until the chunk would have been played.
+   */
+   public void run()
+   {
+      int chunk = Math.max(MIN_CHUNK, frames() / 4);
+      int[] sum = new int[chunk];
+      byte[] out = new byte[chunk * 2];
+      long chunkNanos = chunk * 1000000000L / RATE;
+      long next = System.nanoTime();
+      while(alive){
+         drain();
+         Arrays.fill(sum, 0);
+         for(int v = 0; v < voices; v++)
+            if(active[v])
+               mix(v, sum);
+         for(int x = 0; x < chunk; x++){
+            int s = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sum[x]));
+            out[2 * x] = (byte) s;
+            out[2 * x + 1] = (byte) (s >> 8);
+         }
+         if(line != null)
+            line.write(out, 0, out.length);
+         else{
+            next += chunkNanos;
+            long wait = next - System.nanoTime();
+            if(wait > 0)
+               LockSupport.parkNanos(wait);
+            else
+               next = System.nanoTime();
+         }
+         mixed += chunk;
+      }
+      if(line != null){
+         line.stop();
+         line.close();
+      }
+   }
+
+   /**
+   Carries out every command posted since the last chunk was mixed.
+   */
+   private void drain()
+   {
+      long h = head;
+      long t = tail;
+      for(; h != t; h++){
+         long c = ring[(int) h & (COMMANDS - 1)];
+         int v = (int) (c >> 3) & (MAX_VOICES - 1);
+         switch((int) c & 7){
+            case PLAY:
+               position[v] = 0;
+               looping[v] = false;
+               start(v, (int) (c >>> 16));
+               break;
+            case RESUME:
+               looping[v] = false;
+               start(v, (int) (c >>> 16));
+               break;
+            case LOOP:
+               looping[v] = true;
+               start(v, (int) (c >>> 16));
+               break;
+            case STOP:
+               active[v] = false;
+               break;
+         }
+      }
+      head = h;
+   }
+
+   /**
+   Starts the given voice where it is, as the given generation. A voice at its
+   end that does not loop finishes at once.
+   @param v   index of the voice
+   @param gen generation started
+   */
+   private void start(int v, int gen)
+   {
+      playing[v] = gen;
+      active[v] = true;
+      if(position[v] >= samples[v].length){
+         if(looping[v] && samples[v].length > 0)
+            position[v] = 0;
+         else
+            finish(v);
+      }
+   }
+
+   /**
+   Adds the next samples of the given voice to the chunk being mixed, going
+   back to the start if it loops, or finishing it at its end if not.
+   @param v   index of the voice
+   @param sum samples of the chunk being mixed
+   */
+   private void mix(int v, int[] sum)
+   {
+      short[] pcm = samples[v];
+      int p = position[v];
+      int x = 0;
+      while(x < sum.length){
+         int n = Math.min(sum.length - x, pcm.length - p);
+         for(int k = 0; k < n; k++)
+            sum[x + k] += pcm[p + k];
+         x += n;
+         p += n;
+         if(p == pcm.length){
+            if(!looping[v] || pcm.length == 0){
+               position[v] = p;
+               finish(v);
+               return;
+            }
+            p = 0;
+         }
+      }
+      position[v] = p;
+   }
+
+   /**
+   Stops the given voice at its end and lets the posting threads know.
+   @param v   index of the voice
+   */
+   private void finish(int v)
+   {
+      active[v] = false;
+      finished.set(v, playing[v]);
+   }
+
+   /**
+   Returns the number of samples buffered at the latency of the mixer.
+   @return  samples buffered
+   */
+   private int frames()
+   {
+      return RATE * latency / 1000;
+   }
+}
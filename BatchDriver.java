@@ -0,0 +1,684 @@
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+The BatchDriver class plays many games of PacMan at once with no window, sound
+or dialogs, each on a GameEngine stepped as fast as it will go, and reports
+how they went: the distribution of the scores, the levels reached, the deaths
+on each level, the steps played per second, and the bytes allocated per step
+while playing, which a game that has warmed up should keep at zero. Every
+game shares the maze of one GameEngine and is seeded on its own, so the games
+are independent of one another and of how many threads play them, and a run
+can be repeated exactly by giving it the same seed.
+@since 10-18-2026
+*/
+public class BatchDriver
+{
+   /** milliseconds between the summaries printed while games are played */
+   private static final int REPORT_MILLIS = 1000;
+   /** number of bars of the histogram of scores */
+   private static final int BARS = 10;
+   /** longest bar of the histogram of scores, in characters */
+   private static final int BAR_WIDTH = 40;
+   /** steps played in all, counting those of the games reported on, before
+   -assertZeroAlloc measures any */
+   private static final long WARMUP_STEPS = 1000000;
+   /** times the games are played again and measured by -assertZeroAlloc,
+   every one of which must allocate nothing */
+   private static final int CHECK_PASSES = 3;
+
+   /**
+   The main method plays the games, spreading them over a fixed pool of
+   threads, and prints a summary every second and a full report at the end.
+   Arguments are given as flags, each followed by its value:
+   -games, the number of games, 1000 by default;
+   -threads, the number of threads, one for each processor by default;
+   -seed, the seed of the first game, taken from the clock by default;
+   -player, one of random, bot, or script:file, where file holds one of L, U,
+   R, D or . for each step, read again from the start once it runs out,
+   bot by default;
+   -maxSteps, the steps after which a game that has not ended is stopped,
+   100000 by default;
+   -ghosts, one of shortest, for ghosts following the shortest path through
+   the maze, or classic, for ghosts moving as in the arcade, shortest by
+   default.
+   Given -assertZeroAlloc, which takes no value, the same games are then
+   played again without being measured until WARMUP_STEPS steps have been
+   played in all, so that every path they take has been run and compiled,
+   and then played CHECK_PASSES more times, counting the bytes their steps
+   allocate. The program exits with a status of 1 on the first of those
+   passes that allocates anything, or if this JVM cannot count allocations.
+   @param args  flags and their values, as above.
+   @throws Exception  removes complication of scanning text files.
+   */
+   public static void main(String[] args) throws Exception
+   {
+      System.setProperty("java.awt.headless", "true");
+      int games = 1000;
+      int threads = Runtime.getRuntime().availableProcessors();
+      long seed = System.nanoTime();
+      String player = "bot";
+      int maxSteps = 100000;
+      String ghosts = "shortest";
+      boolean assertZeroAlloc = false;
+      for(int x = 0; x < args.length; x++){
+         String flag = args[x];
+         if(flag.equals("-assertZeroAlloc")){
+            assertZeroAlloc = true;
+            continue;
+         }
+         if(x + 1 == args.length)
+            throw new IllegalArgumentException("no value for " + flag);
+         String value = args[++x];
+         switch(flag){
+            case "-games":
+               games = Integer.parseInt(value);
+               break;
+            case "-threads":
+               threads = Integer.parseInt(value);
+               break;
+            case "-seed":
+               seed = Long.parseLong(value);
+               break;
+            case "-player":
+               player = value;
+               break;
+            case "-maxSteps":
+               maxSteps = Integer.parseInt(value);
+               break;
+            case "-ghosts":
+               ghosts = value;
+               break;
+            default:
+               throw new IllegalArgumentException("unknown flag " + flag);
+         }
+      }
+      char[] script = null;
+      if(player.startsWith("script:"))
+         script = readScript(player.substring("script:".length()));
+      else if(!player.equals("random") && !player.equals("bot"))
+         throw new IllegalArgumentException("unknown player " + player);
+      if(!ghosts.equals("shortest") && !ghosts.equals("classic"))
+         throw new IllegalArgumentException("unknown ghosts " + ghosts);
+
+      System.out.printf("%d games, %d threads, player %s, ghosts %s, seed %d%n", games, threads, player, ghosts, seed);
+      GameEngine layout = new GameEngine();
+      Tally tally = new Tally();
+      long elapsed = playAll(threads, new Worker(layout, tally, new AtomicInteger(), games, seed, player, script,
+         maxSteps, ghosts.equals("classic")), tally, true);
+      tally.printReport(elapsed);
+      if(!assertZeroAlloc)
+         return;
+
+      long warmed = tally.getSteps();
+      while(warmed < WARMUP_STEPS){
+         Tally warmup = new Tally();
+         playAll(threads, new Worker(layout, warmup, new AtomicInteger(), games, seed, player, script,
+            maxSteps, ghosts.equals("classic")), warmup, false);
+         warmed += warmup.getSteps();
+      }
+      System.out.printf("check  warmed up over %d steps%n", warmed);
+      for(int pass = 1; pass <= CHECK_PASSES; pass++){
+         Tally check = new Tally();
+         playAll(threads, new Worker(layout, check, new AtomicInteger(), games, seed, player, script,
+            maxSteps, ghosts.equals("classic")), check, false);
+         long allocated = check.getAllocated();
+         if(allocated < 0){
+            System.out.println("FAIL: allocations are not measured by this JVM");
+            System.exit(1);
+         }
+         System.out.printf("check  pass %d allocated %d bytes over %d steps%n", pass, allocated, check.getSteps());
+         if(allocated != 0){
+            System.out.println("FAIL: warmed-up steps allocate");
+            System.exit(1);
+         }
+      }
+      System.out.println("OK: warmed-up steps allocate nothing");
+   }
+
+   /**
+   Plays every game, running the given Worker on each thread of a fixed pool,
+   and waits for them to be played, printing a summary of the tally every
+   REPORT_MILLIS if asked to.
+   @param threads   number of threads
+   @param worker the Worker run by every thread, which takes the games one at
+   a time from a counter of its own
+   @param tally  tally the Worker adds the results to
+   @param summaries whether to print summaries while the games are played
+   @return  nanoseconds taken
+   @throws InterruptedException if interrupted while waiting
+   */
+   private static long playAll(int threads, Worker worker, Tally tally, boolean summaries) throws InterruptedException
+   {
+      ExecutorService pool = Executors.newFixedThreadPool(threads);
+      long begin = System.nanoTime();
+      for(int t = 0; t < threads; t++)
+         pool.execute(worker);
+      pool.shutdown();
+      while(!pool.awaitTermination(REPORT_MILLIS, TimeUnit.MILLISECONDS))
+         if(summaries)
+            tally.printSummary(System.nanoTime() - begin);
+      return System.nanoTime() - begin;
+   }
+
+   /**
+   Reads a script of inputs from a file, one character for each step, leaving
+   out any whitespace.
+   @param name   name of the file
+   @return  characters of the script
+   @throws Exception  removes complication of scanning text files.
+   */
+   private static char[] readScript(String name) throws Exception
+   {
+      StringBuilder text = new StringBuilder();
+      Scanner in = new Scanner(new File(name));
+      while(in.hasNext())
+         text.append(in.next());
+      in.close();
+      if(text.length() == 0)
+         throw new IllegalArgumentException("empty script " + name);
+      return text.toString().toCharArray();
+   }
+
+   /**
+   A Player decides what to ask of PacMan at each step of one game.
+   */
+   interface Player
+   {
+      /**
+      Returns what the player asks of PacMan during the next step.
+      @param game   game about to be stepped
+      @return  input for the step
+      */
+      Input next(GameEngine game);
+   }
+
+   /**
+   A RandomPlayer now and then asks PacMan to turn a random way.
+   */
+   static class RandomPlayer implements Player
+   {
+      /** source of the player's choices */
+      private SplittableRandom random;
+
+      /**
+      Initializes a RandomPlayer making its choices from the given seed.
+      @param seed   seed of the player's choices
+      */
+      RandomPlayer(long seed)
+      {
+         random = new SplittableRandom(seed);
+      }
+
+      public Input next(GameEngine game)
+      {
+         if(random.nextInt(8) != 0)
+            return Input.NONE;
+         return Input.turn(1 + random.nextInt(4));
+      }
+   }
+
+   /**
+   A ScriptPlayer asks of PacMan what a script says for each step, starting
+   over once the script runs out: L for left, U for up, R for right, D for
+   down, and anything else for nothing.
+   */
+   static class ScriptPlayer implements Player
+   {
+      /** characters of the script, one for each step */
+      private char[] script;
+      /** position in the script of the next step */
+      private int position;
+
+      /**
+      Initializes a ScriptPlayer reading the given script.
+      @param s   characters of the script, which are not changed
+      */
+      ScriptPlayer(char[] s)
+      {
+         script = s;
+      }
+
+      public Input next(GameEngine game)
+      {
+         char c = script[position];
+         position = (position + 1) % script.length;
+         switch(c){
+            case 'L':
+               return Input.turn(1);
+            case 'U':
+               return Input.turn(2);
+            case 'R':
+               return Input.turn(3);
+            case 'D':
+               return Input.turn(4);
+            default:
+               return Input.NONE;
+         }
+      }
+   }
+
+   /**
+   A BotPlayer steers PacMan whenever it is at the center of a tile along
+   the shortest path to the nearest tile holding a pellet or a frightened
+   ghost, found by a breadth-first search of the tiles of the maze that keeps
+   clear of the tiles around every ghost that would kill PacMan. If no such
+   path exists the search is done again without keeping clear.
+   */
+   static class BotPlayer implements Player
+   {
+      /** tiles around a ghost, counted along the grid, that are kept clear */
+      private static final int DANGER = 2;
+
+      /** number of columns of tiles */
+      private int cols;
+      /** number of rows of tiles */
+      private int rows;
+      /** stamp of the search that last reached each tile */
+      private int[] seen;
+      /** stamp of the search that last marked each tile as dangerous */
+      private int[] danger;
+      /** first direction taken from PacMan's tile along the path to each
+      tile */
+      private byte[] first;
+      /** tiles waiting to be searched */
+      private int[] queue;
+      /** stamp of the current search */
+      private int stamp;
+
+      /**
+      Initializes a BotPlayer for games played on the given maze.
+      @param m   maze of the games
+      */
+      BotPlayer(Maze m)
+      {
+         cols = m.getTileWidth();
+         rows = m.getTileHeight();
+         seen = new int[cols * rows];
+         danger = new int[cols * rows];
+         first = new byte[cols * rows];
+         queue = new int[cols * rows];
+      }
+
+      public Input next(GameEngine game)
+      {
+         PacMan pac = game.getPacMan();
+         if(game.getPhase() != GameEngine.PLAYING || !pac.isCentered())
+            return Input.NONE;
+         if(!game.getMaze().hasTile(pac.getTileX(), pac.getTileY()))
+            return Input.NONE;
+         stamp++;
+         markDanger(game.getBlinky());
+         markDanger(game.getPinky());
+         markDanger(game.getInky());
+         markDanger(game.getClyde());
+         int d = search(game, true);
+         if(d == 0)
+            d = search(game, false);
+         return Input.turn(d);
+      }
+
+      /**
+      Marks the tiles around a ghost that would kill PacMan as dangerous.
+      @param ghost  ghost to keep clear of
+      */
+      private void markDanger(Ghost ghost)
+      {
+         if(ghost.isFright() || ghost.isDead())
+            return;
+         for(int dx = -DANGER; dx <= DANGER; dx++)
+            for(int dy = Math.abs(dx) - DANGER; dy <= DANGER - Math.abs(dx); dy++){
+               int col = Math.floorMod(ghost.getTileX() + dx, cols);
+               int row = ghost.getTileY() + dy;
+               if(row >= 0 && row < rows)
+                  danger[row * cols + col] = stamp;
+            }
+      }
+
+      /**
+      Searches outward from PacMan's tile for the nearest tile holding a
+      pellet that has not been eaten or a frightened ghost.
+      @param game   game being played
+      @param safe   whether dangerous tiles are kept clear of
+      @return  first direction along the path to the tile found, or 0 if none
+      is found
+      */
+      private int search(GameEngine game, boolean safe)
+      {
+         Maze m = game.getMaze();
+         PacMan pac = game.getPacMan();
+         int from = pac.getTileY() * cols + pac.getTileX();
+         int mark = safe ? stamp : -stamp;
+         int head = 0;
+         int tail = 0;
+         seen[from] = mark;
+         queue[tail++] = from;
+         while(head < tail){
+            int tile = queue[head++];
+            int col = tile % cols;
+            int row = tile / cols;
+            if(tile != from && isGoal(game, col, row))
+               return first[tile];
+            for(int d = 1; d <= 4; d++){
+               if(!m.canExit(col, row, d))
+                  continue;
+               int nc = Math.floorMod(col + (d == 1 ? -1 : d == 3 ? 1 : 0), cols);
+               int nr = row + (d == 2 ? -1 : d == 4 ? 1 : 0);
+               if(nr < 0 || nr >= rows)
+                  continue;
+               int n = nr * cols + nc;
+               if(seen[n] == mark || (safe && danger[n] == stamp))
+                  continue;
+               seen[n] = mark;
+               first[n] = tile == from ? (byte) d : first[tile];
+               queue[tail++] = n;
+            }
+         }
+         return 0;
+      }
+
+      /**
+      Returns whether a tile is worth heading for, holding a pellet that has
+      not been eaten or a frightened ghost that may still be caught.
+      @param game   game being played
+      @param col column of the tile
+      @param row row of the tile
+      @return  whether the tile is worth heading for
+      */
+      private boolean isGoal(GameEngine game, int col, int row)
+      {
+         PelletIndex pellets = game.getPellets();
+         for(int k = 0; k < pellets.countAt(col, row); k++)
+            if(!pellets.isEaten(pellets.getAt(col, row, k)))
+               return true;
+         if(game.getFrightenedSteps() < GameEngine.FRIGHT_STEPS / 4)
+            return false;
+         return isPrey(game.getBlinky(), col, row) || isPrey(game.getPinky(), col, row)
+            || isPrey(game.getInky(), col, row) || isPrey(game.getClyde(), col, row);
+      }
+
+      /**
+      Returns whether a ghost is frightened and in the given tile.
+      @param ghost  ghost to check
+      @param col column of the tile
+      @param row row of the tile
+      @return  whether the ghost may be eaten there
+      */
+      private static boolean isPrey(Ghost ghost, int col, int row)
+      {
+         return ghost.isFright() && !ghost.isDead() && ghost.getTileX() == col && ghost.getTileY() == row;
+      }
+   }
+
+   /**
+   A Worker plays games one after another, taking the index of each from a
+   counter shared by every thread running it, until every game has been
+   played. Everything a game needs is made by the thread playing it, so one
+   Worker may be run by many threads at once.
+   */
+   static class Worker implements Runnable
+   {
+      /** game whose maze and pellets every game is played on */
+      private GameEngine layout;
+      /** tally the result of each game is added to */
+      private Tally tally;
+      /** index of the next game to be played by any Worker */
+      private AtomicInteger next;
+      /** number of games to play in all */
+      private int games;
+      /** seed of the first game */
+      private long seed;
+      /** kind of player playing the games */
+      private String player;
+      /** script read by a ScriptPlayer, or null */
+      private char[] script;
+      /** steps after which a game that has not ended is stopped */
+      private int maxSteps;
+      /** whether the ghosts move as in the arcade */
+      private boolean classic;
+
+      /**
+      Initializes a Worker playing the given games.
+      @param l   game whose maze and pellets are played on
+      @param t   tally the results are added to
+      @param n   counter of the games played by every Worker
+      @param g   number of games to play in all
+      @param s   seed of the first game
+      @param p   kind of player: random, bot, or script:file
+      @param sc  script read by a ScriptPlayer, or null
+      @param max steps after which a game is stopped
+      @param c   whether the ghosts move as in the arcade
+      */
+      Worker(GameEngine l, Tally t, AtomicInteger n, int g, long s, String p, char[] sc, int max, boolean c)
+      {
+         layout = l;
+         tally = t;
+         next = n;
+         games = g;
+         seed = s;
+         player = p;
+         script = sc;
+         maxSteps = max;
+         classic = c;
+      }
+
+      public void run()
+      {
+         com.sun.management.ThreadMXBean counter = null;
+         if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean){
+            counter = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if(!counter.isThreadAllocatedMemorySupported() || !counter.isThreadAllocatedMemoryEnabled())
+               counter = null;
+         }
+         long thread = Thread.currentThread().getId();
+         BotPlayer bot = new BotPlayer(layout.getMaze());
+         int[] deaths = new int[maxSteps / (GameEngine.CLEARED_STEPS + GameEngine.READY_STEPS) + 2];
+         for(int g = next.getAndIncrement(); g < games; g = next.getAndIncrement()){
+            long begin = System.nanoTime();
+            SplittableRandom random = new SplittableRandom(seed + g);
+            GameEngine game = new GameEngine(layout, random.nextLong());
+            game.setClassic(classic);
+            Player p;
+            if(script != null)
+               p = new ScriptPlayer(script);
+            else if(player.equals("random"))
+               p = new RandomPlayer(random.nextLong());
+            else
+               p = bot;
+            Arrays.fill(deaths, 0);
+            int steps = 0;
+            long allocated = counter == null ? -1 : counter.getThreadAllocatedBytes(thread);
+            while(game.getPhase() != GameEngine.GAME_OVER && steps < maxSteps){
+               int events = game.step(p.next(game));
+               steps++;
+               if((events & GameEngine.DIED) != 0)
+                  deaths[game.getLevel()]++;
+            }
+            if(counter != null)
+               allocated = counter.getThreadAllocatedBytes(thread) - allocated;
+            tally.add(game.getScore(), game.getLevel(), deaths, steps, game.getPhase() == GameEngine.GAME_OVER, allocated, System.nanoTime() - begin);
+         }
+      }
+   }
+
+   /**
+   A Tally gathers the results of the games as each Worker finishes them.
+   */
+   static class Tally
+   {
+      /** score of each game finished */
+      private int[] scores = new int[256];
+      /** number of games finished */
+      private int games;
+      /** number of games stopped after maxSteps steps before ending */
+      private int stopped;
+      /** number of games ending on each level */
+      private int[] levels = new int[8];
+      /** number of deaths on each level over every game */
+      private long[] deaths = new long[8];
+      /** steps played over every game */
+      private long steps;
+      /** nanoseconds spent playing over every thread */
+      private long busy;
+      /** bytes allocated while playing over every game measured */
+      private long allocated;
+      /** steps played over every game whose allocations were measured */
+      private long measured;
+
+      /**
+      Adds the result of a finished game.
+      @param score  final score
+      @param level  level the game ended on
+      @param died   number of deaths on each level
+      @param s   steps played
+      @param over   whether the game ended rather than being stopped
+      @param bytes  bytes allocated by the thread while stepping the game and
+      asking its player for inputs, or -1 if they could not be measured
+      @param nanos  nanoseconds spent playing
+      */
+      synchronized void add(int score, int level, int[] died, int s, boolean over, long bytes, long nanos)
+      {
+         if(bytes >= 0){
+            allocated += bytes;
+            measured += s;
+         }
+         if(!over)
+            stopped++;
+         if(games == scores.length)
+            scores = Arrays.copyOf(scores, games * 2);
+         scores[games++] = score;
+         if(level >= levels.length)
+            levels = Arrays.copyOf(levels, level * 2);
+         levels[level]++;
+         if(died.length > deaths.length)
+            deaths = Arrays.copyOf(deaths, died.length);
+         for(int x = 0; x < died.length; x++)
+            deaths[x] += died[x];
+         steps += s;
+         busy += nanos;
+      }
+
+      /**
+      Returns the bytes allocated while playing over every game measured.
+      @return  bytes allocated, or -1 if no game could be measured
+      */
+      synchronized long getAllocated()
+      {
+         return measured > 0 ? allocated : -1;
+      }
+
+      /**
+      Returns the steps played over every game.
+      @return  steps played
+      */
+      synchronized long getSteps()
+      {
+         return steps;
+      }
+
+      /**
+      Prints a line summing up the games finished so far.
+      @param elapsed   nanoseconds since the games began
+      */
+      synchronized void printSummary(long elapsed)
+      {
+         System.out.printf("%6.1fs  %d games  mean score %.0f  %s steps/s%n", elapsed / 1e9, games, mean(), rate(steps, elapsed));
+      }
+
+      /**
+      Prints the full report of every game: the distribution of the scores,
+      the levels reached, the deaths on each level, how fast the steps were
+      played, overall and by each thread while busy, and how many bytes each
+      step allocated.
+      @param elapsed   nanoseconds since the games began
+      */
+      synchronized void printReport(long elapsed)
+      {
+         if(games == 0){
+            System.out.println("no games played");
+            return;
+         }
+         int[] sorted = Arrays.copyOf(scores, games);
+         Arrays.sort(sorted);
+         System.out.printf("%n%d games in %.2fs, %d stopped before ending%n", games, elapsed / 1e9, stopped);
+         System.out.printf("%nscore  mean %.0f  min %d  p10 %d  median %d  p90 %d  max %d%n", mean(), sorted[0],
+            percentile(sorted, 10), percentile(sorted, 50), percentile(sorted, 90), sorted[games - 1]);
+
+         int width = Math.max(1, (sorted[games - 1] / BARS + 99) / 100 * 100);
+         int[] bars = new int[BARS + 1];
+         for(int x = 0; x < games; x++)
+            bars[Math.min(sorted[x] / width, BARS)]++;
+         int most = 0;
+         for(int x = 0; x < bars.length; x++)
+            most = Math.max(most, bars[x]);
+         for(int x = 0; x < bars.length; x++)
+            if(bars[x] > 0){
+               char[] bar = new char[Math.max(1, bars[x] * BAR_WIDTH / most)];
+               Arrays.fill(bar, '#');
+               System.out.printf("%7d+ %7d %s%n", x * width, bars[x], new String(bar));
+            }
+
+         System.out.printf("%nlevel  ended  reached  deaths/game%n");
+         int reached = games;
+         for(int x = 1; x < Math.max(levels.length, deaths.length); x++){
+            if(reached == 0)
+               break;
+            int ended = x < levels.length ? levels[x] : 0;
+            long died = x < deaths.length ? deaths[x] : 0;
+            System.out.printf("%5d  %5d  %7d  %11.2f%n", x, ended, reached, (double) died / reached);
+            reached -= ended;
+         }
+
+         System.out.printf("%nsteps  %d in all, %.0f per game%n", steps, (double) steps / games);
+         System.out.printf("rate   %s steps/s overall, %s steps/s per busy thread%n", rate(steps, elapsed), rate(steps, busy));
+         if(measured > 0)
+            System.out.printf("alloc  %d bytes in all, %.3f per step%n", allocated, (double) allocated / measured);
+         else
+            System.out.println("alloc  not measured by this JVM");
+      }
+
+      /**
+      Returns the mean score of the games finished so far.
+      @return  mean score, or 0 if none are finished
+      */
+      private double mean()
+      {
+         long sum = 0;
+         for(int x = 0; x < games; x++)
+            sum += scores[x];
+         return games == 0 ? 0 : (double) sum / games;
+      }
+
+      /**
+      Returns the score below which the given percent of the scores lie.
+      @param sorted scores in order
+      @param p   percent
+      @return  the percentile
+      */
+      private static int percentile(int[] sorted, int p)
+      {
+         return sorted[Math.min(sorted.length - 1, sorted.length * p / 100)];
+      }
+
+      /**
+      Formats a rate of steps, in millions or thousands per second.
+      @param s   steps
+      @param nanos  nanoseconds taken
+      @return  the rate
+      */
+      private static String rate(long s, long nanos)
+      {
+         double perSecond = nanos == 0 ? 0 : s * 1e9 / nanos;
+         if(perSecond >= 1e6)
+            return String.format("%.2fM", perSecond / 1e6);
+         return String.format("%.1fk", perSecond / 1e3);
+      }
+   }
+}
@@ -1,5 +1,4 @@
 import java.awt.*;
-import javax.swing.ImageIcon;
 
 /**
 The Blinky class extends Ghost to develop its own starting point, AI of tracking
@@ -9,28 +8,15 @@ PacMan, corner, and drawing methods.
 */
 public class Blinky extends Ghost
 {
-   /** ImageIcon representation of Blinky when moving left */
-   private ImageIcon blinky1;
-   /** ImageIcon representation of Blinky when moving up */
-   private ImageIcon blinky2;
-   /** ImageIcon representation of Blinky when moving down */
-   private ImageIcon blinky3;
-   /** ImageIcon representation of Blinky when moving right */
-   private ImageIcon blinky4;
-   
    /**
-   Initializes a Blinky object with a pre-determined set of coordinates
-   (starting point) at (336, 276), diameter of 24, a default speed,
-   corner coordinates of (636, 36), and instantiates ImageIcons for each
-   direction.
+   Initializes a Blinky object at its starting point in the given layout,
+   just above the door of the ghost house, with a diameter of 24, a default
+   speed, and the first corner of the layout.
+   @param l   layout of the maze Blinky starts in
    */
-   public Blinky()
+   public Blinky(MazeLayout l)
    {
-      super(336, 276, 24, 636, 36);
-      blinky1 = new ImageIcon("imageicons\\blinky1.png");
-      blinky2 = new ImageIcon("imageicons\\blinky2.png");
-      blinky3 = new ImageIcon("imageicons\\blinky3.png");
-      blinky4 = new ImageIcon("imageicons\\blinky4.png");
+      super(l, 0);
       setDirection(1);
    }
    
@@ -40,30 +26,29 @@ public class Blinky extends Ghost
    */
    public void reset()
    {
-      setX(336);
-      setY(276);
+      super.reset();
       setDirection(1);
    }
    
    /**
-   Draws Blinky's red ghost form at its coordinates using a specific ImageIcon
+   Draws Blinky's red ghost form at its coordinates using a specific Sprite
    correlating to its current direction. 
-   @param g	Graphics object to draw ImageIcon
+   @param g	Graphics object to draw Sprite
    */
    public void drawMe(Graphics g)
    {
       switch(getDirection()){
          case 1:
-            g.drawImage(blinky1.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("blinky1").draw(g, getX() - 17, getY() - 16);
             break;
          case 2:
-            g.drawImage(blinky2.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("blinky2").draw(g, getX() - 17, getY() - 16);
             break;
          case 3:
-            g.drawImage(blinky3.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("blinky3").draw(g, getX() - 17, getY() - 16);
             break;
          case 4:
-            g.drawImage(blinky4.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("blinky4").draw(g, getX() - 17, getY() - 16);
             break;
       }
    }
@@ -71,10 +56,21 @@ public class Blinky extends Ghost
    /**
    Moves Blinky towards a target of PacMan's current location.
    @param p	PacMan object that is being chased
-   @param b	array of Bumper objects that prohibit PacMan's movement.
+   @param m	maze whose walls prohibit Blinky's movement
+   */
+   public void moveBlinky(PacMan p, Maze m)
+   {
+      super.moveToTarget(m, p.getX(), p.getY());
+   }
+   
+   /**
+   Moves Blinky one step while it chases PacMan, as in moveBlinky.
+   @param p	PacMan object that is being chased
+   @param blinky  ignored; Blinky targets PacMan himself
+   @param m	maze whose walls prohibit Blinky's movement
    */
-   public void moveBlinky(PacMan p, Bumper[] b)
+   public void moveChase(PacMan p, Ghost blinky, Maze m)
    {
-      super.moveToTarget(b, p.getX(), p.getY());
+      moveBlinky(p, m);
    }
-}
\ No newline at end of file
+}
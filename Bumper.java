@@ -96,6 +96,19 @@ public class Bumper
       g2.draw(new RoundRectangle2D.Double(myX + 12, myY + 12, myWidth - 24, myHeight - 24, 20, 20));
    }
    
+   /**
+   Returns whether a PacMan of radius 12 centered at the given coordinates is
+   inside the current Bumper object, using the point of the Bumper closest to
+   the center.
+   @param x	x-coordinate of the center of the PacMan
+   @param y	y-coordinate of the center of the PacMan
+   @return whether a PacMan at those coordinates overlaps the Bumper
+   */
+   public boolean inBumper(int x, int y)
+   {
+      return Geometry.circleInRoundedRect(x, y, Maze.RADIUS, myX, myY, myWidth, myHeight);
+   }
+   
    /**
    Returns whether the given PacMan is inside the current Bumper object.
    @param p 	PacMan tested to see if inside Bumper
@@ -103,11 +116,7 @@ public class Bumper
    */
    public boolean inBumper(PacMan p)
    {
-      for(int x = myX; x <= myX + myWidth; x++)
-         for(int y = myY; y <= myY + myHeight; y++)
-            if(distance(x, y, p.getX(), p.getY()) < 12)
-               return true;         
-      return false;
+      return inBumper(p.getX(), p.getY());
    }
    
    /**
@@ -120,23 +129,8 @@ public class Bumper
    public static boolean inBumper(PacMan p, Bumper[] b)
    {
       for(int i = 0; i < b.length; i++)
-         for(int x = b[i].myX; x <= b[i].myX + b[i].myWidth; x++)
-            for(int y = b[i].myY; y <= b[i].myY + b[i].myHeight; y++)
-               if(distance(x, y, p.getX(), p.getY()) < 12)
-                  return true;         
+         if(b[i].inBumper(p.getX(), p.getY()))
+            return true;
       return false;
    }
-   
-   /**
-   Returns the distance between two points on a coordinate plane.
-   @param x1	x-coordinate of first point
-   @param y1	y-coordinate of first point
-   @param x2	x-coordinate of second point
-   @param y2	y-coordinate of second point
-   @return 	distance between the two points
-   */
-   private static double distance(double x1, double y1, double x2, double y2)
-   {
-      return Math.sqrt(Math.pow(x1 - x2, 2) + Math.pow(y1 - y2, 2));
-   }	
 }
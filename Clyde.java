@@ -1,5 +1,4 @@
 import java.awt.*;
-import javax.swing.ImageIcon;
 
 /**
 The Clyde class extends Ghost to develop its own starting point, AI of trackin
@@ -9,28 +8,15 @@ The Clyde class extends Ghost to develop its own starting point, AI of trackin
 */
 public class Clyde extends Ghost
 {
-   /** ImageIcon representation of Clyde when moving left */
-   private ImageIcon clyde1;
-   /** ImageIcon representation of Clyde when moving up */
-   private ImageIcon clyde2;
-   /** ImageIcon representation of Clyde when moving right */
-   private ImageIcon clyde3;
-   /** ImageIcon representation of Clyde when moving down */
-   private ImageIcon clyde4;
-   
    /**
-   Initializes a Clyde object with a pre-determined set of coordinates
-   (starting point) at (384, 348), diameter of 24, a default speed,
-   corner coordinates of (36, 708), and instantiates ImageIcons for each
-   direction.
+   Initializes a Clyde object at its starting point in the given layout,
+   in the ghost house right of Pinky, with a diameter of 24, a default
+   speed, and the fourth corner of the layout.
+   @param l   layout of the maze Clyde starts in
    */
-   public Clyde()
+   public Clyde(MazeLayout l)
    {
-      super(384, 348, 24, 36, 708);
-      clyde1 = new ImageIcon("imageicons\\clyde1.png");
-      clyde2 = new ImageIcon("imageicons\\clyde2.png");
-      clyde3 = new ImageIcon("imageicons\\clyde3.png");
-      clyde4 = new ImageIcon("imageicons\\clyde4.png");
+      super(l, 3);
       setDirection(4);
    }
    
@@ -40,30 +26,29 @@ public class Clyde extends Ghost
    */
    public void reset()
    {
-      setX(384);
-      setY(348);
+      super.reset();
       setDirection(4);
    }
    
    /**
    Draws Clyde's orange ghost form at its coordinates using a =
-   specific ImageIcon correlating to its current direction. 
-   @param g	Graphics object to draw ImageIcon
+   specific Sprite correlating to its current direction. 
+   @param g	Graphics object to draw Sprite
    */
    public void drawMe(Graphics g)
    {
       switch(getDirection()){
          case 1:
-            g.drawImage(clyde1.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("clyde1").draw(g, getX() - 17, getY() - 16);
             break;
          case 2:
-            g.drawImage(clyde2.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("clyde2").draw(g, getX() - 17, getY() - 16);
             break;
          case 3:
-            g.drawImage(clyde3.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("clyde3").draw(g, getX() - 17, getY() - 16);
             break;
          case 4:
-            g.drawImage(clyde4.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("clyde4").draw(g, getX() - 17, getY() - 16);
             break;
       }
 
@@ -73,26 +58,24 @@ public class Clyde extends Ghost
    Moves Clyde one frame toward PacMan's current location, but returns
    to own corner when more than 8 spaces closer to him.
    @param p	PacMan object that is being chased
-   @param b	array of Bumper objects that prohibit PacMan’s movement.
+   @param m	maze whose walls prohibit Clyde's movement
    */
-   public void moveClyde(PacMan p, Bumper[] b)
+   public void moveClyde(PacMan p, Maze m)
    {
-      if(distance(getX(), getY(), p.getX(), p.getY()) > 192)
-         moveToTarget(b, p.getX(), p.getY());
+      if(Geometry.distanceSquared(getX(), getY(), p.getX(), p.getY()) > 192 * 192)
+         moveToTarget(m, p.getX(), p.getY());
       else
-         moveScatter(b);
+         moveScatter(m);
    }
    
    /**
-   Returns the distance between two points on a coordinate plane.
-   @param x1	x-coordinate of first point
-   @param y1	y-coordinate of first point
-   @param x2	x-coordinate of second point
-   @param y2	y-coordinate of second point
-   @return 	distance between the two points
+   Moves Clyde one step while it chases PacMan, as in moveClyde.
+   @param p	PacMan object that is being chased
+   @param blinky  ignored; Clyde targets PacMan or its corner
+   @param m	maze whose walls prohibit Clyde's movement
    */
-   private double distance(double x1, double y1, double x2, double y2)
+   public void moveChase(PacMan p, Ghost blinky, Maze m)
    {
-      return Math.sqrt(Math.pow(x1 - x2, 2) + Math.pow(y1 - y2, 2));
+      moveClyde(p, m);
    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+/**
+The CollisionCheck class checks the occupancy grid of every maze against the
+test it replaced, which scanned every pixel of every Bumper and took
+Math.sqrt of Math.pow of its distance from the center of PacMan. Every pixel
+of the board, and a margin around it wide enough to take in the tunnel, is
+tested both ways. A pixel of a Bumper further than the radius from the
+center along either axis can never be close enough to count, so the old scan
+is only run over the pixels of each Bumper inside that square, which leaves
+its answer unchanged but keeps the check to under a second.
+@since 10-18-2026
+*/
+public class CollisionCheck
+{
+   /**
+   The main method tests every position of every maze in the registry and
+   prints how many positions were tested and how many disagreed, with the
+   first few of them. It exits with a status of 1 if any disagreed.
+   @param args  not used.
+   @throws Exception  removes complication of scanning text files.
+   */
+   public static void main(String[] args) throws Exception
+   {
+      MazeRegistry registry = MazeRegistry.get();
+      int wrong = 0;
+      for(int k = 0; k < registry.size(); k++){
+         Maze maze = registry.getLevelFile(k).getMaze();
+         Bumper[] bumpers = maze.getBumpers();
+         int margin = 2 * Maze.TILE;
+         int width = maze.getTileWidth() * Maze.TILE;
+         int height = maze.getTileHeight() * Maze.TILE;
+         long tested = 0;
+         int blocked = 0;
+         int disagreed = 0;
+         for(int y = -margin; y < height + margin; y++)
+            for(int x = -margin; x < width + margin; x++){
+               boolean old = oldInBumper(x, y, bumpers);
+               if(old != maze.isBlocked(x, y)){
+                  if(disagreed < 10)
+                     System.out.printf("  (%d, %d) grid %b, pixel scan %b%n", x, y, !old, old);
+                  disagreed++;
+               }
+               if(old)
+                  blocked++;
+               tested++;
+            }
+         System.out.printf("%s: %d positions, %d blocked, %d disagreeing%n",
+            registry.getLevelFile(k).getId(), tested, blocked, disagreed);
+         wrong += disagreed;
+      }
+      if(wrong > 0)
+         System.exit(1);
+   }
+
+   /**
+   Returns whether a PacMan centered at the given coordinates is inside any
+   of the Bumpers, the way Bumper.inBumper did before the occupancy grid.
+   @param px  x-coordinate of the center of PacMan
+   @param py  y-coordinate of the center of PacMan
+   @param b   array of Bumpers
+   @return whether PacMan overlaps any Bumper
+   */
+   private static boolean oldInBumper(int px, int py, Bumper[] b)
+   {
+      for(int i = 0; i < b.length; i++){
+         int left = Math.max(b[i].getX(), px - Maze.RADIUS);
+         int right = Math.min(b[i].getX() + b[i].getWidth(), px + Maze.RADIUS);
+         int top = Math.max(b[i].getY(), py - Maze.RADIUS);
+         int bottom = Math.min(b[i].getY() + b[i].getHeight(), py + Maze.RADIUS);
+         for(int x = left; x <= right; x++)
+            for(int y = top; y <= bottom; y++)
+               if(distance(x, y, px, py) < 12)
+                  return true;
+      }
+      return false;
+   }
+
+   /**
+   Returns the distance between two points on a coordinate plane, as
+   Bumper did.
+   @param x1	x-coordinate of first point
+   @param y1	y-coordinate of first point
+   @param x2	x-coordinate of second point
+   @param y2	y-coordinate of second point
+   @return 	distance between the two points
+   */
+   private static double distance(double x1, double y1, double x2, double y2)
+   {
+      return Math.sqrt(Math.pow(x1 - x2, 2) + Math.pow(y1 - y2, 2));
+   }
+}
@@ -0,0 +1,163 @@
+import java.util.Arrays;
+import javax.swing.JComponent;
+
+/**
+The DamageTracker class records the regions of a frame that have changed, such
+as the boxes around sprites that have moved, pellets that have been eaten, and
+fruit or scores that have appeared, so that only those regions have to be
+restored from the background and repainted on screen rather than the whole
+board. The regions of the frame before are kept as well, since a sprite that
+has moved must also be erased from where it was.
+@since 10-18-2026
+*/
+public class DamageTracker
+{
+   /** width in pixels of the board being tracked */
+   private int width;
+   /** height in pixels of the board being tracked */
+   private int height;
+   /** regions damaged during the current frame, four ints each: the
+   x- and y-coordinates of the top-left corner, the width, and the height */
+   private int[] current;
+   /** number of regions damaged during the current frame */
+   private int currentCount;
+   /** regions damaged during the frame before, laid out as current is */
+   private int[] previous;
+   /** number of regions damaged during the frame before */
+   private int previousCount;
+   /** whether the whole board was damaged during the current frame */
+   private boolean currentAll;
+   /** whether the whole board was damaged during the frame before */
+   private boolean previousAll;
+
+   /**
+   Initializes a DamageTracker for a board of the given size, with the whole
+   board damaged so that the first frame is drawn in full.
+   @param w   width in pixels of the board
+   @param h   height in pixels of the board
+   */
+   public DamageTracker(int w, int h)
+   {
+      width = w;
+      height = h;
+      current = new int[64];
+      previous = new int[64];
+      currentAll = true;
+      previousAll = true;
+   }
+
+   /**
+   Records a region of the board as damaged during the current frame. The
+   region is trimmed to the board, and ignored if it lies off of it.
+   @param x   x-coordinate of the top-left corner of the region
+   @param y   y-coordinate of the top-left corner of the region
+   @param w   width of the region
+   @param h   height of the region
+   */
+   public void add(int x, int y, int w, int h)
+   {
+      int x2 = Math.min(width, x + w);
+      int y2 = Math.min(height, y + h);
+      x = Math.max(0, x);
+      y = Math.max(0, y);
+      if(currentAll || x >= x2 || y >= y2)
+         return;
+      if(currentCount * 4 == current.length)
+         current = Arrays.copyOf(current, current.length * 2);
+      current[currentCount * 4] = x;
+      current[currentCount * 4 + 1] = y;
+      current[currentCount * 4 + 2] = x2 - x;
+      current[currentCount * 4 + 3] = y2 - y;
+      currentCount++;
+   }
+
+   /**
+   Records the whole board as damaged during the current frame, as when it
+   has been drawn anew from the background.
+   */
+   public void addAll()
+   {
+      currentAll = true;
+      currentCount = 0;
+   }
+
+   /**
+   Returns whether the whole board has to be restored before the current
+   frame is drawn, because it was damaged during the frame before or has been
+   drawn anew since.
+   @return  whether the whole board must be restored
+   */
+   public boolean isAllStale()
+   {
+      return previousAll || currentAll;
+   }
+
+   /**
+   Returns the number of regions damaged during the frame before, each of
+   which has to be restored before the current frame is drawn.
+   @return  number of stale regions
+   */
+   public int getStaleCount()
+   {
+      return previousCount;
+   }
+
+   /**
+   Returns a coordinate of one of the regions damaged during the frame before.
+   @param i   which region
+   @param k   0 for the x-coordinate of its top-left corner, 1 for the
+   y-coordinate, 2 for its width, and 3 for its height
+   @return  that coordinate of the region
+   */
+   public int getStale(int i, int k)
+   {
+      return previous[i * 4 + k];
+   }
+
+   /**
+   Ends the current frame, asking the given component to repaint every region
+   damaged during this frame or the frame before, scaled from the board to the
+   size of the component. The regions of this frame then become those of the
+   frame before. If no component is given, as when the whole board is
+   presented every frame, nothing is repainted.
+   @param c   component displaying the board, or null
+   */
+   public void flush(JComponent c)
+   {
+      if(c != null){
+         if(currentAll || previousAll)
+            c.repaint();
+         else{
+            for(int i = 0; i < previousCount; i++)
+               repaint(c, previous, i);
+            for(int i = 0; i < currentCount; i++)
+               repaint(c, current, i);
+         }
+      }
+      int[] swap = previous;
+      previous = current;
+      current = swap;
+      previousCount = currentCount;
+      previousAll = currentAll;
+      currentCount = 0;
+      currentAll = false;
+   }
+
+   /**
+   Asks the given component to repaint one region, scaled from the board to
+   the size of the component and rounded outwards.
+   @param c   component displaying the board
+   @param regions   array of regions holding the region
+   @param i   which region
+   */
+   private void repaint(JComponent c, int[] regions, int i)
+   {
+      int x = regions[i * 4];
+      int y = regions[i * 4 + 1];
+      int x1 = (int) ((long) x * c.getWidth() / width);
+      int y1 = (int) ((long) y * c.getHeight() / height);
+      int x2 = (int) (((long) (x + regions[i * 4 + 2]) * c.getWidth() + width - 1) / width);
+      int y2 = (int) (((long) (y + regions[i * 4 + 3]) * c.getHeight() + height - 1) / height);
+      c.repaint(x1, y1, x2 - x1, y2 - y1);
+   }
+}
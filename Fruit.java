@@ -1,5 +1,4 @@
 import java.awt.*;
-import javax.swing.ImageIcon;
 
 /**
 The Fruit class stores coordinates, a diameter, and to know when it has
@@ -19,16 +18,10 @@ public class Fruit
    /** whether the Fruit has been eaten or not, and thus whether it should
    be displayed */
    private boolean eaten = false;
-   /** ImageIcon representation of the cherry Fruit */
-   private ImageIcon cherImg = new ImageIcon("imageicons\\cherry.png");
-   /** ImageIcon representation of the strawberry Fruit */
-   private ImageIcon strawImg = new ImageIcon("imageicons\\strawberry.png");
-   /** ImageIcon representation of the orange Fruit */
-   private ImageIcon orngImg = new ImageIcon("imageicons\\orange.png");
-   /** ImageIcon representation of the apple Fruit */
-   private ImageIcon appleImg = new ImageIcon("imageicons\\apple.png");
-   /** ImageIcon representation of the melon Fruit */
-   private ImageIcon melonImg = new ImageIcon("imageicons\\melon.png");
+   /** x-coordinate of the middle of the Fruit */
+   private int myX;
+   /** y-coordinate of the middle of the Fruit */
+   private int myY;
    
    /**
    Initializes a fruit with the designated type.
@@ -39,6 +32,16 @@ public class Fruit
       type = t;
    }
    
+   /**
+   Puts the fruit where the layout of the maze it appears in says.
+   @param l   layout of the maze
+   */
+   public void setLayout(MazeLayout l)
+   {
+      myX = l.getFruitX();
+      myY = l.getFruitY();
+   }
+   
    /**
    Returns the type of the fruit.
    @return Fruit object's type.
@@ -76,68 +79,95 @@ public class Fruit
    }
    
    /**
-   Draws ImageIcon of pre-determined type of fruit based on the type at
-   its coordinates and of a size close to its diameter, and tests for
-   collisions between PacMan and the fruit.
-   @param g Graphics object used to draw the ImageIcon
+   Returns the number of points scored for eating the fruit, depending on its
+   type: 100 for a cherry, 300 for a strawberry, 500 for an orange, 700 for an
+   apple, and 1000 for a melon.
+   @return  points scored for the fruit
+   */
+   public int getPoints()
+   {
+      switch(type){
+         case 1:
+            return 100;
+         case 2:
+            return 300;
+         case 3:
+            return 500;
+         case 4:
+            return 700;
+         case 5:
+            return 1000;
+      }
+      return 0;
+   }
+   
+   /**
+   Draws Sprite of pre-determined type of fruit based on the type at
+   its coordinates and of a size close to its diameter.
+   @param g Graphics object used to draw the Sprite
+   */
+   public void drawMe(Graphics g)
+   {
+      switch(type){
+         case 1:
+            SpriteAtlas.get("cherry").draw(g, myX - 24, myY - 25);
+            break;
+         case 2:
+            SpriteAtlas.get("strawberry").draw(g, myX - 14, myY - 15);
+            break;
+         case 3:
+            SpriteAtlas.get("orange").draw(g, myX - 17, myY - 18);
+            break;
+         case 4:
+            SpriteAtlas.get("apple").draw(g, myX - 20, myY - 18);
+            break;
+         case 5:
+            SpriteAtlas.get("melon").draw(g, myX - 20, myY - 22);
+            break;
+      }
+   }
+   
+   /**
+   Tests for collisions between PacMan and the fruit, using the box of the
+   Sprite of its type. The fruit is eaten if they have collided.
    @param pac  PacMan object used to test collisons against
-   @param s Scoreboard object used to add to score if collision occurs
    @return  whether or not the PacMan has collided with the fruit
    */
-   public boolean drawMe(Graphics g, PacMan pac, Scoreboard s)
+   public boolean collide(PacMan pac)
    {
       switch(type){
          case 1:
-            g.drawImage(cherImg.getImage(), 312, 395, 52, 42, null);
-            return collide(pac, s, 52, 312, 395);
+            return collide(pac, 52, myX - 24, myY - 25);
          case 2:
-            g.drawImage(strawImg.getImage(), 322, 405, 27, 29, null);
-            return collide(pac, s, 27, 322, 405);
+            return collide(pac, 27, myX - 14, myY - 15);
          case 3:
-            g.drawImage(orngImg.getImage(), 319, 402, 36, 34, null);
-            return collide(pac, s, 36, 319, 402);
+            return collide(pac, 36, myX - 17, myY - 18);
          case 4:
-            g.drawImage(appleImg.getImage(), 316, 402, 37, 35, null);
-            return collide(pac, s, 37, 316, 402);
+            return collide(pac, 37, myX - 20, myY - 18);
          case 5:
-            g.drawImage(melonImg.getImage(), 316, 398, 37, 45, null);
-            return collide(pac, s, 37, 316, 398); 
+            return collide(pac, 37, myX - 20, myY - 22); 
       }
       return false;
    }
    
    /**
    Checks if distance between PacMan and Fruit is less than radius of PacMan
-   and half of width. Scores fruit accordingly if condition is satisfied.
+   and half of width. Marks the fruit eaten if condition is satisfied.
    @param p   PacMan object used to test collisions against
-   @param s   Scoreboard object used to update score based on fruit type if
-   collision occurs
    @param width  width of Fruit object
-   @param x   top left x-coordinate of the current Fruit's ImageIcon
-   @param y   top left y-coordinate of the current Fruit's ImageIcon
+   @param x   top left x-coordinate of the current Fruit's Sprite
+   @param y   top left y-coordinate of the current Fruit's Sprite
    @return whether or not PacMan has collided with the Fruit object
    */
-   public boolean collide(PacMan p, Scoreboard s, int width, int x, int y)
+   private boolean collide(PacMan p, int width, int x, int y)
    {
+      int half = Geometry.toFixed(width) / 2;
       if(p.getDirection() == 1 || p.getDirection() == 3)        
-         if(distance(x + (width / 2.0), y + (width / 2.0), p.getX(), p.getY()) < p.getRadius() + (width / 2.0)){
-            s.scoreFruit(type);
+         if(Geometry.circlesOverlap(Geometry.toFixed(x) + half, Geometry.toFixed(y) + half, half,
+            Geometry.toFixed(p.getX()), Geometry.toFixed(p.getY()), Geometry.toFixed(p.getRadius()))){
             eaten = true;
             return true;
          }
       return false;
    }
-   
-   /**
-   Returns the distance between two points on a coordinate plane.
-   @param x1	x-coordinate of first point
-   @param y1	y-coordinate of first point
-   @param x2	x-coordinate of second point
-   @param y2	y-coordinate of second point
-   @return 	distance between the two points
-   */
-   private double distance(double x1, double y1, double x2, double y2)
-   {
-      return Math.sqrt(Math.pow(x1 - x2, 2) + Math.pow(y1 - y2, 2));
-   }
-}
\ No newline at end of file
+}
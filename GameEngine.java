@@ -0,0 +1,1024 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+The GameEngine class holds every rule of the game of PacMan with nothing to do
+with displaying it: PacMan, the four ghosts, the pellets, the fruit, the score
+and the lives, and how each changes from one step to the next. Time is counted
+in steps of STEP_MILLIS milliseconds rather than read from a clock, so a game
+may be stepped as fast as the caller likes, with no display, for testing,
+bots, or analytics; a PacManPanel steps it in real time and draws it.
+A game goes through phases: it is READY before PacMan starts moving, PLAYING
+while the player controls PacMan, PAUSED while the points for a ghost or fruit
+are shown, DYING after PacMan runs into a ghost, CLEARED when every pellet of
+a level has been eaten, and over, in GAME_OVER, when every life has been lost.
+Each step returns the events that happened during it, so that whoever draws
+the game knows which sounds to play.
+The pellets are kept as plain arrays in a PelletIndex, shared by every game
+built from the same maze, but PacMan and the ghosts stay objects rather than
+views over a store of primitive arrays: there are only five of them, their
+state already fits in a few cache lines, and they hold only shared Sprite
+handles, so such a store would gain nothing in locality.
+@since 10-18-2026
+*/
+public class GameEngine
+{
+   /** length of a step in milliseconds */
+   public static final int STEP_MILLIS = 30;
+   /** steps before PacMan starts moving in a new game */
+   public static final int INTRO_STEPS = 157;
+   /** steps at the start of a new game during which "Player" is shown */
+   public static final int PLAYER_STEPS = 100;
+   /** steps before PacMan starts moving after dying or clearing a level */
+   public static final int READY_STEPS = 67;
+   /** steps the game pauses for while the points for a ghost or fruit are
+   shown */
+   public static final int PAUSE_STEPS = 33;
+   /** steps the game stands still for before and after PacMan dies */
+   public static final int FREEZE_STEPS = 17;
+   /** steps of the animation of PacMan dying */
+   public static final int DYING_STEPS = 67;
+   /** steps of the animation of the maze blinking once a level is cleared */
+   public static final int CLEARED_STEPS = 67;
+   /** steps the ghosts stay frightened after a power pellet is eaten */
+   public static final int FRIGHT_STEPS = 200;
+   /** steps the fruit stays in the maze after appearing */
+   public static final int FRUIT_STEPS = 333;
+   /** steps "Game Over" is shown before the game is FINISHED */
+   public static final int GAME_OVER_STEPS = 50;
+
+   /** phase before PacMan starts moving */
+   public static final int READY = 0;
+   /** phase while the player controls PacMan */
+   public static final int PLAYING = 1;
+   /** phase while the points for a ghost or fruit are shown */
+   public static final int PAUSED = 2;
+   /** phase after PacMan has run into a ghost */
+   public static final int DYING = 3;
+   /** phase after every pellet of a level has been eaten */
+   public static final int CLEARED = 4;
+   /** phase after every life has been lost, which never ends */
+   public static final int GAME_OVER = 5;
+
+   /** event of a pac-dot being eaten */
+   public static final int PELLET = 1;
+   /** event of a power pellet being eaten, frightening the ghosts */
+   public static final int POWER_PELLET = 2;
+   /** event of the fruit being eaten */
+   public static final int FRUIT = 4;
+   /** event of a frightened ghost being eaten */
+   public static final int GHOST = 8;
+   /** event of a dead ghost reaching the ghost house and coming alive */
+   public static final int REVIVED = 16;
+   /** event of the ghosts no longer being frightened */
+   public static final int FRIGHT_OVER = 32;
+   /** event of PacMan starting to move, at the end of READY */
+   public static final int STARTED = 64;
+   /** event of the game going on after being PAUSED */
+   public static final int RESUMED = 128;
+   /** event of PacMan running into a ghost and losing a life */
+   public static final int DIED = 256;
+   /** event of every pellet of a level being eaten */
+   public static final int LEVEL_CLEARED = 512;
+   /** event of a new level beginning, at the end of CLEARED */
+   public static final int NEW_LEVEL = 1024;
+   /** event of every life being lost, at the end of DYING */
+   public static final int LOST = 2048;
+   /** event of the score reaching EXTRA_LIFE_SCORE */
+   public static final int EXTRA_LIFE = 4096;
+   /** event of "Game Over" having been shown for GAME_OVER_STEPS, after
+   which nothing more happens */
+   public static final int FINISHED = 8192;
+
+   /** score at which the lives are restored to MAX_LIVES */
+   public static final int EXTRA_LIFE_SCORE = 10000;
+   /** lives PacMan has after reaching EXTRA_LIFE_SCORE */
+   public static final int MAX_LIVES = 4;
+   /** steps a turn the player asked for is tried for before it is dropped,
+   unless set otherwise */
+   public static final int TURN_STEPS = 3;
+   /** pixels a ghost moves each step within the ghost house */
+   public static final int HOUSE_SPEED = 6;
+   /** pellets to be eaten after PacMan dies before each ghost, in the order
+   of ghosts, may leave the ghost house; Blinky is never in it */
+   private static final int[] DEATH_RELEASE = {0, 7, 17, 32};
+   /** pellets to be eaten from the start of a level before each ghost may
+   leave the ghost house, by ghost and then by level from 1, the last entry
+   of a ghost holding for every level after; 0 means the ghost leaves at
+   once, and -1 that it leaves once its bounce reaches the top of the house */
+   private static final int[][] LEVEL_RELEASE = {{0}, {0}, {30, -1}, {90, 50, -1}};
+
+   /** mazes the game moves through from level to level */
+   private MazeRegistry registry;
+   /** pellets of each maze of the registry, kept apart from every other
+   game */
+   private PelletIndex[] mazePellets;
+   /** index in the registry of the maze being played on */
+   private int mazeIndex;
+   /** maze, pellets, and boxes being played on */
+   private LevelFile levelFile;
+   /** maze whose bumpers serve as walls of PacMan's maze */
+   private Maze maze;
+   /** where PacMan, the ghosts, and the fruit start, the ghost house, and the
+   tunnel of the maze */
+   private MazeLayout layout;
+   /** index of the pac-dots and power pellets of the maze */
+   private PelletIndex pellets;
+   /** PacMan, controlled by the player */
+   private PacMan pac;
+   /** Ghost object that tracks PacMan */
+   private Blinky blinky;
+   /** Ghost object that tracks four spaces ahead of PacMan */
+   private Pinky pinky;
+   /** Ghost object that tracks PacMan based on Blinky's position */
+   private Inky inky;
+   /** Ghost object that tracks PacMan until close, when it goes to its
+   corner */
+   private Clyde clyde;
+   /** the four ghosts, Blinky first, updated in this order at each step */
+   private Ghost[] ghosts;
+   /** fruit appearing in the center of the maze */
+   private Fruit fruit;
+   /** seed the frightened ghosts' choices are made from */
+   private long seed;
+   /** source of the frightened ghosts' choices */
+   private SplittableRandom random;
+
+   /** steps taken since the game began */
+   private long tick;
+   /** current phase of the game */
+   private int phase;
+   /** steps taken since the current phase began */
+   private int phaseStep;
+   /** steps the current phase lasts */
+   private int phaseLength;
+   /** whether the game has not yet started for the first time */
+   private boolean intro = true;
+   /** events that have happened during the current step */
+   private int events;
+   /** indices of the pellets eaten during the current step */
+   private int[] eaten = new int[4];
+   /** number of pellets eaten during the current step */
+   private int eatenCount;
+   /** direction the player would like PacMan to turn once it can, or 0 */
+   private int wanted;
+   /** steps left to try turning PacMan the way the player wants */
+   private int wantedSteps;
+   /** steps a turn the player asked for is tried for */
+   private int turnSteps = TURN_STEPS;
+   /** whether the ghosts pick the way closest to their targets as the crow
+   flies, as in the arcade, rather than following the shortest path */
+   private boolean classic;
+
+   /** current score */
+   private int score;
+   /** lives PacMan has left, including the one being played */
+   private int lives = 3;
+   /** current level */
+   private int level = 1;
+   /** steps left until the ghosts are no longer frightened */
+   private int frightenedSteps;
+   /** steps left until the fruit leaves the maze */
+   private int fruitSteps;
+   /** pellets collected since the start of the level or PacMan last died;
+   determines when the ghosts may leave the ghost house */
+   private int pelletsCollectedSinceDeath;
+   /** pellets collected since the start of the level; determines when the
+   fruit appears */
+   private int allPelletsCollected;
+   /** ghosts eaten since the last power pellet */
+   private int ghostsEaten;
+   /** whether PacMan has died during the current level */
+   private boolean died;
+
+   /** whether the game should pause at the end of the current step */
+   private boolean pausePending;
+   /** x-coordinate the points shown while PAUSED are centered around */
+   private int pauseX;
+   /** y-coordinate the points shown while PAUSED are centered around */
+   private int pauseY;
+   /** points shown while PAUSED */
+   private int pausePoints;
+   /** ghost eaten that caused the pause, or null for the fruit */
+   private Ghost pauseGhost;
+
+   /**
+   Initializes a GameEngine at the start of a new game, reading the mazes and
+   their pellets from their level files, whose choices are made from a seed
+   picked at random.
+   @throws Exception removes complication of scanning text files.
+   */
+   public GameEngine() throws Exception
+   {
+      this(new SplittableRandom().nextLong());
+   }
+
+   /**
+   Initializes a GameEngine at the start of a new game on the mazes of the
+   MazeRegistry, which reads them from their level files, or compiles them
+   from their text files, the first time, whose choices are made from the
+   given seed, such as that of a Replay.
+   @param s   seed of the game's choices
+   @throws Exception removes complication of scanning text files.
+   */
+   public GameEngine(long s) throws Exception
+   {
+      registry = MazeRegistry.get();
+      makePellets();
+      seed = s;
+      random = new SplittableRandom(seed);
+      start();
+   }
+
+   /**
+   Initializes a GameEngine at the start of a new game played on the same
+   mazes and pellets as the given one, whose choices are made from the given
+   seed. The mazes never change once read and are shared, while the pellets
+   eaten are kept apart, so a new game is cheap to make and many may be
+   played at once, each from its own thread. Nothing in a game reads the
+   clock, time being counted in steps, so two games made from the same seed
+   and given the same inputs step by step play out the same, however fast
+   they are stepped.
+   @param layout game whose mazes and pellets are played on
+   @param s   seed of the game's choices
+   */
+   public GameEngine(GameEngine layout, long s)
+   {
+      registry = layout.registry;
+      makePellets();
+      seed = s;
+      random = new SplittableRandom(seed);
+      start();
+   }
+
+   /**
+   Makes the pellets of every maze of the registry for this game, so that
+   moving on to another maze makes nothing.
+   */
+   private void makePellets()
+   {
+      mazePellets = new PelletIndex[registry.size()];
+      for(int k = 0; k < mazePellets.length; k++)
+         mazePellets[k] = registry.getLevelFile(k).makePellets();
+   }
+
+   /**
+   Plays on the maze at the given index of the registry from now on, with
+   every one of its pellets, and tells PacMan, the ghosts, and the fruit
+   where they start in it. Each maze and its pellets having been made
+   already, this only swaps references; nobody is moved until reset.
+   @param k   index of the maze
+   */
+   private void useMaze(int k)
+   {
+      mazeIndex = k;
+      levelFile = registry.getLevelFile(k);
+      maze = levelFile.getMaze();
+      layout = levelFile.getLayout();
+      pellets = mazePellets[k];
+      pellets.reset();
+      pac.setLayout(layout);
+      fruit.setLayout(layout);
+      for(int g = 0; g < ghosts.length; g++)
+         ghosts[g].setLayout(layout);
+   }
+
+   /**
+   Makes PacMan, the fruit and the ghosts and puts them where they start in
+   the maze of the first level, READY for the introduction of a new game.
+   The ghosts are made once, here, and restarted from then on, so that a
+   game allocates nothing as it goes on.
+   */
+   private void start()
+   {
+      MazeLayout first = registry.getLevelFile(registry.mazeOf(level)).getLayout();
+      pac = new PacMan(first.getPacX(), first.getPacY(), 24);
+      pac.setChange(12);
+      fruit = new Fruit(1);
+      blinky = new Blinky(first);
+      pinky = new Pinky(first);
+      inky = new Inky(first);
+      clyde = new Clyde(first);
+      ghosts = new Ghost[] {blinky, pinky, inky, clyde};
+      useMaze(registry.mazeOf(level));
+      resetGhosts();
+      startPhase(READY, INTRO_STEPS);
+   }
+
+   /**
+   Moves the game forward one step with the given input from the player,
+   which only matters while PLAYING.
+   @param in  what the player asks of PacMan during this step
+   @return  the events that happened during the step, or'ed together
+   */
+   public int step(Input in)
+   {
+      events = 0;
+      eatenCount = 0;
+      tick++;
+      phaseStep++;
+      switch(phase){
+         case READY:
+            stepReady();
+            break;
+         case PLAYING:
+            stepPlaying(in);
+            break;
+         case PAUSED:
+            if(phaseStep >= phaseLength){
+               startPhase(PLAYING, 0);
+               events |= RESUMED;
+            }
+            break;
+         case DYING:
+            if(phaseStep >= phaseLength){
+               if(lives == 0){
+                  startPhase(GAME_OVER, 0);
+                  events |= LOST;
+               }
+               else{
+                  pac.reset();
+                  startPhase(READY, READY_STEPS);
+               }
+            }
+            break;
+         case CLEARED:
+            if(phaseStep >= phaseLength){
+               if(registry.mazeOf(level) != mazeIndex){
+                  useMaze(registry.mazeOf(level));
+                  resetGhosts();
+               }
+               pac.reset();
+               if(level == 2)
+                  fruit.setType(2);
+               else if(level == 3)
+                  fruit.setType(3);
+               else if(level == 5)
+                  fruit.setType(4);
+               else if(level == 7)
+                  fruit.setType(5);
+               startPhase(READY, READY_STEPS);
+               events |= NEW_LEVEL;
+            }
+            break;
+         case GAME_OVER:
+            if(phaseStep == GAME_OVER_STEPS)
+               events |= FINISHED;
+            break;
+      }
+      return events;
+   }
+
+   /**
+   Steps the game while READY. Once the phase is over PacMan starts moving
+   left and the game is PLAYING.
+   */
+   private void stepReady()
+   {
+      if(phaseStep >= phaseLength){
+         pac.setDirection(1);
+         blinky.setX(blinky.getX() - 4);
+         intro = false;
+         startPhase(PLAYING, 0);
+         events |= STARTED;
+      }
+   }
+
+   /**
+   Steps the game while PLAYING. PacMan turns the way the player wants if it
+   can, and moves; the pellets it runs into are eaten, a power pellet
+   frightening every ghost. Once 70 and 170 pellets have been eaten the fruit
+   appears for a while, and is eaten if PacMan runs into it. Each ghost then
+   moves according to where it is: dead ghosts return to the ghost house and
+   come alive there, frightened ghosts wander and are eaten if PacMan runs
+   into them, ghosts in the house bounce until enough pellets have been eaten
+   for them to leave, and the rest chase PacMan, who dies if one runs into
+   him. Once every pellet is eaten the level is cleared, and once the time
+   the ghosts are frightened for runs out they go back to normal.
+   @param in  what the player asks of PacMan during this step
+   */
+   private void stepPlaying(Input in)
+   {
+      pausePending = false;
+      if(frightenedSteps > 0)
+         frightenedSteps--;
+      if(fruitSteps > 0)
+         fruitSteps--;
+
+      turn(in.getDirection());
+      pac.move(maze);
+
+      int i = pellets.eat(pac);
+      while(i != -1){
+         if(eatenCount == eaten.length)
+            eaten = Arrays.copyOf(eaten, eaten.length * 2);
+         eaten[eatenCount++] = i;
+         pelletsCollectedSinceDeath++;
+         allPelletsCollected++;
+         if(pellets.isPowerPellet(i)){
+            ghostsEaten = 0;
+            for(int k = 0; k < ghosts.length; k++)
+               ghosts[k].setFrightened(true, ghosts[k].getState().isInCorridor());
+            frightenedSteps = FRIGHT_STEPS;
+            addScore(50);
+            events |= POWER_PELLET;
+         }
+         else{
+            addScore(10);
+            events |= PELLET;
+         }
+         i = pellets.eat(pac);
+      }
+
+      if(allPelletsCollected == 70 || allPelletsCollected == 170){
+         fruitSteps = FRUIT_STEPS;
+         fruit.setEaten(false);
+      }
+      if(fruitSteps > 0 && !fruit.isEaten()){
+         if(fruit.collide(pac)){
+            addScore(fruit.getPoints());
+            fruitSteps = 0;
+            pause(layout.getFruitX(), layout.getFruitY(), fruit.getPoints(), null);
+            events |= FRUIT;
+         }
+      }
+      else
+         fruit.setEaten(true);
+
+      for(int k = 0; k < ghosts.length; k++)
+         if(!stepGhost(k))
+            return;
+
+      if(pellets.getRemaining() == 0){
+         clearLevel();
+         return;
+      }
+
+      boolean anyFright = false;
+      for(int k = 0; k < ghosts.length; k++)
+         anyFright = anyFright || ghosts[k].isFright();
+      if(frightenedSteps == 0 && anyFright){
+         for(int k = 0; k < ghosts.length; k++)
+            ghosts[k].setFrightened(false, ghosts[k].getState().isInCorridor());
+         ghostsEaten = 0;
+         events |= FRIGHT_OVER;
+      }
+
+      if(pausePending)
+         startPhase(PAUSED, PAUSE_STEPS);
+   }
+
+   /**
+   Turns PacMan the way the player asked, now or within the next few steps,
+   once PacMan can go that way. PacMan cannot turn up or down while in the
+   tunnel.
+   @param d   direction the player asked for during this step, or 0
+   */
+   private void turn(int d)
+   {
+      if(d != 0){
+         wanted = d;
+         wantedSteps = turnSteps;
+      }
+      if(wanted == 0)
+         return;
+      boolean inTunnel = pac.getX() <= 0 || pac.getX() >= maze.getTileWidth() * Maze.TILE;
+      if(!(inTunnel && (wanted == 2 || wanted == 4)) && pac.canGo(wanted, maze)){
+         pac.setDirection(wanted);
+         wanted = 0;
+      }
+      else if(--wantedSteps == 0)
+         wanted = 0;
+   }
+
+   /**
+   Moves a ghost one step according to its State. A ghost IN_HOUSE bounces
+   until enough pellets have been eaten for it to leave, as given by
+   releaseAt, and then heads for the door of the ghost house while LEAVING,
+   coming out above it. Out in the corridors, a frightened ghost wanders and
+   is eaten if PacMan runs into it; otherwise it chases PacMan, or heads for
+   its corner in SCATTER, and PacMan dies if it runs into him. An EATEN ghost
+   returns to the door, and moves down into the ghost house while ENTERING,
+   coming alive at the bottom and LEAVING again.
+   @param k   index of the ghost in ghosts
+   @return  whether the step goes on, PacMan not having died
+   */
+   private boolean stepGhost(int k)
+   {
+      Ghost ghost = ghosts[k];
+      switch(ghost.getState()){
+         case IN_HOUSE:
+            ghost.bounceInHouse();
+            int release = releaseAt(k);
+            if(release > 0 ? pelletsCollectedSinceDeath >= release : ghost.getY() == layout.getHouseTop()){
+               if(ghost.getX() < layout.getDoorX())
+                  ghost.setDirection(3);
+               else if(ghost.getX() > layout.getDoorX())
+                  ghost.setDirection(1);
+               else
+                  ghost.setDirection(2);
+               ghost.setState(Ghost.State.LEAVING);
+            }
+            break;
+         case LEAVING:
+            if(ghost.getX() != layout.getDoorX()){
+               ghost.setX(ghost.getX() + (ghost.getX() < layout.getDoorX() ? HOUSE_SPEED : -HOUSE_SPEED));
+               if(ghost.getX() == layout.getDoorX())
+                  ghost.setDirection(2);
+            }
+            else{
+               ghost.setY(ghost.getY() - HOUSE_SPEED);
+               if(ghost.getY() == layout.getDoorY()){
+                  if(!ghost.isFright())
+                     ghost.setChange(8);
+                  ghost.setDirection(1);
+                  ghost.setX(ghost.getX() - 4);
+                  ghost.setState(ghost.isFright() ? Ghost.State.FRIGHTENED : Ghost.State.CHASE);
+               }
+            }
+            break;
+         case ENTERING:
+            ghost.setY(ghost.getY() + HOUSE_SPEED);
+            if(ghost.getY() == layout.getHouseY()){
+               ghost.setDirection(2);
+               ghost.isAlive();
+               events |= REVIVED;
+               ghost.setState(Ghost.State.LEAVING);
+            }
+            break;
+         case EATEN:
+            ghost.moveHome(maze);
+            if((ghost.getX() == layout.getDoorX() - Maze.RADIUS || ghost.getX() == layout.getDoorX() + Maze.RADIUS) && ghost.getY() == layout.getDoorY()){
+               ghost.setX(layout.getDoorX());
+               ghost.setDirection(4);
+               ghost.setState(Ghost.State.ENTERING);
+            }
+            break;
+         default:
+            if(ghost.isFright()){
+               ghost.setState(Ghost.State.FRIGHTENED);
+               ghost.moveFrightened(maze, random);
+               if(ghost.collideGhost(pac)){
+                  ghost.setState(Ghost.State.EATEN);
+                  eatGhost(ghost);
+               }
+            }
+            else{
+               if(ghost.getState() == Ghost.State.SCATTER)
+                  ghost.moveScatter(maze);
+               else{
+                  ghost.setState(Ghost.State.CHASE);
+                  ghost.moveChase(pac, ghosts[0], maze);
+               }
+               if(ghost.collideGhost(pac)){
+                  die();
+                  return false;
+               }
+            }
+            break;
+      }
+      return true;
+   }
+
+   /**
+   Returns the number of pellets to be eaten, since the level began or PacMan
+   last died, before a ghost may leave the ghost house, read from
+   DEATH_RELEASE or LEVEL_RELEASE.
+   @param k   index of the ghost in ghosts
+   @return  pellets to be eaten, 0 if the ghost leaves at once, or -1 if it
+   leaves once its bounce reaches the top of the ghost house
+   */
+   private int releaseAt(int k)
+   {
+      if(died)
+         return DEATH_RELEASE[k];
+      int[] release = LEVEL_RELEASE[k];
+      return release[Math.min(level, release.length) - 1];
+   }
+
+   /**
+   Scores a frightened ghost PacMan has eaten, doubling the points for each
+   ghost eaten since the last power pellet, and pauses the game to show them.
+   @param ghost  ghost that was eaten
+   */
+   private void eatGhost(Ghost ghost)
+   {
+      ghostsEaten++;
+      int points = 100 << ghostsEaten;
+      addScore(points);
+      pause(ghost.getX(), ghost.getY(), points, ghost);
+      events |= GHOST;
+   }
+
+   /**
+   Asks for the game to be PAUSED at the end of the current step, showing the
+   given points centered around the given coordinates.
+   @param x   x-coordinate the points are centered around
+   @param y   y-coordinate the points are centered around
+   @param points   points shown
+   @param ghost  ghost that was eaten, or null for the fruit
+   */
+   private void pause(int x, int y, int points, Ghost ghost)
+   {
+      pausePending = true;
+      pauseX = x;
+      pauseY = y;
+      pausePoints = points;
+      pauseGhost = ghost;
+   }
+
+   /**
+   Takes a life from PacMan after running into a ghost. If any are left, the
+   ghosts are put back in the ghost house; either way PacMan starts DYING.
+   */
+   private void die()
+   {
+      lives--;
+      died = true;
+      fruit.setEaten(true);
+      if(lives > 0)
+         resetGhosts();
+      events |= DIED;
+      if(lives > 0)
+         startPhase(DYING, FREEZE_STEPS + DYING_STEPS + FREEZE_STEPS);
+      else
+         startPhase(DYING, FREEZE_STEPS + DYING_STEPS);
+   }
+
+   /**
+   Moves on to the next level once every pellet has been eaten, bringing the
+   pellets back and putting the ghosts back in the ghost house. The maze of
+   the next level is moved on to once the level has been shown CLEARED, and
+   if it is another maze the ghosts are put back again in its ghost house.
+   */
+   private void clearLevel()
+   {
+      pellets.reset();
+      level++;
+      died = false;
+      allPelletsCollected = 0;
+      fruit.setEaten(true);
+      resetGhosts();
+      events |= LEVEL_CLEARED;
+      startPhase(CLEARED, CLEARED_STEPS);
+   }
+
+   /**
+   Puts every ghost back where it starts, no longer frightened or dead, and
+   starts counting again the pellets needed for each to leave the ghost house.
+   A ghost starting above the ghost house chases PacMan at once, and one
+   starting inside it waits IN_HOUSE, unless it may leave at once.
+   */
+   private void resetGhosts()
+   {
+      for(int k = 0; k < ghosts.length; k++){
+         ghosts[k].restart();
+         if(ghosts[k].getY() == layout.getDoorY())
+            ghosts[k].setState(Ghost.State.CHASE);
+         else if(releaseAt(k) == 0)
+            ghosts[k].setState(Ghost.State.LEAVING);
+         else
+            ghosts[k].setState(Ghost.State.IN_HOUSE);
+      }
+      pelletsCollectedSinceDeath = 0;
+      frightenedSteps = 0;
+      ghostsEaten = 0;
+   }
+
+   /**
+   Adds the given points to the score. Reaching EXTRA_LIFE_SCORE restores
+   PacMan's lives to MAX_LIVES.
+   @param points  points to add
+   */
+   private void addScore(int points)
+   {
+      score += points;
+      if(score == EXTRA_LIFE_SCORE){
+         lives = MAX_LIVES;
+         events |= EXTRA_LIFE;
+      }
+   }
+
+   /**
+   Begins the given phase, lasting the given number of steps.
+   @param p   phase to begin
+   @param length   steps the phase lasts, or 0 if it lasts until something
+   happens
+   */
+   private void startPhase(int p, int length)
+   {
+      phase = p;
+      phaseStep = 0;
+      phaseLength = length;
+      wanted = 0;
+   }
+
+   /**
+   Sets the number of steps a turn the player asks for is tried for, from the
+   step it is asked at, before it is dropped. PacMan turns at the first of
+   those steps at which he can.
+   @param steps  steps a turn is tried for, from 1 to 255
+   @throws IllegalArgumentException if steps is not from 1 to 255
+   */
+   public void setTurnSteps(int steps)
+   {
+      if(steps < 1 || steps > 255)
+         throw new IllegalArgumentException("turn steps " + steps);
+      turnSteps = steps;
+   }
+
+   /**
+   Returns the number of steps a turn the player asks for is tried for.
+   @return  steps a turn is tried for
+   */
+   public int getTurnSteps()
+   {
+      return turnSteps;
+   }
+
+   /**
+   Sets whether the ghosts pick the way closest to their targets as the crow
+   flies at every step, as in the arcade, rather than following the shortest
+   path through the maze, which they do unless set otherwise. The ghosts keep
+   to it for the rest of the game, through every death and level.
+   @param b   whether the ghosts move as in the arcade
+   */
+   public void setClassic(boolean b)
+   {
+      classic = b;
+      for(int k = 0; k < ghosts.length; k++)
+         ghosts[k].setShortestPath(!b);
+   }
+
+   /**
+   Returns whether the ghosts move as in the arcade rather than following the
+   shortest path through the maze.
+   @return  whether the ghosts move as in the arcade
+   */
+   public boolean isClassic()
+   {
+      return classic;
+   }
+
+   /**
+   Returns the seed the game's choices are made from, with which, and the
+   inputs given at each step, the game may be played again.
+   @return  seed
+   */
+   public long getSeed()
+   {
+      return seed;
+   }
+
+   /**
+   Returns the number of steps taken since the game began, the clock by
+   which every timed part of the game is measured.
+   @return  steps since the game began
+   */
+   public long getTick()
+   {
+      return tick;
+   }
+
+   /**
+   Returns the current phase of the game, such as READY or PLAYING.
+   @return  current phase
+   */
+   public int getPhase()
+   {
+      return phase;
+   }
+
+   /**
+   Returns the number of steps taken since the current phase began.
+   @return  steps since the phase began
+   */
+   public int getPhaseStep()
+   {
+      return phaseStep;
+   }
+
+   /**
+   Returns whether the game is READY for the first time, before PacMan has
+   ever moved.
+   @return  whether the game is in its introduction
+   */
+   public boolean isIntro()
+   {
+      return intro;
+   }
+
+   /**
+   Returns the current score.
+   @return  score
+   */
+   public int getScore()
+   {
+      return score;
+   }
+
+   /**
+   Returns the number of lives PacMan has left, including the one being
+   played.
+   @return  lives left
+   */
+   public int getLives()
+   {
+      return lives;
+   }
+
+   /**
+   Returns the current level, starting from 1.
+   @return  level
+   */
+   public int getLevel()
+   {
+      return level;
+   }
+
+   /**
+   Returns the number of steps left until the ghosts are no longer
+   frightened.
+   @return  steps left frightened, or 0
+   */
+   public int getFrightenedSteps()
+   {
+      return frightenedSteps;
+   }
+
+   /**
+   Returns whether the fruit is in the maze.
+   @return  whether the fruit is shown
+   */
+   public boolean isFruitShown()
+   {
+      return fruitSteps > 0 && !fruit.isEaten();
+   }
+
+   /**
+   Returns the number of pellets eaten during the last step.
+   @return  pellets eaten during the last step
+   */
+   public int getEatenCount()
+   {
+      return eatenCount;
+   }
+
+   /**
+   Returns the index in the PelletIndex of one of the pellets eaten during
+   the last step.
+   @param k   which of the pellets eaten, from 0 to getEatenCount() - 1
+   @return  index of the pellet
+   */
+   public int getEaten(int k)
+   {
+      return eaten[k];
+   }
+
+   /**
+   Returns the x-coordinate the points shown while PAUSED are centered around.
+   @return  x-coordinate of the points
+   */
+   public int getPauseX()
+   {
+      return pauseX;
+   }
+
+   /**
+   Returns the y-coordinate the points shown while PAUSED are centered around.
+   @return  y-coordinate of the points
+   */
+   public int getPauseY()
+   {
+      return pauseY;
+   }
+
+   /**
+   Returns the points shown while PAUSED.
+   @return  points
+   */
+   public int getPausePoints()
+   {
+      return pausePoints;
+   }
+
+   /**
+   Returns the ghost whose eating caused the game to be PAUSED.
+   @return  ghost eaten, or null if the fruit was eaten
+   */
+   public Ghost getPauseGhost()
+   {
+      return pauseGhost;
+   }
+
+   /**
+   Returns the MazeRegistry of the mazes the game moves through.
+   @return  registry of the mazes
+   */
+   public MazeRegistry getRegistry()
+   {
+      return registry;
+   }
+
+   /**
+   Returns the index in the MazeRegistry of the maze being played on, which
+   changes, if at all, at the end of a level.
+   @return  index of the maze
+   */
+   public int getMazeIndex()
+   {
+      return mazeIndex;
+   }
+
+   /**
+   Returns the LevelFile being played on, whose maze, pellets, and boxes
+   never change and are shared by every game made from this one.
+   @return  level file
+   */
+   public LevelFile getLevelFile()
+   {
+      return levelFile;
+   }
+
+   /**
+   Returns the maze.
+   @return  maze
+   */
+   public Maze getMaze()
+   {
+      return maze;
+   }
+
+   /**
+   Returns the index of the pac-dots and power pellets of the maze.
+   @return  pellets
+   */
+   public PelletIndex getPellets()
+   {
+      return pellets;
+   }
+
+   /**
+   Returns PacMan.
+   @return  PacMan
+   */
+   public PacMan getPacMan()
+   {
+      return pac;
+   }
+
+   /**
+   Returns the ghosts, Blinky first, in the order they move. The same array
+   and ghosts are used for the whole game; the array should not be changed.
+   @return  the ghosts
+   */
+   public Ghost[] getGhosts()
+   {
+      return ghosts;
+   }
+
+   /**
+   Returns Blinky, the same Ghost for the whole game.
+   @return  Blinky
+   */
+   public Blinky getBlinky()
+   {
+      return blinky;
+   }
+
+   /**
+   Returns Pinky, the same Ghost for the whole game.
+   @return  Pinky
+   */
+   public Pinky getPinky()
+   {
+      return pinky;
+   }
+
+   /**
+   Returns Inky, the same Ghost for the whole game.
+   @return  Inky
+   */
+   public Inky getInky()
+   {
+      return inky;
+   }
+
+   /**
+   Returns Clyde, the same Ghost for the whole game.
+   @return  Clyde
+   */
+   public Clyde getClyde()
+   {
+      return clyde;
+   }
+
+   /**
+   Returns the fruit.
+   @return  fruit
+   */
+   public Fruit getFruit()
+   {
+      return fruit;
+   }
+}
@@ -0,0 +1,261 @@
+import java.awt.event.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.locks.LockSupport;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+The GameLoop class steps the game forward a fixed amount of time at a time.
+By default it is driven by a Swing Timer, as the game always has been, and
+each step draws and repaints the board itself. In active mode it is instead
+driven by a thread of its own, paced with System.nanoTime and
+LockSupport.parkNanos, which steps the game whenever a step is due and
+presents the board once a step has changed it. The board only changes once a
+step, so frames are tied to the steps, one at most for each; there is no
+rate of its own to aim for. Steps are never dropped: a loop that has fallen
+behind runs up to MAX_CATCH_UP steps before each frame until it has caught
+up. When the next step is already due by the time a frame would be
+presented, the frame is dropped and counted instead, and the board is
+presented after that step. While the game is stopped nothing is presented
+unless a frame is asked for, as when the window is shown again, and the
+thread of the loop waits without waking. In active mode the steps run on
+the thread of the loop, off the event dispatch thread, and only the frames
+run on the event dispatch thread, the loop waiting for each to be presented
+before going on, so a board being drawn by a step is never presented. With
+the Timer, steps run on the event dispatch thread, as every other part of
+the game always has.
+@since 10-18-2026
+*/
+public class GameLoop
+{
+   /** most steps run back to back to catch up before a frame is presented,
+   the rest being run after it */
+   private static final int MAX_CATCH_UP = 5;
+   /** seconds between reports of the frames presented and dropped */
+   private static final int REPORT_SECONDS = 10;
+
+   /** steps the game forward */
+   private Runnable step;
+   /** presents the board, in active mode */
+   private Runnable frame;
+   /** length of a step in nanoseconds */
+   private long stepNanos;
+   /** Timer driving the steps when not in active mode */
+   private Timer timer;
+   /** whether the game is being stepped */
+   private volatile boolean running;
+   /** whether the thread of the loop should keep going, in active mode */
+   private volatile boolean alive;
+   /** whether a frame has been asked for since the last was presented, in
+   active mode */
+   private volatile boolean wanted;
+   /** thread of the loop, in active mode */
+   private Thread thread;
+   /** number of frames presented since the last report */
+   private int presented;
+   /** number of frames dropped since the last report */
+   private int dropped;
+
+   /**
+   Initializes a GameLoop driven by a Swing Timer, running the given step
+   every given number of milliseconds while started.
+   @param step   steps the game forward and draws it
+   @param stepMillis   length of a step in milliseconds
+   */
+   public GameLoop(final Runnable step, int stepMillis)
+   {
+      this.step = step;
+      stepNanos = stepMillis * 1000000L;
+      timer = new Timer(stepMillis, new ActionListener(){
+         public void actionPerformed(ActionEvent e)
+         {
+            step.run();
+         }
+      });
+   }
+
+   /**
+   Initializes a GameLoop in active mode, running the given step every given
+   number of milliseconds while started and presenting the board after each
+   step, until disposed. While stopped, the board is only presented when a
+   frame is asked for. The thread of the loop begins right away.
+   @param step   steps the game forward and draws it, on the thread of the
+   loop
+   @param stepMillis   length of a step in milliseconds
+   @param frame  presents the board, on the event dispatch thread
+   */
+   public GameLoop(Runnable step, int stepMillis, Runnable frame)
+   {
+      this.step = step;
+      this.frame = frame;
+      stepNanos = stepMillis * 1000000L;
+      alive = true;
+      thread = new Thread(new Runnable(){
+         public void run()
+         {
+            loop();
+         }
+      }, "GameLoop");
+      thread.setDaemon(true);
+      thread.start();
+   }
+
+   /**
+   Returns whether the loop is in active mode, presenting the board itself.
+   @return  whether the loop is in active mode
+   */
+   public boolean isActive()
+   {
+      return frame != null;
+   }
+
+   /**
+   Starts stepping the game.
+   */
+   public void start()
+   {
+      running = true;
+      if(timer != null)
+         timer.start();
+      if(thread != null)
+         LockSupport.unpark(thread);
+   }
+
+   /**
+   Stops stepping the game; in active mode the board is presented once more
+   if a step has changed it, and then only when a frame is asked for.
+   */
+   public void stop()
+   {
+      running = false;
+      if(timer != null)
+         timer.stop();
+   }
+
+   /**
+   Returns whether the game is being stepped.
+   @return  whether the loop has been started and not stopped
+   */
+   public boolean isRunning()
+   {
+      return running;
+   }
+
+   /**
+   Asks for the board to be presented in active mode even though no step has
+   changed it, as when the window has been covered or resized, and does
+   nothing otherwise.
+   */
+   public void requestFrame()
+   {
+      if(thread == null)
+         return;
+      wanted = true;
+      LockSupport.unpark(thread);
+   }
+
+   /**
+   Stops the loop for good, ending its thread in active mode.
+   */
+   public void dispose()
+   {
+      stop();
+      alive = false;
+      if(thread != null)
+         LockSupport.unpark(thread);
+   }
+
+   /**
+   Runs the loop of active mode: runs the steps that are due, up to
+   MAX_CATCH_UP of them, presents a frame if a step has changed the board
+   since the last or one was asked for, and parks until the next step is due,
+   reporting the frames presented and dropped now and then. Steps still due
+   are run after the frame, without parking. While stopped, it parks until
+   started again, asked for a frame, or disposed, and no step falls due.
+   */
+   private void loop()
+   {
+      long now = System.nanoTime();
+      long nextStep = now + stepNanos;
+      boolean changed = true;
+      long lastReport = now;
+      long nextReport = now + REPORT_SECONDS * 1000000000L;
+      while(alive){
+         now = System.nanoTime();
+         int steps = 0;
+         while(running && nextStep <= now && steps < MAX_CATCH_UP){
+            try{
+               step.run();
+            }
+            catch(RuntimeException e){
+               e.printStackTrace();
+            }
+            changed = true;
+            nextStep += stepNanos;
+            steps++;
+         }
+
+         if(changed || wanted){
+            wanted = false;
+            if(!running || steps == MAX_CATCH_UP || System.nanoTime() < nextStep){
+               runOnEventThread(frame);
+               presented++;
+               changed = false;
+            }
+            else
+               dropped++;
+         }
+
+         if(now >= nextReport){
+            report(now - lastReport);
+            lastReport = now;
+            nextReport = now + REPORT_SECONDS * 1000000000L;
+         }
+
+         if(!running && !changed && !wanted && alive){
+            LockSupport.park(this);
+            nextStep = System.nanoTime() + stepNanos;
+         }
+         else{
+            long wait = nextStep - System.nanoTime();
+            if(wait > 0)
+               LockSupport.parkNanos(this, wait);
+         }
+      }
+      report(System.nanoTime() - lastReport);
+   }
+
+   /**
+   Runs the given task on the event dispatch thread and waits for it to
+   finish.
+   @param task   task to run
+   */
+   private void runOnEventThread(Runnable task)
+   {
+      try{
+         SwingUtilities.invokeAndWait(task);
+      }
+      catch(InterruptedException e){
+         alive = false;
+      }
+      catch(InvocationTargetException e){
+         e.getCause().printStackTrace();
+      }
+   }
+
+   /**
+   Prints the rate of frames presented and the number dropped since the last
+   report, and the rate they are presented at most, which is that of the
+   steps.
+   @param elapsed   nanoseconds since the last report
+   */
+   private void report(long elapsed)
+   {
+      if(presented + dropped == 0)
+         return;
+      System.out.println("GameLoop: at most " + (1000000000L / stepNanos) + " fps, presented " + presented
+         + " (" + (presented * 1000000000L / Math.max(1, elapsed)) + " fps), dropped " + dropped);
+      presented = 0;
+      dropped = 0;
+   }
+}
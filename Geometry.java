@@ -0,0 +1,157 @@
+/**
+The Geometry class holds the collision tests shared by PacMan, the ghosts,
+the pellets, the fruit, and the walls of the maze. Every test compares
+squared distances between integer coordinates, so no square root is taken
+and no rounding can creep in. Coordinates that fall between pixels, such as
+the center of a Fruit of odd width, are given in fixed point with SHIFT
+fractional bits; both sides of a test must use the same scale. Distances
+that have to be added together, as a Ghost moving as in the arcade does, are
+returned in the same fixed point, rounded down from a floating-point square
+root. Java rounds Math.sqrt correctly on every machine and the square of
+any distance on a coordinate plane of ints below 2^26 is held exactly in a
+double, so two distances compare the same everywhere.
+@since 10-18-2026
+*/
+public class Geometry
+{
+   /** number of fractional bits of a fixed-point coordinate or distance */
+   public static final int SHIFT = 16;
+
+   /**
+   Converts a coordinate or length in pixels to fixed point.
+   @param pixels coordinate or length in whole pixels
+   @return  the same coordinate or length in fixed point
+   */
+   public static int toFixed(int pixels)
+   {
+      return pixels << SHIFT;
+   }
+
+   /**
+   Returns the square of the distance between two points on a coordinate
+   plane.
+   @param x1	x-coordinate of first point
+   @param y1	y-coordinate of first point
+   @param x2	x-coordinate of second point
+   @param y2	y-coordinate of second point
+   @return 	squared distance between the two points
+   */
+   public static long distanceSquared(int x1, int y1, int x2, int y2)
+   {
+      long dx = x1 - x2;
+      long dy = y1 - y2;
+      return dx * dx + dy * dy;
+   }
+
+   /**
+   Returns whether the distance between two points is less than the given
+   distance.
+   @param x1	x-coordinate of first point
+   @param y1	y-coordinate of first point
+   @param x2	x-coordinate of second point
+   @param y2	y-coordinate of second point
+   @param d   distance compared against
+   @return  whether the points are closer together than d
+   */
+   public static boolean within(int x1, int y1, int x2, int y2, int d)
+   {
+      return distanceSquared(x1, y1, x2, y2) < (long) d * d;
+   }
+
+   /**
+   Returns whether two circles overlap, determined by if their combined radii
+   are greater than the distance between their centers.
+   @param x1	x-coordinate of the center of the first circle
+   @param y1	y-coordinate of the center of the first circle
+   @param r1	radius of the first circle
+   @param x2	x-coordinate of the center of the second circle
+   @param y2	y-coordinate of the center of the second circle
+   @param r2	radius of the second circle
+   @return  whether the circles overlap
+   */
+   public static boolean circlesOverlap(int x1, int y1, int r1, int x2, int y2, int r2)
+   {
+      return within(x1, y1, x2, y2, r1 + r2);
+   }
+
+   /**
+   Returns whether a circle overlaps a rectangle, using the point of the
+   rectangle closest to the center of the circle. This is the same as testing
+   whether the center lies inside the rectangle grown by the radius on every
+   side, with its corners rounded to that radius.
+   @param x   x-coordinate of the center of the circle
+   @param y   y-coordinate of the center of the circle
+   @param r   radius of the circle
+   @param rx  x-coordinate of the top-left corner of the rectangle
+   @param ry  y-coordinate of the top-left corner of the rectangle
+   @param w   width of the rectangle
+   @param h   height of the rectangle
+   @return  whether the circle overlaps the rectangle
+   */
+   public static boolean circleInRoundedRect(int x, int y, int r, int rx, int ry, int w, int h)
+   {
+      int dx = 0;
+      int dy = 0;
+      if(x < rx)
+         dx = rx - x;
+      else if(x > rx + w)
+         dx = x - (rx + w);
+      if(y < ry)
+         dy = ry - y;
+      else if(y > ry + h)
+         dy = y - (ry + h);
+      return (long) dx * dx + (long) dy * dy < (long) r * r;
+   }
+
+   /**
+   Returns the distance between two points on a coordinate plane, in fixed
+   point, within one fixed-point step of the true distance.
+   @param x1	x-coordinate of first point
+   @param y1	y-coordinate of first point
+   @param x2	x-coordinate of second point
+   @param y2	y-coordinate of second point
+   @return 	distance between the two points, with SHIFT fractional bits
+   */
+   public static long distance(int x1, int y1, int x2, int y2)
+   {
+      double dx = x1 - x2;
+      double dy = y1 - y2;
+      return root(dx * dx + dy * dy);
+   }
+
+   /**
+   Returns the distance between two points going through the tunnel on the
+   left and right sides of the maze: from the first point to the closer mouth
+   of the tunnel, then from the other mouth to the second point.
+   @param x1	x-coordinate of first point
+   @param y1	y-coordinate of first point
+   @param x2	x-coordinate of second point
+   @param y2	y-coordinate of second point
+   @param tunnelLeft   x-coordinate of the mouth of the tunnel on the left
+   @param tunnelRight  x-coordinate of the mouth of the tunnel on the right
+   @param tunnelY   y-coordinate of the tunnel
+   @return 	distance between the two points through the tunnel, with
+   SHIFT fractional bits
+   */
+   public static long tunnelDistance(int x1, int y1, int x2, int y2, int tunnelLeft, int tunnelRight, int tunnelY)
+   {
+      long left = distanceSquared(x1, y1, tunnelLeft, tunnelY);
+      long right = distanceSquared(x1, y1, tunnelRight, tunnelY);
+      if(left < right)
+         return root(left) + distance(tunnelRight, tunnelY, x2, y2);
+      return root(right) + distance(tunnelLeft, tunnelY, x2, y2);
+   }
+
+   /**
+   Returns the square root of a squared distance in fixed point, cut to
+   SHIFT fractional bits. The root is taken in floating point, which is
+   correctly rounded, and scaling it by a power of two loses nothing, so the
+   result is the same on every machine.
+   @param squared   squared distance in whole pixels
+   @return  square root of squared, with SHIFT fractional bits
+   */
+   private static long root(double squared)
+   {
+      return (long) (Math.sqrt(squared) * (1 << SHIFT));
+   }
+}
@@ -0,0 +1,165 @@
+import java.util.SplittableRandom;
+
+/**
+The GeometryBench class checks the collision tests of Geometry against the
+expressions they replaced, which took Math.sqrt of Math.pow over doubles and
+compared the result with a radius, then times both over the same random
+points. There is no benchmark harness in the project, so each is run for a
+few warm-up rounds before being timed, and every result is summed into a
+total that is printed, so that no loop can be left out by the compiler.
+@since 10-18-2026
+*/
+public class GeometryBench
+{
+   /** number of random cases checked and timed */
+   private static final int CASES = 1 << 20;
+   /** rounds of every case run before timing */
+   private static final int WARMUP = 20;
+   /** rounds of every case timed */
+   private static final int ROUNDS = 20;
+
+   /**
+   The main method checks that circlesOverlap agrees with the old test and
+   that distance is within one fixed-point step of the old one for every
+   case, then prints how long each took per call. It exits with a status of
+   1 if any case disagrees.
+   @param args  optionally, the seed of the random cases.
+   */
+   public static void main(String[] args)
+   {
+      long seed = args.length > 0 ? Long.parseLong(args[0]) : System.nanoTime();
+      SplittableRandom random = new SplittableRandom(seed);
+      int[] x1 = new int[CASES];
+      int[] y1 = new int[CASES];
+      int[] x2 = new int[CASES];
+      int[] y2 = new int[CASES];
+      int[] r = new int[CASES];
+      for(int i = 0; i < CASES; i++){
+         x1[i] = random.nextInt(-48, 720);
+         y1[i] = random.nextInt(0, 768);
+         x2[i] = x1[i] + random.nextInt(-64, 65);
+         y2[i] = y1[i] + random.nextInt(-64, 65);
+         r[i] = random.nextInt(1, 40);
+      }
+
+      int wrong = 0;
+      for(int i = 0; i < CASES; i++){
+         if(Geometry.circlesOverlap(x1[i], y1[i], r[i] / 2, x2[i], y2[i], r[i] - r[i] / 2)
+            != (oldDistance(x1[i], y1[i], x2[i], y2[i]) < r[i]))
+            wrong++;
+         double fixed = Geometry.distance(x1[i], y1[i], x2[i], y2[i]) / (double) (1 << Geometry.SHIFT);
+         if(Math.abs(fixed - oldDistance(x1[i], y1[i], x2[i], y2[i])) >= 1.0 / (1 << Geometry.SHIFT))
+            wrong++;
+      }
+      System.out.printf("%d cases, seed %d, %d disagreeing%n", CASES, seed, wrong);
+
+      long total = 0;
+      for(int round = 0; round < WARMUP; round++)
+         total += overlapNew(x1, y1, x2, y2, r) + overlapOld(x1, y1, x2, y2, r)
+            + distanceNew(x1, y1, x2, y2) + distanceOld(x1, y1, x2, y2);
+      long[] nanos = new long[4];
+      for(int round = 0; round < ROUNDS; round++){
+         long begin = System.nanoTime();
+         total += overlapNew(x1, y1, x2, y2, r);
+         long a = System.nanoTime();
+         total += overlapOld(x1, y1, x2, y2, r);
+         long b = System.nanoTime();
+         total += distanceNew(x1, y1, x2, y2);
+         long c = System.nanoTime();
+         total += distanceOld(x1, y1, x2, y2);
+         long d = System.nanoTime();
+         nanos[0] += a - begin;
+         nanos[1] += b - a;
+         nanos[2] += c - b;
+         nanos[3] += d - c;
+      }
+      double calls = (double) CASES * ROUNDS;
+      System.out.printf("overlap   Geometry %.2f ns  pow %.2f ns%n", nanos[0] / calls, nanos[1] / calls);
+      System.out.printf("distance  Geometry %.2f ns  pow %.2f ns%n", nanos[2] / calls, nanos[3] / calls);
+      System.out.println("checksum " + total);
+      if(wrong > 0)
+         System.exit(1);
+   }
+
+   /**
+   Returns the distance between two points the way every collision test did
+   before Geometry.
+   @param x1	x-coordinate of first point
+   @param y1	y-coordinate of first point
+   @param x2	x-coordinate of second point
+   @param y2	y-coordinate of second point
+   @return 	distance between the two points
+   */
+   private static double oldDistance(int x1, int y1, int x2, int y2)
+   {
+      return Math.sqrt(Math.pow(x1 - x2, 2) + Math.pow(y1 - y2, 2));
+   }
+
+   /**
+   Counts the cases whose circles overlap, using Geometry.
+   @param x1  x-coordinates of the first centers
+   @param y1  y-coordinates of the first centers
+   @param x2  x-coordinates of the second centers
+   @param y2  y-coordinates of the second centers
+   @param r   sums of the radii
+   @return  number of overlapping cases
+   */
+   private static long overlapNew(int[] x1, int[] y1, int[] x2, int[] y2, int[] r)
+   {
+      long count = 0;
+      for(int i = 0; i < x1.length; i++)
+         if(Geometry.circlesOverlap(x1[i], y1[i], r[i] / 2, x2[i], y2[i], r[i] - r[i] / 2))
+            count++;
+      return count;
+   }
+
+   /**
+   Counts the cases whose circles overlap, using the old test.
+   @param x1  x-coordinates of the first centers
+   @param y1  y-coordinates of the first centers
+   @param x2  x-coordinates of the second centers
+   @param y2  y-coordinates of the second centers
+   @param r   sums of the radii
+   @return  number of overlapping cases
+   */
+   private static long overlapOld(int[] x1, int[] y1, int[] x2, int[] y2, int[] r)
+   {
+      long count = 0;
+      for(int i = 0; i < x1.length; i++)
+         if(oldDistance(x1[i], y1[i], x2[i], y2[i]) < r[i])
+            count++;
+      return count;
+   }
+
+   /**
+   Sums the distances of the cases, in fixed point, using Geometry.
+   @param x1  x-coordinates of the first points
+   @param y1  y-coordinates of the first points
+   @param x2  x-coordinates of the second points
+   @param y2  y-coordinates of the second points
+   @return  sum of the distances
+   */
+   private static long distanceNew(int[] x1, int[] y1, int[] x2, int[] y2)
+   {
+      long sum = 0;
+      for(int i = 0; i < x1.length; i++)
+         sum += Geometry.distance(x1[i], y1[i], x2[i], y2[i]);
+      return sum;
+   }
+
+   /**
+   Sums the distances of the cases, in fixed point, using the old distance.
+   @param x1  x-coordinates of the first points
+   @param y1  y-coordinates of the first points
+   @param x2  x-coordinates of the second points
+   @param y2  y-coordinates of the second points
+   @return  sum of the distances
+   */
+   private static long distanceOld(int[] x1, int[] y1, int[] x2, int[] y2)
+   {
+      long sum = 0;
+      for(int i = 0; i < x1.length; i++)
+         sum += (long) (oldDistance(x1[i], y1[i], x2[i], y2[i]) * (1 << Geometry.SHIFT));
+      return sum;
+   }
+}
@@ -1,8 +1,6 @@
 import java.awt.*;
-import javax.swing.ImageIcon;
-import javax.swing.*;
-import javax.sound.sampled.*;
-import java.io.*;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 /**
 The Ghost class extends PacMan to allow movement throughout the board,
@@ -15,6 +13,32 @@ the fastest way possible.
 */
 public class Ghost extends PacMan
 {
+   /**
+   The State of a Ghost determines how it moves at each step of the game.
+   A Ghost waits IN_HOUSE until it may leave, moves out of the ghost house
+   while LEAVING, chases PacMan in CHASE, heads for its corner in SCATTER,
+   wanders while FRIGHTENED, returns to the ghost house as a pair of eyes
+   once EATEN, and moves down into it while ENTERING, after which it comes
+   alive and is LEAVING again.
+   */
+   public enum State
+   {
+      IN_HOUSE, LEAVING, CHASE, SCATTER, FRIGHTENED, EATEN, ENTERING;
+
+      /**
+      Returns whether a Ghost in this State is in the corridors of the maze
+      rather than the ghost house.
+      @return  whether the Ghost is in the corridors
+      */
+      public boolean isInCorridor()
+      {
+         return this != IN_HOUSE && this != LEAVING && this != ENTERING;
+      }
+   }
+
+   /** index of the Ghost in the order the ghosts move, Blinky first, by
+   which its start and corner are looked up in a MazeLayout */
+   private int index;
    /** x-coordinate of the Ghost object's corner */
    private int xCorner;
    /** y-coordinate of the Ghost object's corner */
@@ -23,24 +47,19 @@ public class Ghost extends PacMan
    private boolean fright;
    /** whether the Ghost is dead or not */
    private boolean dead;
-   /** ImageIcon representation blue frightened ghost;
-   drawn when frightened. */
-   private ImageIcon blue = new ImageIcon("imageicons\\blue.png");
-   /** ImageIcon representation white frightened ghost;
-   drawn when frightened period is almost over. */
-   private ImageIcon white = new ImageIcon("imageicons\\white.png");
-   /** ImageIcon representation dead ghost moving left;
-   drawn when dead and moving left. */
-   private ImageIcon dead1 = new ImageIcon("imageicons\\dead1.png");
-   /** ImageIcon representation dead ghost moving up;
-   drawn when dead and moving up. */
-   private ImageIcon dead2 = new ImageIcon("imageicons\\dead2.png");
-   /** ImageIcon representation dead ghost moving right;
-   drawn when dead and moving right. */
-   private ImageIcon dead3 = new ImageIcon("imageicons\\dead3.png");
-   /** ImageIcon representation dead ghost moving down;
-   drawn when dead and moving down. */
-   private ImageIcon dead4 = new ImageIcon("imageicons\\dead4.png");
+   /** whether the Ghost follows the shortest path through the maze to its
+   target (true), or picks the way closest to its target as the crow flies,
+   as in the arcade (false) */
+   private boolean shortestPath = true;
+   /** how the Ghost moves at each step of the game */
+   private State state = State.CHASE;
+   /** distance to the target of a step each way, in fixed point, reused by
+   moveClassic */
+   private long[] dis = new long[4];
+   /** change in x-coordinate of a step each way, from left to down */
+   private static final int[] XCONSTS = {-4, 0, 4, 0};
+   /** change in y-coordinate of a step each way, from left to down */
+   private static final int[] YCONSTS = {0, -4, 0, 4};
    
    /**
    Default constructor of Ghost; creates a Ghost at the coordinates
@@ -50,21 +69,118 @@ public class Ghost extends PacMan
       super(0, 0, 0);
    }
    /**
-   Initializes a ghost with the specified coordinates, diameter, and 
-   coordinates of a corner, as well as a speed of 8 and white color.
-   @param x x-coordinate of the Ghost
-   @param y y-coordinate of the Ghost
-   @param d diameter of the Ghost
-   @param xC	x-coordinate of the corner
-   @param yC	y-coordinate of the corner
+   Initializes a ghost at its start in the given layout, with a diameter of
+   24 and the corner the layout gives it, as well as a speed of 8 and white
+   color.
+   @param l   layout of the maze the Ghost starts in
+   @param k   index of the Ghost in the order the ghosts move, Blinky first
    */
-   public Ghost(int x, int y, int d, int xC, int yC)
+   public Ghost(MazeLayout l, int k)
    {
-      super(x, y, d, Color.WHITE, 8);
+      super(l.getGhostX(k), l.getGhostY(k), 24, Color.WHITE, 8);
       fright = false;
-      xCorner = xC;
-      yCorner = yC;
+      index = k;
+      setLayout(l);
+   }
+
+   /**
+   Sets the layout of the maze the Ghost is in, whose ghost house and
+   tunnel it goes through, and puts its start and corner where the layout
+   says for a ghost of its index.
+   @param l   layout of the maze
+   */
+   public void setLayout(MazeLayout l)
+   {
+      super.setLayout(l);
+      setStart(l.getGhostX(index), l.getGhostY(index));
+      xCorner = l.getCornerX(index);
+      yCorner = l.getCornerY(index);
+   }
+   /**
+   Puts the Ghost back where it starts, facing the way it starts, neither
+   frightened nor dead and at its normal speed, as when it was made, so that
+   the same Ghost is used again after PacMan dies or a level is cleared. How
+   it moves to its target is kept.
+   */
+   public void restart()
+   {
+      fright = false;
+      dead = false;
+      state = State.CHASE;
+      setChange(8);
+      reset();
+   }
+
+   /**
+   Sets whether the Ghost follows the shortest path through the maze to its
+   target, or picks the way closest to its target as the crow flies, as in
+   the arcade.
+   @param b whether the Ghost follows the shortest path
+   */
+   public void setShortestPath(boolean b)
+   {
+      shortestPath = b;
+   }
+   
+   /**
+   Sets how the Ghost moves at each step of the game.
+   @param s   new State of the Ghost
+   */
+   public void setState(State s)
+   {
+      state = s;
+   }
+
+   /**
+   Returns how the Ghost moves at each step of the game.
+   @return  state; the State of the Ghost
+   */
+   public State getState()
+   {
+      return state;
+   }
+
+   /**
+   Moves the Ghost one step while it chases PacMan, towards PacMan himself.
+   Each kind of Ghost overrides this with a target of its own.
+   @param p	PacMan being chased
+   @param blinky  Ghost some targets are worked out from, or the Ghost itself
+   @param m	maze whose walls block the Ghost's path
+   */
+   public void moveChase(PacMan p, Ghost blinky, Maze m)
+   {
+      moveToTarget(m, p.getX(), p.getY());
    }
+
+   /**
+   Moves the ghost towards a specific set of target coordinates. If the
+   Ghost follows the shortest path, it only decides where to go when it
+   reaches a junction of the maze, reading the way to turn from the maze's
+   navigation table; along a corridor it follows the corridor, and between
+   tiles it keeps going the way it is. Paths through the tunnel are
+   included. If not, it moves as in the arcade, described in moveClassic.
+   @param m	maze whose walls inhibit the Ghost's path
+   @param targetX x-coordinate of the target of the Ghost
+   @param targetY 	y-coordinate of the target of the Ghost
+   */
+   public void moveToTarget(Maze m, int targetX, int targetY)
+   {
+      if(!shortestPath){
+         moveClassic(m, targetX, targetY);
+         return;
+      }
+      if(isCentered() && m.hasTile(getTileX(), getTileY())){
+         int d = 0;
+         if(!m.getJunctions().isJunction(getTileX(), getTileY()))
+            d = Junctions.onlyExit(m.getExits(getTileX(), getTileY()), getDirection());
+         if(d == 0)
+            d = m.getNavTable().getNextDirection(getTileX(), getTileY(), getDirection(), targetX, targetY);
+         if(d != 0)
+            setDirection(d);
+      }
+      move(m);
+   }
+   
    /**
    Moves the ghost towards a specific set of target coordinates,
    by determining in which way the Ghost can move, and which way
@@ -72,25 +188,20 @@ public class Ghost extends PacMan
    Ghost in the proper direction. An alternate distance is 
    calculated of going through the tunnel on the left and right sides
    of the screen, and used if optimal.
-   @param b	array of Bumper obstacles inhibiting the Ghosts path
+   @param m	maze whose walls inhibit the Ghost's path
    @param targetX x-coordinate of the target of the Ghost
    @param targetY 	y-coordinate of the target of the Ghost
    */
-   public void moveToTarget(Bumper[] b, int targetX, int targetY)
+   private void moveClassic(Maze m, int targetX, int targetY)
    {
-      double[] dis = {-50, -50, -50, -50};
-      int[] xconsts = {-4, 0, 4, 0};
-      int[] yconsts = {0, -4, 0, 4};
+      Arrays.fill(dis, -50);
       for(int x = 1; x <= 4; x++) {
-         if(canGo(x, b)) {
-            int xconst = xconsts[x-1];
-            int yconst = yconsts[x-1];
-            double pacdis = distance(getX() + xconst, getY() + yconst, targetX, targetY);
-            double altPacDis = 0;
-            if(distance(getX() + xconst, getY() + yconst, -24, 348) < distance(getX() + xconst, getY() + yconst, 696, 348))
-               altPacDis = distance(getX() + xconst, getY() + yconst, -24, 348) + distance(696, 348, targetX, targetY);
-            else
-               altPacDis = distance(getX() + xconst, getY() + yconst, 696, 348) + distance(-24, 348, targetX, targetY);
+         if(canGo(x, m)) {
+            int xconst = XCONSTS[x-1];
+            int yconst = YCONSTS[x-1];
+            long pacdis = Geometry.distance(getX() + xconst, getY() + yconst, targetX, targetY);
+            long altPacDis = Geometry.tunnelDistance(getX() + xconst, getY() + yconst, targetX, targetY,
+               getLayout().getTunnelLeft(), getLayout().getTunnelRight(), getLayout().getTunnelY());
             if(altPacDis < pacdis && altPacDis != 0)
                dis[x-1] = altPacDis;
             else
@@ -115,28 +226,28 @@ public class Ghost extends PacMan
       int d = findMin(dis);
       if(d != -1)
          setDirection(d);
-      move(b);
+      move(m);
    }
    /**
-   Uses an ImageIcon to draw a blue frightened Ghost.
+   Uses a Sprite to draw a blue frightened Ghost.
    @param g	Graphics object used to draw image
    */
    public void drawBlue(Graphics g)
    {
-      g.drawImage(blue.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+      SpriteAtlas.get("blue").draw(g, getX() - 17, getY() - 16);
    }
    
    /**
-   Uses an ImageIcon to draw a white frightened Ghost.
+   Uses a Sprite to draw a white frightened Ghost.
    @param g	Graphics object used to draw image
    */
    public void drawWhite(Graphics g)
    {
-      g.drawImage(white.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+      SpriteAtlas.get("white").draw(g, getX() - 17, getY() - 16);
    }
    
    /**
-   Uses an ImageIcon to draw a dead Ghost, depending on its
+   Uses a Sprite to draw a dead Ghost, depending on its
    current direction.
    @param g	Graphics object used to draw image
    */
@@ -144,75 +255,69 @@ public class Ghost extends PacMan
    {
       switch(getDirection()){
          case 1:
-            g.drawImage(dead1.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("dead1").draw(g, getX() - 17, getY() - 16);
             break;
          case 2:
-            g.drawImage(dead2.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("dead2").draw(g, getX() - 17, getY() - 16);
             break;
          case 3:
-            g.drawImage(dead3.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("dead3").draw(g, getX() - 17, getY() - 16);
             break;
          case 4:
-            g.drawImage(dead4.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("dead4").draw(g, getX() - 17, getY() - 16);
             break;
       }
    }
    /**
    Moves Ghost towards a target of its pre-defined corner
    and circles around the closest barrier to it.
-   @param b	array of Bumper obstacles blocking the Ghosts path
+   @param m	maze whose walls block the Ghost's path
    */
-   public void moveScatter(Bumper[] b)
+   public void moveScatter(Maze m)
    {
-      moveToTarget(b, xCorner, yCorner);
+      moveToTarget(m, xCorner, yCorner);
    }
    
    /**
    Moves Ghost towards the a target of the coordinates just
    above the entrance to the Ghost house.
-   @param b	array of Bumper obstacles blocking the Ghosts path
+   @param m	maze whose walls block the Ghost's path
    */
-   public void moveHome(Bumper[] b)
+   public void moveHome(Maze m)
    {
-      moveToTarget(b, 336, 276);
+      moveToTarget(m, getLayout().getDoorX(), getLayout().getDoorY());
    }
    /**
-   Moves in a frightened state by determing the directions the 
-   Ghost can move to and randomly deciding a direction to go to
-   without turning around.
-   @param b	array of Bumper obstacles blocking the Ghosts path
+   Moves in a frightened state by randomly deciding a direction to go to
+   without turning around whenever the Ghost reaches a junction of the
+   maze, each of the junction's exits being equally likely. Along a
+   corridor the Ghost follows the corridor, and between tiles it keeps
+   going the way it is.
+   @param m	maze whose walls block the Ghost's path
+   @param random  source of the Ghost's choices, kept by the game so that
+   games played from the same seed play out the same
    */
-   public void moveFrightened(Bumper[] b)
+   public void moveFrightened(Maze m, SplittableRandom random)
    {
-      boolean[] bo = {canGo(1, b), canGo(2, b), canGo(3, b), canGo(4, b)};
-      switch(getDirection()){
-         case 1:
-            bo[2] = false;
-            break;
-         case 2:
-            bo[3] = false;
-            break;
-         case 3:
-            bo[0] = false;
-            break;
-         case 4:
-            bo[1] = false;
-            break; 
+      if(isCentered() && m.hasTile(getTileX(), getTileY())){
+         int exits = m.getExits(getTileX(), getTileY());
+         int d = 0;
+         if(!m.getJunctions().isJunction(getTileX(), getTileY()))
+            d = Junctions.onlyExit(exits, getDirection());
+         if(d == 0)
+            d = Junctions.pickExit(exits, getDirection(), random.nextDouble());
+         if(d != 0)
+            setDirection(d);
       }
-      int rand = (int)(Math.random() * bo.length);
-      while(!bo[rand])
-         rand = (int)(Math.random() * bo.length);
-      setDirection(rand + 1);
-      
-      move(b);
+      move(m);
    }
    /**
    Finds the minimum of an array of distances while ignoring negative
    distances.
-   @param arr		array of doubles to be sorted
+   @param arr		array of distances to be sorted
    @return  index of minimum of the array that is not negative
    */  
-   private int findMin(double[] arr)
+   private int findMin(long[] arr)
    {
       int min = 0;
       while(arr[min] == -50){
@@ -228,36 +333,20 @@ public class Ghost extends PacMan
    }
    
    /**
-   Detects whether the PacMan and Ghost object have collided, and calls 
-   appropriate methods to the Scoreboard based on each case. 
-   If the Ghost is frightened and has collided with PacMan, scoreGhost is 
-   called using the succession of ghosts, and a sound is played to signal it.
-   The Ghost's speed is increased.
-   If the Ghost is not frightened and has collided with PacMan, a life is
-   removed from the Scoreboard and both PacMan and the Ghost stop moving.
+   Detects whether the PacMan and Ghost object have collided, and changes
+   the state of each based on each case. Scoring is left to the caller.
+   If the Ghost is frightened and has collided with PacMan, the Ghost dies,
+   is moved back to the center of its tile, and its speed is increased.
+   If the Ghost is not frightened and has collided with PacMan, both PacMan
+   and the Ghost stop moving.
    @param p	PacMan tested for collision
-   @param s	Scoreboard called if collision occurs
-   @param num  succession of Ghost being scored
-   @param sound   whether the player would like sound or not
    @return 	whether PacMan and ghost have collided
    */
-   public boolean collideGhost(PacMan p, Scoreboard s, int num, boolean sound)
+   public boolean collideGhost(PacMan p)
    {
-      if(distance(getX(), getY(), p.getX(), p.getY()) < p.getRadius() + 17){
+      if(Geometry.circlesOverlap(getX(), getY(), 17, p.getX(), p.getY(), p.getRadius())){
          if(fright){
-            num++;
-            s.scoreGhost(num);
             dead = true;
-            
-            if(sound)
-               try{
-                  AudioInputStream deadAIS = AudioSystem.getAudioInputStream(new File("sounds\\eatghost.wav").getAbsoluteFile());
-                  Clip eatGhost = AudioSystem.getClip();
-                  eatGhost.open(deadAIS);
-                  eatGhost.start();
-               } 
-               catch(Exception e){}
-            
             switch(getDirection()){
                case 1:
                   while( (getX() + 12) % 24 != 0)
@@ -281,7 +370,6 @@ public class Ghost extends PacMan
             return true;
          }
          else{
-            s.hitGhost();
             p.setDirection(0);
             setDirection(0);
             return true;
@@ -290,20 +378,21 @@ public class Ghost extends PacMan
       return false;
    } 
    /**
-   Moves ghosts one frame in an up and down pattern between
-   specified y-values, if it still needs to be kept in the ghost house.
+   Moves ghosts one frame in an up and down pattern between the top and
+   bottom of the bounce in the ghost house of its layout, if it still needs
+   to be kept in the ghost house.
    */
    public void bounceInHouse()
    {
       if(getDirection() == 4){
          setY(getY() + 6);
-         if(getY() == 360){
+         if(getY() == getLayout().getHouseBottom()){
             setDirection(2);
          }
       }
       else if(getDirection() == 2){
          setY(getY() - 6);
-         if(getY() == 336){
+         if(getY() == getLayout().getHouseTop()){
             setDirection(4);
          }
       }
@@ -374,16 +463,4 @@ public class Ghost extends PacMan
       dead = false;
       fright = false;
    }
-   /**
-   Returns the distance between two points on a coordinate plane.
-   @param x1	x-coordinate of first point
-   @param y1	y-coordinate of first point
-   @param x2	x-coordinate of second point
-   @param y2	y-coordinate of second point
-   @return 	distance between the two points
-   */
-   private double distance(double x1, double y1, double x2, double y2)
-   {
-      return Math.sqrt(Math.pow(x1 - x2, 2) + Math.pow(y1 - y2, 2));
-   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+import java.util.Arrays;
+
+/**
+The GhostBench class times the steps of headless games, where the ghost
+update is the largest part of every PLAYING step. The engine's API has no way
+to step the ghosts alone, so whole games are timed, and only the calls that
+every version of GameEngine since it left the panel has had are used, which
+lets the same class be compiled against an older tree to compare the ghost
+update before and after. The games are played once by the bot to record what
+it asked for at every step, and then played back from the recording, so that
+the time the bot takes to decide is left out. There is no benchmark harness
+in the project, so the games are played back for a few warm-up rounds before
+being timed, and every score is summed into a total that is printed, so that
+no game can be left out by the compiler.
+@since 10-18-2026
+*/
+public class GhostBench
+{
+   /** number of games played in every round */
+   private static final int GAMES = 40;
+   /** most steps of a game played */
+   private static final int MAX_STEPS = 20000;
+   /** rounds of every game played before timing */
+   private static final int WARMUP = 5;
+   /** rounds of every game timed */
+   private static final int ROUNDS = 10;
+
+   /**
+   The main method records the games of the bot, seeded 0 on up, plays
+   them back, and prints how long a step took on average in the fastest
+   and the median round, both over all steps and over the PLAYING steps in
+   which the ghosts move.
+   @param args  not used.
+   @throws Exception  removes complication of scanning text files.
+   */
+   public static void main(String[] args) throws Exception
+   {
+      GameEngine layout = new GameEngine(0);
+      BatchDriver.BotPlayer bot = new BatchDriver.BotPlayer(layout.getMaze());
+      Input[][] inputs = new Input[GAMES][];
+      for(int g = 0; g < GAMES; g++)
+         inputs[g] = record(layout, bot, g);
+      long total = 0;
+      for(int round = 0; round < WARMUP; round++)
+         total += playAll(layout, inputs, null);
+      long[] steps = new long[2];
+      long[] nanos = new long[ROUNDS];
+      for(int round = 0; round < ROUNDS; round++){
+         long begin = System.nanoTime();
+         total += playAll(layout, inputs, round == 0 ? steps : null);
+         nanos[round] = System.nanoTime() - begin;
+      }
+      Arrays.sort(nanos);
+      System.out.printf("%d steps a round, %d of them PLAYING%n", steps[0], steps[1]);
+      System.out.printf("fastest round  %.1f ns a step, %.1f ns a PLAYING step%n",
+         (double) nanos[0] / steps[0], (double) nanos[0] / steps[1]);
+      System.out.printf("median round   %.1f ns a step, %.1f ns a PLAYING step%n",
+         (double) nanos[ROUNDS / 2] / steps[0], (double) nanos[ROUNDS / 2] / steps[1]);
+      System.out.println("checksum " + total);
+   }
+
+   /**
+   Plays a game with the bot and records what it asked for at every step.
+   @param layout  game whose maze and pellets the game is played on
+   @param bot  player of the game
+   @param seed   seed of the game
+   @return  what the bot asked for at every step, in order
+   */
+   private static Input[] record(GameEngine layout, BatchDriver.BotPlayer bot, long seed)
+   {
+      GameEngine game = new GameEngine(layout, seed);
+      Input[] in = new Input[MAX_STEPS];
+      int s = 0;
+      while(game.getPhase() != GameEngine.GAME_OVER && s < MAX_STEPS){
+         in[s] = bot.next(game);
+         game.step(in[s++]);
+      }
+      return Arrays.copyOf(in, s);
+   }
+
+   /**
+   Plays every game once from its recording.
+   @param layout  game whose maze and pellets the games are played on
+   @param inputs  what was asked for at every step of each game
+   @param steps   counts of all steps and of PLAYING steps, added to, or
+   null if they are not counted
+   @return  sum of the scores of the games
+   */
+   private static long playAll(GameEngine layout, Input[][] inputs, long[] steps)
+   {
+      long scores = 0;
+      for(int g = 0; g < GAMES; g++){
+         GameEngine game = new GameEngine(layout, g);
+         Input[] in = inputs[g];
+         int playing = 0;
+         for(int s = 0; s < in.length; s++){
+            if(game.getPhase() == GameEngine.PLAYING)
+               playing++;
+            game.step(in[s]);
+         }
+         if(steps != null){
+            steps[0] += in.length;
+            steps[1] += playing;
+         }
+         scores += game.getScore();
+      }
+      return scores;
+   }
+}
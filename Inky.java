@@ -1,5 +1,4 @@
 import java.awt.*;
-import javax.swing.ImageIcon;
 
 /**
 The Inky class extends Ghost to develop its own starting point, AI of tracking
@@ -9,28 +8,15 @@ PacMan, corner, and drawing methods.
 */
 public class Inky extends Ghost
 {
-   /** ImageIcon representation of Inky when moving left */
-   private ImageIcon inky1;
-   /** ImageIcon representation of Inky when moving up */
-   private ImageIcon inky2;
-   /** ImageIcon representation of Inky when moving right */
-   private ImageIcon inky3;
-   /** ImageIcon representation of Inky when moving down */
-   private ImageIcon inky4;
-   
    /**
-   Initializes an Inky object with a pre-determined set of coordinates
-   (starting point) at (288, 348), diameter of 24, a default speed,
-   corner coordinates of (636, 708), and instantiates ImageIcons for each
-   direction.
+   Initializes an Inky object at its starting point in the given layout,
+   in the ghost house left of Pinky, with a diameter of 24, a default speed,
+   and the third corner of the layout.
+   @param l   layout of the maze Inky starts in
    */
-   public Inky()
+   public Inky(MazeLayout l)
    {
-      super(288, 348, 24, 636, 708);
-      inky1 = new ImageIcon("imageicons\\inky1.png");
-      inky2 = new ImageIcon("imageicons\\inky2.png");
-      inky3 = new ImageIcon("imageicons\\inky3.png");
-      inky4 = new ImageIcon("imageicons\\inky4.png");
+      super(l, 2);
       setDirection(4);
    }
    
@@ -40,30 +26,29 @@ public class Inky extends Ghost
    */
    public void reset()
    {
-      setX(288);
-      setY(348);
+      super.reset();
       setDirection(4);
    }
    
    /**
    Draws Inky's blue ghost form at its coordinates using a specific
-   ImageIcon correlating to its current direction. 
-   @param g	Graphics object to draw ImageIcon
+   Sprite correlating to its current direction. 
+   @param g	Graphics object to draw Sprite
    */
    public void drawMe(Graphics g)
    {
       switch(getDirection()){
          case 1:
-            g.drawImage(inky1.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("inky1").draw(g, getX() - 17, getY() - 16);
             break;
          case 2:
-            g.drawImage(inky2.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("inky2").draw(g, getX() - 17, getY() - 16);
             break;
          case 3:
-            g.drawImage(inky3.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("inky3").draw(g, getX() - 17, getY() - 16);
             break;
          case 4:
-            g.drawImage(inky4.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("inky4").draw(g, getX() - 17, getY() - 16);
             break;
       }
    
@@ -74,10 +59,10 @@ public class Inky extends Ghost
    and two spaces ahead of PacMan using two spaces ahead of PacMan's location
    as a reflection point.
    @param p	PacMan object that is being chased
-   @param b	array of Bumper objects that prohibit PacMan's movement.
+   @param m	maze whose walls prohibit Inky's movement
    @param blinky Blinky object whose location is being reflected
    */
-   public void moveInky(PacMan p, Blinky blinky, Bumper[] b)
+   public void moveInky(PacMan p, Ghost blinky, Maze m)
    {
       int mirrorX = 0;
       int mirrorY = 0;
@@ -102,6 +87,17 @@ public class Inky extends Ghost
       int xTarget = mirrorX + (mirrorX - blinky.getX());
       int yTarget = mirrorY + (mirrorY - blinky.getY());   
         
-      super.moveToTarget(b, xTarget, yTarget);
+      super.moveToTarget(m, xTarget, yTarget);
+   }
+   
+   /**
+   Moves Inky one step while it chases PacMan, as in moveInky.
+   @param p	PacMan object that is being chased
+   @param blinky Ghost whose location is being reflected
+   @param m	maze whose walls prohibit Inky's movement
+   */
+   public void moveChase(PacMan p, Ghost blinky, Maze m)
+   {
+      moveInky(p, blinky, m);
    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+/**
+The Input class holds what the player asks of PacMan during one step of a
+GameEngine: the direction they would like PacMan to turn, if any, with 1
+correlating to left, 2 to up, 3 to right, and 4 to down. An Input never
+changes once made, so the few there are are shared.
+@since 10-18-2026
+*/
+public final class Input
+{
+   /** Input asking nothing of PacMan */
+   public static final Input NONE = new Input(0);
+   /** Inputs asking PacMan to turn each way, indexed by direction */
+   private static final Input[] TURNS = {NONE, new Input(1), new Input(2), new Input(3), new Input(4)};
+
+   /** direction the player would like PacMan to turn, or 0 for none */
+   private final int direction;
+
+   /**
+   Initializes an Input asking PacMan to turn the given way.
+   @param d   direction to turn, or 0 for none
+   */
+   private Input(int d)
+   {
+      direction = d;
+   }
+
+   /**
+   Returns the Input asking PacMan to turn the given way.
+   @param d   direction to turn, from 1 to 4, or 0 for none
+   @return  Input asking for that direction
+   @throws IllegalArgumentException if the direction is not from 0 to 4
+   */
+   public static Input turn(int d)
+   {
+      if(d < 0 || d >= TURNS.length)
+         throw new IllegalArgumentException("no direction " + d);
+      return TURNS[d];
+   }
+
+   /**
+   Returns the direction the player would like PacMan to turn.
+   @return  direction from 1 to 4, or 0 for none
+   */
+   public int getDirection()
+   {
+      return direction;
+   }
+}
@@ -0,0 +1,150 @@
+import java.awt.EventQueue;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+The InputCheck class checks the InputQueue the way the panel uses it: key
+presses offered on the event dispatch thread, and taken by the thread of the
+GameLoop in active mode, or by the event dispatch thread itself when the game
+is driven by a Swing Timer. Every input accepted must be taken exactly once,
+in the order it was offered.
+@since 10-18-2026
+*/
+public class InputCheck
+{
+   /** number of inputs offered in each check */
+   private static final int INPUTS = 500000;
+   /** capacity asked of the queue checked across threads, as the panel asks */
+   private static final int CAPACITY = 16;
+
+   /**
+   The main method checks the capacity of the queue, then hands inputs from
+   the event dispatch thread to a thread of its own and to the event
+   dispatch thread itself, and prints how many were accepted, dropped, and
+   taken. It exits with a status of 1 if any check fails.
+   @param args  not used.
+   @throws Exception  if the checks are interrupted.
+   */
+   public static void main(String[] args) throws Exception
+   {
+      System.setProperty("java.awt.headless", "true");
+      boolean ok = checkCapacity();
+      ok = checkAcrossThreads() && ok;
+      ok = checkOnEventThread() && ok;
+      System.out.println(ok ? "OK" : "FAIL");
+      if(!ok)
+         System.exit(1);
+   }
+
+   /**
+   Checks that a queue asked for 5 inputs holds 8, the next power of two,
+   refuses a ninth, and gives them back in order before giving Input.NONE.
+   @return  whether the check passed
+   */
+   private static boolean checkCapacity()
+   {
+      InputQueue queue = new InputQueue(5);
+      boolean ok = true;
+      for(int i = 0; i < 8; i++)
+         ok = queue.offer(Input.turn(i % 4 + 1)) && ok;
+      ok = !queue.offer(Input.turn(1)) && queue.size() == 8 && ok;
+      for(int i = 0; i < 8; i++)
+         ok = queue.poll().getDirection() == i % 4 + 1 && ok;
+      ok = queue.poll() == Input.NONE && queue.size() == 0 && ok;
+      System.out.println("capacity 5 holds 8 in order: " + ok);
+      return ok;
+   }
+
+   /**
+   Offers inputs on the event dispatch thread while a thread of its own takes
+   them, as the thread of the GameLoop does in active mode, parking while the
+   queue is empty as the loop parks between steps. Each event offers inputs
+   until the queue is full and then posts another event to offer the rest,
+   so that every input is handed across.
+   @return  whether every input was taken once, in order
+   @throws InterruptedException  if interrupted while waiting for the threads
+   */
+   private static boolean checkAcrossThreads() throws InterruptedException
+   {
+      final InputQueue queue = new InputQueue(CAPACITY);
+      final boolean[] onEventThread = {true};
+      final int[] events = new int[1];
+      final CountDownLatch done = new CountDownLatch(1);
+      EventQueue.invokeLater(new Runnable(){
+         private int next;
+
+         public void run()
+         {
+            onEventThread[0] = onEventThread[0] && EventQueue.isDispatchThread();
+            events[0]++;
+            while(next < INPUTS && queue.offer(Input.turn(next % 4 + 1)))
+               next++;
+            if(next < INPUTS)
+               EventQueue.invokeLater(this);
+            else
+               done.countDown();
+         }
+      });
+
+      boolean ok = !EventQueue.isDispatchThread();
+      int count = 0;
+      boolean finished = false;
+      while(true){
+         Input in = queue.poll();
+         if(in != Input.NONE){
+            ok = in.getDirection() == count % 4 + 1 && ok;
+            count++;
+         }
+         else if(finished)
+            break;
+         else{
+            finished = done.getCount() == 0;
+            LockSupport.parkNanos(10000);
+         }
+      }
+      ok = ok && onEventThread[0] && count == INPUTS;
+      System.out.printf("across threads: %d offered over %d events, %d taken in order: %b%n",
+         INPUTS, events[0], count, ok);
+      return ok;
+   }
+
+   /**
+   Offers and takes inputs on the event dispatch thread alone, as the panel
+   does when the game is driven by a Swing Timer, taking one input for every
+   three offered so that the queue fills and drops inputs.
+   @return  whether every input accepted was taken once, in order
+   @throws Exception  if interrupted while waiting for the event dispatch
+   thread
+   */
+   private static boolean checkOnEventThread() throws Exception
+   {
+      final boolean[] ok = new boolean[1];
+      EventQueue.invokeAndWait(new Runnable(){
+         public void run()
+         {
+            InputQueue queue = new InputQueue(CAPACITY);
+            int[] offered = new int[INPUTS];
+            int[] taken = new int[INPUTS];
+            int accepted = 0;
+            int count = 0;
+            for(int i = 0; i < INPUTS; i++){
+               int d = i % 4 + 1;
+               if(queue.offer(Input.turn(d)))
+                  offered[accepted++] = d;
+               if(i % 3 == 0){
+                  Input in = queue.poll();
+                  if(in != Input.NONE)
+                     taken[count++] = in.getDirection();
+               }
+            }
+            for(Input in = queue.poll(); in != Input.NONE; in = queue.poll())
+               taken[count++] = in.getDirection();
+            ok[0] = count == accepted && Arrays.equals(Arrays.copyOf(taken, count), Arrays.copyOf(offered, accepted));
+            System.out.printf("on the event dispatch thread: %d offered, %d accepted, %d taken in order: %b%n",
+               INPUTS, accepted, count, ok[0]);
+         }
+      });
+      return ok[0];
+   }
+}
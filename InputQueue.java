@@ -0,0 +1,78 @@
+/**
+The InputQueue class hands the inputs of the player from the thread receiving
+key presses to the thread stepping the game, one input for each step, in the
+order they were given. It is a ring buffer for a single producer and a single
+consumer: each side only writes its own index, publishing it through a
+volatile write once the slot it covers is filled or emptied, so neither side
+ever takes a lock or waits for the other. Inputs given while the queue is
+full are dropped.
+@since 10-18-2026
+*/
+public class InputQueue
+{
+   /** slots of the ring, a power of two in number */
+   private final Input[] ring;
+   /** mask turning a count of inputs into the index of a slot */
+   private final int mask;
+   /** number of inputs taken so far, written only by the consumer */
+   private volatile long head;
+   /** number of inputs given so far, written only by the producer */
+   private volatile long tail;
+
+   /**
+   Initializes an empty InputQueue holding up to the given number of inputs,
+   rounded up to a power of two.
+   @param capacity  number of inputs held at most, at least 1
+   @throws IllegalArgumentException if the capacity is less than 1
+   */
+   public InputQueue(int capacity)
+   {
+      if(capacity < 1)
+         throw new IllegalArgumentException("capacity " + capacity);
+      int size = Integer.highestOneBit(capacity);
+      if(size < capacity)
+         size <<= 1;
+      ring = new Input[size];
+      mask = size - 1;
+   }
+
+   /**
+   Adds an input to the back of the queue. Called only by the producer.
+   @param in  input to add
+   @return  whether the input was added, the queue not being full
+   */
+   public boolean offer(Input in)
+   {
+      long t = tail;
+      if(t - head == ring.length)
+         return false;
+      ring[(int) t & mask] = in;
+      tail = t + 1;
+      return true;
+   }
+
+   /**
+   Takes the input at the front of the queue. Called only by the consumer.
+   @return  input taken, or Input.NONE if the queue is empty
+   */
+   public Input poll()
+   {
+      long h = head;
+      if(h == tail)
+         return Input.NONE;
+      int slot = (int) h & mask;
+      Input in = ring[slot];
+      ring[slot] = null;
+      head = h + 1;
+      return in;
+   }
+
+   /**
+   Returns the number of inputs waiting in the queue.
+   @return  number of inputs waiting
+   */
+   public int size()
+   {
+      return (int) (tail - head);
+   }
+}
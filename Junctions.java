@@ -0,0 +1,106 @@
+import java.util.BitSet;
+
+/**
+The Junctions class marks the junctions of a maze, the tiles where a PacMan
+or Ghost has a choice of where to go next. Along the corridors between them
+there is only one way to go other than turning around, so an actor only has
+to make a decision when it arrives at a junction, and can otherwise follow
+onlyExit. The corridors themselves are not kept: actors still move a few
+pixels each step and look up the exits of the tile they are on.
+@since 10-18-2026
+*/
+public class Junctions
+{
+   /** number of columns of tiles in the maze */
+   private int cols;
+   /** one bit for each tile of the maze, packed row by row, set if the tile
+   is a junction */
+   private BitSet junctions;
+   
+   /**
+   Initializes the Junctions of the given maze, finding every junction.
+   @param m maze whose tiles are compiled
+   */
+   public Junctions(Maze m)
+   {
+      cols = m.getTileWidth();
+      int tiles = cols * m.getTileHeight();
+      junctions = new BitSet(tiles);
+      for(int t = 0; t < tiles; t++){
+         int exits = m.getExits(t % cols, t / cols);
+         if(exits != 0 && !isCorridor(exits))
+            junctions.set(t);
+      }
+   }
+   
+   /**
+   Returns whether the given tile is a junction, where a PacMan or Ghost has
+   a choice of more than one way to go on other than turning around.
+   @param col column of the tile
+   @param row row of the tile
+   @return  whether the tile is a junction
+   */
+   public boolean isJunction(int col, int row)
+   {
+      return junctions.get(row * cols + col);
+   }
+   
+   /**
+   Picks one of the ways to leave the given junction other than turning
+   around, each equally likely.
+   @param exits  mask of the exits of the junction; bit 0 for left, bit 1
+   for up, bit 2 for right, and bit 3 for down
+   @param d   direction currently being moved in, or 0 if none
+   @param random number from 0 (inclusive) to 1 (exclusive) deciding which
+   exit is picked
+   @return  direction picked, or 0 if there is no way on
+   */
+   public static int pickExit(int exits, int d, double random)
+   {
+      if(d != 0)
+         exits &= ~(1 << (reverse(d) - 1));
+      int count = Integer.bitCount(exits);
+      if(count == 0)
+         return 0;
+      for(int k = (int) (random * count); k > 0; k--)
+         exits &= exits - 1;
+      return Integer.numberOfTrailingZeros(exits) + 1;
+   }
+   
+   /**
+   Returns the only way to leave a tile with the given exits other than
+   turning around, if there is exactly one.
+   @param exits  mask of the exits of the tile
+   @param d   direction currently being moved in, or 0 if none
+   @return  the only direction on, or 0 if there is a choice or none
+   */
+   public static int onlyExit(int exits, int d)
+   {
+      if(d != 0)
+         exits &= ~(1 << (reverse(d) - 1));
+      if(Integer.bitCount(exits) != 1)
+         return 0;
+      return Integer.numberOfTrailingZeros(exits) + 1;
+   }
+   
+   /**
+   Returns whether a tile with the given exits is part of a corridor, with
+   exactly two ways to leave it.
+   @param exits  mask of the exits of the tile
+   @return  whether the tile is in a corridor
+   */
+   private static boolean isCorridor(int exits)
+   {
+      return Integer.bitCount(exits) == 2;
+   }
+   
+   /**
+   Returns the direction opposite to the given one.
+   @param d   direction; 1 for left, 2 for up, 3 for right, and 4 for down
+   @return  opposite direction
+   */
+   private static int reverse(int d)
+   {
+      return (d + 1) % 4 + 1;
+   }
+}
\ No newline at end of file
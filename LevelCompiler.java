@@ -0,0 +1,108 @@
+import java.io.File;
+import java.util.Arrays;
+import java.util.Scanner;
+
+/**
+The LevelCompiler class compiles the text files of a maze, as defined by a
+line of mazes.txt, into the level file read when the game starts. The walls
+are read from the first text file and, in tiles, from the second, and the
+Maze built from them; the pac-dots are read from the third and joined by the
+power pellets of the definition; and the boxes drawn over the walls are read
+from the fourth, which holds the rounded boxes, then the square ones, then
+the black ones. The counts of each are written to the level file, so nothing
+reading it needs to know them, and so is the MazeLayout of the definition.
+The MazeRegistry compiles a maze by itself whenever any of its text files
+changes.
+@since 10-18-2026
+*/
+public class LevelCompiler
+{
+   /**
+   The main method compiles every maze listed in mazes.txt into its level
+   file in the levels folder, then reads each file back to check it,
+   printing its size and how long each took.
+   @param args  not used
+   @throws Exception  removes complication of scanning text files.
+   */
+   public static void main(String[] args) throws Exception
+   {
+      for(MazeRegistry.Definition d : MazeRegistry.readDefinitions(MazeRegistry.LIST)){
+         long begin = System.nanoTime();
+         LevelFile level = compile(d);
+         File file = MazeRegistry.save(d, level);
+         long compiled = System.nanoTime();
+         new LevelFile(file.getPath());
+         long read = System.nanoTime();
+         System.out.printf("compiled %s into %s, %d bytes, in %.1f ms; read back in %.1f ms%n",
+            d.id, file, file.length(), (compiled - begin) / 1e6, (read - compiled) / 1e6);
+      }
+   }
+
+   /**
+   Compiles a maze from its text files.
+   @param d   definition of the maze
+   @return  LevelFile of the maze
+   @throws IllegalArgumentException if the pac-dots file holds an odd number
+   of coordinates, the boxes file holds fewer boxes than the definition
+   says or a filled box missing some of its four numbers, or the layout
+   leaves more walls undrawn than there are
+   @throws Exception  removes complication of scanning text files.
+   */
+   public static LevelFile compile(MazeRegistry.Definition d) throws Exception
+   {
+      Maze maze = new Maze(d.bumpers, d.tiles);
+      if(d.layout.getHiddenWalls() > maze.getBumpers().length)
+         throw new IllegalArgumentException("maze " + d.id + " leaves " + d.layout.getHiddenWalls()
+            + " walls undrawn but has " + maze.getBumpers().length);
+
+      int[] dots = readInts(d.pellets);
+      if(dots.length % 2 != 0)
+         throw new IllegalArgumentException(d.pellets + " holds a pac-dot without a y-coordinate for maze " + d.id);
+      int count = dots.length / 2 + d.power.length / 2;
+      int[] x = new int[count];
+      int[] y = new int[count];
+      int[] diameter = new int[count];
+      for(int k = 0; k < dots.length / 2; k++){
+         x[k] = dots[2 * k];
+         y[k] = dots[2 * k + 1];
+         diameter[k] = PelletIndex.DOT;
+      }
+      for(int k = 0; k < d.power.length / 2; k++){
+         x[dots.length / 2 + k] = d.power[2 * k];
+         y[dots.length / 2 + k] = d.power[2 * k + 1];
+         diameter[dots.length / 2 + k] = PelletIndex.POWER;
+      }
+
+      int[] boxes = readInts(d.boxes);
+      int filledAt = d.rounded * 6 + d.outlined * 4;
+      if(boxes.length < filledAt)
+         throw new IllegalArgumentException(d.boxes + " holds too few boxes for maze " + d.id);
+      if((boxes.length - filledAt) % 4 != 0)
+         throw new IllegalArgumentException(d.boxes + " holds " + (boxes.length - filledAt)
+            + " numbers of filled boxes for maze " + d.id + ", not a multiple of 4");
+      int[] rounded = Arrays.copyOfRange(boxes, 0, d.rounded * 6);
+      int[] outlined = Arrays.copyOfRange(boxes, d.rounded * 6, filledAt);
+      int[] filled = Arrays.copyOfRange(boxes, filledAt, boxes.length);
+      return new LevelFile(d.id, maze, x, y, diameter, rounded, outlined, filled, d.layout);
+   }
+
+   /**
+   Reads every int of a text file.
+   @param name   name of the file
+   @return  ints of the file, in order
+   @throws Exception  removes complication of scanning text files.
+   */
+   private static int[] readInts(String name) throws Exception
+   {
+      int[] a = new int[256];
+      int n = 0;
+      Scanner in = new Scanner(new File(name));
+      while(in.hasNextInt()){
+         if(n == a.length)
+            a = Arrays.copyOf(a, n * 2);
+         a[n++] = in.nextInt();
+      }
+      in.close();
+      return Arrays.copyOf(a, n);
+   }
+}
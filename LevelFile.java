@@ -0,0 +1,257 @@
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+The LevelFile class holds everything about a maze that never changes during a
+game: the Maze itself, with its walls, occupancy grid, exits of each tile,
+and navigation table of path lengths and directions; the coordinates and
+diameters of its pellets; the boxes drawn over the walls when the maze is
+rendered; and its MazeLayout. A LevelFile is compiled from the text files of
+the maze by the LevelCompiler and written to a level file kept by the
+MazeRegistry, which is memory-mapped and copied out in bulk when the game
+starts, with nothing to parse or search. A file begins with MAGIC, the
+VERSION of the format, and a CRC32 checksum of everything after it, followed
+by the id of the maze, the section of the Maze, the pellets, the boxes, and
+the layout.
+@since 10-18-2026
+*/
+public class LevelFile
+{
+   /** first four bytes of every level file, "PMLV" */
+   public static final int MAGIC = 0x504D4C56;
+   /** version of the format written */
+   public static final int VERSION = 4;
+   /** extension of level files */
+   public static final String EXTENSION = ".lvl";
+
+   /** id of the maze */
+   private String id;
+   /** walls, grid, exits, and navigation table of the maze */
+   private Maze maze;
+   /** x-coordinates of the pellets, pac-dots followed by power pellets */
+   private int[] pelletX;
+   /** y-coordinates of the pellets */
+   private int[] pelletY;
+   /** diameters of the pellets */
+   private int[] diameter;
+   /** rounded boxes outlined in the color of the walls, six numbers each:
+   x, y, width, height, and the width and height of the corners */
+   private int[] rounded;
+   /** square boxes outlined in the color of the walls, four numbers each:
+   x, y, width, and height */
+   private int[] outlined;
+   /** boxes filled in black, four numbers each, as outlined */
+   private int[] filled;
+   /** where PacMan, the ghosts, and the fruit start, the ghost house, and the
+   tunnel */
+   private MazeLayout layout;
+   /** pellets of the maze, none of them eaten, which every game copies */
+   private PelletIndex pellets;
+
+   /**
+   Initializes a LevelFile holding the given parts, as compiled by the
+   LevelCompiler.
+   @param id  id of the maze
+   @param m   maze
+   @param x   x-coordinates of the pellets
+   @param y   y-coordinates of the pellets
+   @param d   diameters of the pellets
+   @param r   rounded boxes, six numbers each
+   @param o   outlined boxes, four numbers each
+   @param f   filled boxes, four numbers each
+   @param l   layout of the maze
+   */
+   LevelFile(String id, Maze m, int[] x, int[] y, int[] d, int[] r, int[] o, int[] f, MazeLayout l)
+   {
+      this.id = id;
+      maze = m;
+      pelletX = x;
+      pelletY = y;
+      diameter = d;
+      rounded = r;
+      outlined = o;
+      filled = f;
+      layout = l;
+      index();
+   }
+
+   /**
+   Reads a LevelFile from the level file of the given name, mapping it into
+   memory and copying each part out in bulk.
+   @param name   name of the file
+   @throws IOException if the file cannot be read, is not a level of the
+   version known, does not match its checksum, or holds a bad layout.
+   */
+   public LevelFile(String name) throws IOException
+   {
+      try(FileChannel channel = FileChannel.open(Paths.get(name), StandardOpenOption.READ)){
+         ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+         if(in.remaining() < 9 || in.getInt() != MAGIC)
+            throw new IOException(name + " is not a level");
+         int version = in.get() & 0xFF;
+         if(version != VERSION)
+            throw new IOException(name + " is a level of version " + version);
+         int checksum = in.getInt();
+         CRC32 crc = new CRC32();
+         crc.update(in.duplicate());
+         if((int) crc.getValue() != checksum)
+            throw new IOException(name + " does not match its checksum");
+
+         byte[] utf = new byte[in.getShort() & 0xFFFF];
+         in.get(utf);
+         id = new String(utf, StandardCharsets.UTF_8);
+         maze = new Maze(in);
+         pelletX = new int[in.getInt()];
+         pelletY = new int[pelletX.length];
+         diameter = new int[pelletX.length];
+         NavTable.getInts(in, pelletX);
+         NavTable.getInts(in, pelletY);
+         NavTable.getInts(in, diameter);
+         rounded = new int[in.getInt() * 6];
+         NavTable.getInts(in, rounded);
+         outlined = new int[in.getInt() * 4];
+         NavTable.getInts(in, outlined);
+         filled = new int[in.getInt() * 4];
+         NavTable.getInts(in, filled);
+         layout = new MazeLayout(in);
+         index();
+      }
+      catch(BufferUnderflowException e){
+         throw new IOException(name + " ends early");
+      }
+      catch(IllegalArgumentException e){
+         throw new IOException(name + " is damaged: " + e.getMessage());
+      }
+   }
+
+   /**
+   Writes the LevelFile to a level file of the given name, read back by
+   LevelFile(String).
+   @param name   name of the file
+   @return  number of bytes written
+   @throws IOException if the file cannot be written
+   */
+   public int write(String name) throws IOException
+   {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream payload = new DataOutputStream(bytes);
+      payload.writeUTF(id);
+      maze.write(payload);
+      payload.writeInt(pelletX.length);
+      writeInts(payload, pelletX);
+      writeInts(payload, pelletY);
+      writeInts(payload, diameter);
+      payload.writeInt(rounded.length / 6);
+      writeInts(payload, rounded);
+      payload.writeInt(outlined.length / 4);
+      writeInts(payload, outlined);
+      payload.writeInt(filled.length / 4);
+      writeInts(payload, filled);
+      layout.write(payload);
+      payload.flush();
+
+      CRC32 crc = new CRC32();
+      crc.update(bytes.toByteArray());
+      try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(name)))){
+         out.writeInt(MAGIC);
+         out.writeByte(VERSION);
+         out.writeInt((int) crc.getValue());
+         bytes.writeTo(out);
+         return out.size();
+      }
+   }
+
+   /**
+   Returns the id of the maze.
+   @return  id of the maze
+   */
+   public String getId()
+   {
+      return id;
+   }
+
+   /**
+   Returns the maze, which is shared by every game played on the LevelFile.
+   @return  the maze
+   */
+   public Maze getMaze()
+   {
+      return maze;
+   }
+
+   /**
+   Makes a PelletIndex holding the pellets of the LevelFile, none of them
+   eaten, copied from the one made when the LevelFile was.
+   @return  index of the pellets
+   */
+   public PelletIndex makePellets()
+   {
+      return new PelletIndex(pellets);
+   }
+
+   /**
+   Returns the rounded boxes outlined in the color of the walls, six numbers
+   each: x, y, width, height, and the width and height of the corners.
+   @return  rounded boxes, which should not be changed
+   */
+   public int[] getRoundedBoxes()
+   {
+      return rounded;
+   }
+
+   /**
+   Returns the square boxes outlined in the color of the walls, four numbers
+   each: x, y, width, and height.
+   @return  outlined boxes, which should not be changed
+   */
+   public int[] getOutlinedBoxes()
+   {
+      return outlined;
+   }
+
+   /**
+   Returns the boxes filled in black over the walls, four numbers each: x,
+   y, width, and height.
+   @return  filled boxes, which should not be changed
+   */
+   public int[] getFilledBoxes()
+   {
+      return filled;
+   }
+
+   /**
+   Returns where PacMan, the ghosts, and the fruit start in the maze, its
+   ghost house, and its tunnel.
+   @return  layout of the maze
+   */
+   public MazeLayout getLayout()
+   {
+      return layout;
+   }
+
+   /**
+   Indexes the pellets, once for every game.
+   */
+   private void index()
+   {
+      pellets = new PelletIndex(pelletX, pelletY, diameter);
+   }
+
+   /**
+   Writes every number of an array as an int.
+   @param out stream written to
+   @param a   numbers written
+   @throws IOException if the stream cannot be written to
+   */
+   private static void writeInts(DataOutputStream out, int[] a) throws IOException
+   {
+      for(int i = 0; i < a.length; i++)
+         out.writeInt(a[i]);
+   }
+}
@@ -1,11 +1,12 @@
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.*;
 import java.awt.image.*;
 
 /**
-*The LifePanel class displays either a fruit or a PacMan to signify a life left
-or a fruit collected within the Scoreboard.
+*The LifePanel class displays the strip along the bottom of the Scoreboard, a
+row of slots each showing either a PacMan to signify a life left, a fruit
+collected, or nothing. The strip is only drawn when a slot changes, and then
+only that slot is drawn again and repainted.
 *@author Aidan Harbison
 *@since 5-29-2018
 */
@@ -15,36 +16,35 @@ public class LifePanel extends JPanel
    private BufferedImage myImage;
    /** Graphics object which adjusts what is drawn on the panel. */
    private Graphics g;
-   /** Represents whether the LifePanel displays a life or not. */
-   private boolean isOn;
-   /** Represents whether the LifePanel displays a fruit or not. */
-   private boolean hasFruit;
-   /** width and height of panel in pixels */
+   /** Represents whether each slot displays a life or not. */
+   private boolean[] isOn;
+   /** type of fruit being displayed in each slot, or 0 if there is none */
+   private int[] fruitType;
+   /** width and height of each slot in pixels */
    private static final int FRAME = 36;
-   /** type of fruit being displayed */
-   private int fruitType;
-   
+
    /**
-   Initializes a LifePanel object, specifying whether the PacMan life should be
-   displayed or not, and starts a timer that continuously draws a PacMan life or 
-   lack thereof.
-   @param b whether a PacMan life is displayed on panel
+   Initializes a LifePanel object with the given number of slots, the leftmost
+   of which display a PacMan life, and draws every slot once.
+   @param slots  number of slots along the strip
+   @param lives  number of slots, from the left, that display a life
    */
-   public LifePanel(boolean b)
+   public LifePanel(int slots, int lives)
    {
-      myImage =  new BufferedImage(FRAME, FRAME, BufferedImage.TYPE_INT_RGB);
+      myImage =  new BufferedImage(slots * FRAME, FRAME, BufferedImage.TYPE_INT_RGB);
       g = myImage.getGraphics();
-      
-      isOn = b;
+
+      isOn = new boolean[slots];
+      fruitType = new int[slots];
+      for(int x = 0; x < lives; x++)
+         isOn[x] = true;
+      for(int x = 0; x < slots; x++)
+         drawSlot(x);
       setBackground(Color.BLACK);
-      setPreferredSize(new Dimension(36, 36));
-      
-      Timer t = new Timer(0, new Listener());
-      t.start();      
    }
-   
+
    /**
-   Displays board at current state when the pre-defined repaint method is 
+   Displays board at current state when the pre-defined repaint method is
    called.
    @param g	Graphics object to draw board with
    */
@@ -52,100 +52,110 @@ public class LifePanel extends JPanel
    {
       g.drawImage(myImage, 0, 0, getWidth(), getHeight(), null);
    }
-   
+
+   /**
+   Returns the number of slots along the strip.
+   @return  number of slots
+   */
+   public int getSlots()
+   {
+      return isOn.length;
+   }
+
    /**
-   Returns whether the board is currently displaying a PacMan life or not.
-   @return isOn; whether the board displays PacMan or not
+   Returns whether the given slot is currently displaying a PacMan life or not.
+   @param slot   slot of the strip, counted from the left
+   @return whether the slot displays PacMan or not
    */
-   public boolean isOn()
+   public boolean isOn(int slot)
    {
-      return isOn;
+      return isOn[slot];
    }
-   
+
    /**
-   Returns whether the board is currently displaying a Fruit or not.
-   @return  hasFruit; whether the level has a fruit or not.
+   Returns whether the given slot is currently displaying a Fruit or not.
+   @param slot   slot of the strip, counted from the left
+   @return  whether the slot displays a fruit or not.
    */
-   public boolean hasFruit()
+   public boolean hasFruit(int slot)
    {
-      return hasFruit;
+      return fruitType[slot] != 0;
    }
-   
+
    /**
-   Sets whether the panel is displaying a PacMan to signify one life or not.
-   Automatically set as not having fruit.
+   Sets whether the given slot is displaying a PacMan to signify one life or
+   not. Automatically set as not having fruit. The slot is only drawn again if
+   it has changed.
+   @param slot   slot of the strip, counted from the left
    @param b	determines whether PacMan is being displayed or not
    */
-   public void setLife(boolean b)
+   public void setLife(int slot, boolean b)
    {
-      isOn = b;
-      hasFruit = false;
+      if(isOn[slot] == b && fruitType[slot] == 0)
+         return;
+      isOn[slot] = b;
+      fruitType[slot] = 0;
+      drawSlot(slot);
    }
-   
+
    /**
-   Sets what the Fruit through instantiation of new Fruit object that
-   the panel is displaying to signify the collection of one.
-   Automatically set as not displaying a life.
-   @param num type of Fruit that panel is displaying
+   Sets the type of Fruit the given slot is displaying to signify the
+   collection of one. Automatically set as not displaying a life. The slot is
+   only drawn again if it has changed.
+   @param slot   slot of the strip, counted from the left
+   @param num type of Fruit that slot is displaying
    */
-   public void setFruit(int num)
+   public void setFruit(int slot, int num)
    {
-      hasFruit = true;
-      isOn = false;
-      fruitType = num;
+      if(fruitType[slot] == num && !isOn[slot])
+         return;
+      isOn[slot] = false;
+      fruitType[slot] = num;
+      drawSlot(slot);
    }
-   
+
    /**
-   The Listener class implements ActionListener to allow a continuous
-   drawing of the panel to enable up-to-date feedback on interactions
-   in PacManPanel through the appearance of loss of lives or the appearance
-   of new fruits to signify new levels.
+   Draws the given slot into the image of the strip and repaints it. If the
+   slot is displaying PacMan, draws a PacMan life; if the slot is displaying a
+   Fruit, draws the Fruit; otherwise the slot is left black.
+   @param slot   slot of the strip, counted from the left
    */
-   private class Listener implements ActionListener
+   private void drawSlot(int slot)
    {
-      /**
-      If the board is currently displaying PacMan, draws a PacMan life;
-      if the board is currently displaying a Fruit, draws the Fruit;
-      otherwise draws a black panel.
-      @param e event that determines whether method is called; required 
-      parameter for implementation of ActionListener interface
-      */
-      public void actionPerformed(ActionEvent e)
-      {
-         if(isOn){
-            g.setColor(Color.YELLOW);
-            g.fillOval(4, 4, 32, 32);
-            g.setColor(Color.BLACK);
-            int[] xPoints = new int[] {16, 36, 36};
-            int[] yPoints = new int[] {20, 8, 32};
-            g.fillPolygon(xPoints, yPoints, 3);
-         }
-         
-         else if(hasFruit){
-            switch(fruitType){
-               case 1:
-                  g.drawImage( new ImageIcon("imageicons\\cherry.png").getImage(), -4, -7, 52, 42, null);
-                  break;
-               case 2:
-                  g.drawImage( new ImageIcon("imageicons\\strawberry.png").getImage(), 4, 3, 27, 29, null);
-                  break;
-               case 3:
-                  g.drawImage( new ImageIcon("imageicons\\orange.png").getImage(), 1, 0, 36, 34, null);
-                  break;
-               case 4:
-                  g.drawImage( new ImageIcon("imageicons\\apple.png").getImage(), -2, 0, 37, 35, null);
-                  break;
-               case 5:
-                  g.drawImage( new ImageIcon("imageicons\\melon.png").getImage(), -2, -4, 37, 45, null);
-                  break;
-            }
-         }
-         else{
-            g.setColor(Color.BLACK);
-            g.fillRect(0, 0, FRAME, FRAME);
-         }
-         repaint();
-         updateUI();
+      Graphics s = g.create(slot * FRAME, 0, FRAME, FRAME);
+      s.setColor(Color.BLACK);
+      s.fillRect(0, 0, FRAME, FRAME);
+      if(isOn[slot]){
+         s.setColor(Color.YELLOW);
+         s.fillOval(4, 4, 32, 32);
+         s.setColor(Color.BLACK);
+         int[] xPoints = new int[] {16, 36, 36};
+         int[] yPoints = new int[] {20, 8, 32};
+         s.fillPolygon(xPoints, yPoints, 3);
       }
+      else
+         switch(fruitType[slot]){
+            case 1:
+               SpriteAtlas.get("cherry").draw(s, -4, -7);
+               break;
+            case 2:
+               SpriteAtlas.get("strawberry").draw(s, 4, 3);
+               break;
+            case 3:
+               SpriteAtlas.get("orange").draw(s, 1, 0);
+               break;
+            case 4:
+               SpriteAtlas.get("apple").draw(s, -2, 0);
+               break;
+            case 5:
+               SpriteAtlas.get("melon").draw(s, -2, -4);
+               break;
+         }
+      s.dispose();
+
+      int slots = isOn.length;
+      int x1 = slot * getWidth() / slots;
+      int x2 = ((slot + 1) * getWidth() + slots - 1) / slots;
+      repaint(x1, 0, x2 - x1, getHeight());
    }
 }
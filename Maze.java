@@ -0,0 +1,321 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Scanner;
+
+/**
+The Maze class holds the walls of PacMan's maze, both as the array of Bumpers
+read from a text file and as an occupancy grid built from them once. Each bit
+of the grid records whether a PacMan or Ghost centered at that pixel would
+overlap any Bumper, so a collision check is a single lookup rather than a
+scan of every Bumper. The maze is also compiled into a grid of tiles, each
+holding a mask of the directions in which a PacMan or Ghost at its center
+can leave it, a table of the shortest paths between those tiles, and the
+junctions among them. A Maze is compiled from its text files once by the
+LevelCompiler, and read back from its LevelFile with everything but the
+junctions already found.
+@since 10-18-2026
+*/
+public class Maze
+{
+   /** radius in pixels of PacMan and the ghosts when tested against walls */
+   public static final int RADIUS = 12;
+   /** width and height in pixels of each tile of the maze */
+   public static final int TILE = 24;
+   
+   /** array of Bumpers that serve as the walls of the maze */
+   private Bumper[] bumpers;
+   /** x-coordinate of the leftmost column of the occupancy grid */
+   private int gridX;
+   /** y-coordinate of the topmost row of the occupancy grid */
+   private int gridY;
+   /** number of pixel columns in the occupancy grid */
+   private int gridWidth;
+   /** number of pixel rows in the occupancy grid */
+   private int gridHeight;
+   /** occupancy grid, one bit per pixel, packed row by row */
+   private long[] grid;
+   /** number of columns of tiles in the maze */
+   private int tileWidth;
+   /** number of rows of tiles in the maze */
+   private int tileHeight;
+   /** exits of each tile, packed row by row; bit 0 is set if a PacMan
+   or Ghost can leave left, bit 1 up, bit 2 right, and bit 3 down */
+   private byte[] exits;
+   /** shortest paths between every pair of open tiles of the maze */
+   private NavTable nav;
+   /** junctions of the maze */
+   private Junctions junctions;
+   
+   /**
+   Initializes a Maze by reading the Bumpers from the given text file, each
+   given as the coordinates of its top-left corner, width, and height, and
+   building the occupancy grid from them. The same Bumpers, measured in tiles,
+   are read from the second text file to build the exits of each tile.
+   @param bumperFile   name of the text file holding the Bumpers
+   @param tileFile  name of the text file holding the Bumpers in tiles
+   @throws Exception removes complication of scanning text files.
+   */
+   public Maze(String bumperFile, String tileFile) throws Exception
+   {
+      ArrayList<Bumper> list = new ArrayList<Bumper>();
+      Scanner u = new Scanner(new File(bumperFile));
+      while(u.hasNextInt())
+         list.add(new Bumper(u.nextInt(), u.nextInt(), u.nextInt(), u.nextInt()));
+      bumpers = list.toArray(new Bumper[list.size()]);
+      buildGrid();
+      
+      ArrayList<int[]> tiles = new ArrayList<int[]>();
+      Scanner t = new Scanner(new File(tileFile));
+      while(t.hasNextInt())
+         tiles.add(new int[] {t.nextInt(), t.nextInt(), t.nextInt(), t.nextInt()});
+      buildExits(tiles);
+      nav = new NavTable(this);
+      junctions = new Junctions(this);
+   }
+   
+   /**
+   Initializes a Maze from its section of a level file, as written by write:
+   the Bumpers, the occupancy grid, the exits of each tile, and the
+   navigation table, each copied out of the buffer in bulk. Only the
+   junctions, which are quick to find, are found again.
+   @param in  buffer positioned at the start of the section, left at its end
+   */
+   public Maze(ByteBuffer in)
+   {
+      bumpers = new Bumper[in.getInt()];
+      for(int i = 0; i < bumpers.length; i++)
+         bumpers[i] = new Bumper(in.getInt(), in.getInt(), in.getInt(), in.getInt());
+      gridX = in.getInt();
+      gridY = in.getInt();
+      gridWidth = in.getInt();
+      gridHeight = in.getInt();
+      grid = new long[(gridWidth * gridHeight + 63) / 64];
+      in.asLongBuffer().get(grid);
+      in.position(in.position() + grid.length * 8);
+      tileWidth = in.getInt();
+      tileHeight = in.getInt();
+      exits = new byte[tileWidth * tileHeight];
+      in.get(exits);
+      nav = new NavTable(in);
+      junctions = new Junctions(this);
+   }
+
+   /**
+   Writes the section of a level file read by Maze(ByteBuffer).
+   @param out stream written to
+   @throws IOException if the stream cannot be written to
+   */
+   public void write(DataOutputStream out) throws IOException
+   {
+      out.writeInt(bumpers.length);
+      for(int i = 0; i < bumpers.length; i++){
+         out.writeInt(bumpers[i].getX());
+         out.writeInt(bumpers[i].getY());
+         out.writeInt(bumpers[i].getWidth());
+         out.writeInt(bumpers[i].getHeight());
+      }
+      out.writeInt(gridX);
+      out.writeInt(gridY);
+      out.writeInt(gridWidth);
+      out.writeInt(gridHeight);
+      for(int i = 0; i < grid.length; i++)
+         out.writeLong(grid[i]);
+      out.writeInt(tileWidth);
+      out.writeInt(tileHeight);
+      out.write(exits);
+      nav.write(out);
+   }
+
+   /**
+   Returns the array of Bumpers that make up the walls of the maze.
+   @return  array of Bumpers
+   */
+   public Bumper[] getBumpers()
+   {
+      return bumpers;
+   }
+   
+   /**
+   Returns whether a PacMan or Ghost centered at the given coordinates would
+   overlap any Bumper of the maze. Anywhere outside of the occupancy grid is
+   too far from every Bumper to overlap it.
+   @param x x-coordinate of the center of the PacMan or Ghost
+   @param y y-coordinate of the center of the PacMan or Ghost
+   @return whether the PacMan or Ghost would be inside a wall
+   */
+   public boolean isBlocked(int x, int y)
+   {
+      int col = x - gridX;
+      int row = y - gridY;
+      if(col < 0 || row < 0 || col >= gridWidth || row >= gridHeight)
+         return false;
+      int bit = row * gridWidth + col;
+      return (grid[bit >> 6] & (1L << bit)) != 0;
+   }
+   
+   /**
+   Returns whether the given PacMan or Ghost overlaps any Bumper of the maze.
+   @param p PacMan tested to see if inside a wall
+   @return whether PacMan overlaps any Bumper
+   */
+   public boolean isBlocked(PacMan p)
+   {
+      return isBlocked(p.getX(), p.getY());
+   }
+   
+   /**
+   Returns the table of shortest paths between the tiles of the maze.
+   @return  navigation table of the maze
+   */
+   public NavTable getNavTable()
+   {
+      return nav;
+   }
+   
+   /**
+   Returns the junctions of the maze.
+   @return  junctions of the maze
+   */
+   public Junctions getJunctions()
+   {
+      return junctions;
+   }
+   
+   /**
+   Returns the number of columns of tiles in the maze.
+   @return  number of columns of tiles
+   */
+   public int getTileWidth()
+   {
+      return tileWidth;
+   }
+   
+   /**
+   Returns the number of rows of tiles in the maze.
+   @return  number of rows of tiles
+   */
+   public int getTileHeight()
+   {
+      return tileHeight;
+   }
+   
+   /**
+   Returns whether the given tile lies within the grid of tiles; tiles
+   outside of it, such as those of the tunnel, have no precomputed exits.
+   @param col   column of the tile
+   @param row   row of the tile
+   @return whether the tile lies within the grid
+   */
+   public boolean hasTile(int col, int row)
+   {
+      return col >= 0 && row >= 0 && col < tileWidth && row < tileHeight;
+   }
+   
+   /**
+   Returns the exits of the given tile; bit 0 is set if a PacMan or Ghost
+   at its center can move left, bit 1 up, bit 2 right, and bit 3 down.
+   @param col   column of the tile
+   @param row   row of the tile
+   @return mask of the exits of the tile
+   */
+   public int getExits(int col, int row)
+   {
+      return exits[row * tileWidth + col];
+   }
+   
+   /**
+   Returns whether a PacMan or Ghost at the center of the given tile can
+   leave it in the given direction.
+   @param col   column of the tile
+   @param row   row of the tile
+   @param d  direction; 1 for left, 2 for up, 3 for right, and 4 for down
+   @return whether the tile can be left in that direction
+   */
+   public boolean canExit(int col, int row, int d)
+   {
+      return (exits[row * tileWidth + col] & (1 << (d - 1))) != 0;
+   }
+   
+   /**
+   Builds the occupancy grid to cover every Bumper grown by the radius of an
+   actor, then marks each pixel within reach of a Bumper.
+   */
+   private void buildGrid()
+   {
+      int minX = Integer.MAX_VALUE;
+      int minY = Integer.MAX_VALUE;
+      int maxX = Integer.MIN_VALUE;
+      int maxY = Integer.MIN_VALUE;
+      for(int i = 0; i < bumpers.length; i++){
+         minX = Math.min(minX, bumpers[i].getX());
+         minY = Math.min(minY, bumpers[i].getY());
+         maxX = Math.max(maxX, bumpers[i].getX() + bumpers[i].getWidth());
+         maxY = Math.max(maxY, bumpers[i].getY() + bumpers[i].getHeight());
+      }
+      if(bumpers.length == 0)
+         minX = minY = maxX = maxY = 0;
+   
+      gridX = minX - RADIUS;
+      gridY = minY - RADIUS;
+      gridWidth = maxX - minX + 2 * RADIUS + 1;
+      gridHeight = maxY - minY + 2 * RADIUS + 1;
+      grid = new long[(gridWidth * gridHeight + 63) / 64];
+   
+      for(int i = 0; i < bumpers.length; i++){
+         Bumper b = bumpers[i];
+         for(int y = b.getY() - RADIUS; y <= b.getY() + b.getHeight() + RADIUS; y++)
+            for(int x = b.getX() - RADIUS; x <= b.getX() + b.getWidth() + RADIUS; x++)
+               if(b.inBumper(x, y)){
+                  int bit = (y - gridY) * gridWidth + (x - gridX);
+                  grid[bit >> 6] |= 1L << bit;
+               }
+      }
+   }
+   
+   /**
+   Builds the exits of every tile from the Bumpers measured in tiles. A tile
+   covered by a Bumper is a wall and has no exits; any other tile can be left
+   towards each neighbor that is not a wall. A tile on the left or right edge
+   of the grid that is not a wall leads into the tunnel. The Bumpers beside
+   the tunnel stick out past the left and right edges of the maze by the same
+   amount, so the grid is trimmed by that much on the right.
+   @param tiles  Bumpers given as the column and row of their top-left tile,
+   and their width and height in tiles
+   */
+   private void buildExits(ArrayList<int[]> tiles)
+   {
+      tileWidth = 0;
+      tileHeight = 0;
+      int overhang = 0;
+      for(int[] b : tiles){
+         tileWidth = Math.max(tileWidth, b[0] + b[2]);
+         tileHeight = Math.max(tileHeight, b[1] + b[3]);
+         overhang = Math.max(overhang, -b[0]);
+      }
+      tileWidth -= overhang;
+      
+      boolean[] wall = new boolean[tileWidth * tileHeight];
+      for(int[] b : tiles)
+         for(int row = Math.max(b[1], 0); row < b[1] + b[3]; row++)
+            for(int col = Math.max(b[0], 0); col < Math.min(b[0] + b[2], tileWidth); col++)
+               wall[row * tileWidth + col] = true;
+      
+      exits = new byte[tileWidth * tileHeight];
+      for(int row = 0; row < tileHeight; row++)
+         for(int col = 0; col < tileWidth; col++){
+            if(wall[row * tileWidth + col])
+               continue;
+            int mask = 0;
+            if(col == 0 || !wall[row * tileWidth + col - 1])
+               mask |= 1;
+            if(row > 0 && !wall[(row - 1) * tileWidth + col])
+               mask |= 2;
+            if(col == tileWidth - 1 || !wall[row * tileWidth + col + 1])
+               mask |= 4;
+            if(row < tileHeight - 1 && !wall[(row + 1) * tileWidth + col])
+               mask |= 8;
+            exits[row * tileWidth + col] = (byte) mask;
+         }
+   }
+}
@@ -0,0 +1,277 @@
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+The MazeLayout class holds where things are in a maze, apart from its walls
+and pellets: where PacMan starts, the door of the ghost house and how far
+below it the ghosts bounce, the box the door is drawn as, where the fruit
+appears, the two mouths of the tunnel and its height, the corner each ghost
+heads for in SCATTER, and how many walls at the end of the walls file block
+PacMan and the ghosts but are not drawn, being covered by the boxes. These
+are the numbers of a line of mazes.txt that follow the counts of the boxes,
+in the order of SIZE, and are written to the level file of the maze after
+its boxes. Blinky starts just above the door, Pinky in the middle of the
+ghost house below it, and Inky and Clyde two tiles to its left and right.
+@since 10-18-2026
+*/
+public class MazeLayout
+{
+   /** number of numbers a MazeLayout is read from: the walls not drawn,
+   PacMan's start, the door, the middle of the ghost house, the box of the
+   door, the fruit, the tunnel, and the four corners */
+   public static final int SIZE = 23;
+   /** pixels a ghost in the ghost house bounces above and below its middle */
+   public static final int BOUNCE = 12;
+
+   /** numbers of the layout, in the order of a line of mazes.txt */
+   private int[] v;
+
+   /**
+   Initializes a MazeLayout from SIZE numbers, in the order of a line of
+   mazes.txt.
+   @param values   numbers of the layout, of which the first SIZE are used
+   @throws IllegalArgumentException if there are fewer than SIZE numbers,
+   the count of walls not drawn is negative, or the middle of the ghost house
+   is not below the door by a whole number of steps of a ghost within it
+   */
+   public MazeLayout(int[] values)
+   {
+      if(values.length < SIZE)
+         throw new IllegalArgumentException("a layout takes " + SIZE + " numbers, not " + values.length);
+      v = Arrays.copyOf(values, SIZE);
+      if(getHiddenWalls() < 0)
+         throw new IllegalArgumentException("negative count of walls not drawn");
+      if(getHouseY() <= getDoorY() || (getHouseY() - getDoorY()) % GameEngine.HOUSE_SPEED != 0)
+         throw new IllegalArgumentException("the ghost house is not a multiple of "
+            + GameEngine.HOUSE_SPEED + " pixels below its door");
+   }
+
+   /**
+   Reads a MazeLayout from its section of a level file, as written by write.
+   @param in  buffer positioned at the start of the section, left at its end
+   */
+   public MazeLayout(ByteBuffer in)
+   {
+      this(read(in));
+   }
+
+   /**
+   Reads the SIZE numbers of a layout from a level file.
+   @param in  buffer positioned at the start of the section, left at its end
+   @return  numbers of the layout
+   */
+   private static int[] read(ByteBuffer in)
+   {
+      int[] values = new int[SIZE];
+      NavTable.getInts(in, values);
+      return values;
+   }
+
+   /**
+   Writes the section of a level file read by MazeLayout(ByteBuffer).
+   @param out stream written to
+   @throws IOException if the stream cannot be written to
+   */
+   public void write(DataOutputStream out) throws IOException
+   {
+      for(int i = 0; i < v.length; i++)
+         out.writeInt(v[i]);
+   }
+
+   /**
+   Returns the number of walls at the end of the walls file that are not
+   drawn, such as the edges of the board, which the boxes outline instead.
+   @return  walls not drawn
+   */
+   public int getHiddenWalls()
+   {
+      return v[0];
+   }
+
+   /**
+   Returns the x-coordinate PacMan starts at.
+   @return  x-coordinate of PacMan's start
+   */
+   public int getPacX()
+   {
+      return v[1];
+   }
+
+   /**
+   Returns the y-coordinate PacMan starts at.
+   @return  y-coordinate of PacMan's start
+   */
+   public int getPacY()
+   {
+      return v[2];
+   }
+
+   /**
+   Returns the x-coordinate of the door of the ghost house, which the ghosts
+   go through on their way in and out.
+   @return  x-coordinate of the door
+   */
+   public int getDoorX()
+   {
+      return v[3];
+   }
+
+   /**
+   Returns the y-coordinate just above the door of the ghost house, where
+   ghosts come out of it and go into it.
+   @return  y-coordinate above the door
+   */
+   public int getDoorY()
+   {
+      return v[4];
+   }
+
+   /**
+   Returns the y-coordinate of the middle of the ghost house, where the
+   ghosts in it start and an entering ghost comes alive.
+   @return  y-coordinate of the middle of the ghost house
+   */
+   public int getHouseY()
+   {
+      return v[5];
+   }
+
+   /**
+   Returns the y-coordinate of the top of the bounce of a ghost in the
+   ghost house.
+   @return  top of the bounce
+   */
+   public int getHouseTop()
+   {
+      return getHouseY() - BOUNCE;
+   }
+
+   /**
+   Returns the y-coordinate of the bottom of the bounce of a ghost in the
+   ghost house.
+   @return  bottom of the bounce
+   */
+   public int getHouseBottom()
+   {
+      return getHouseY() + BOUNCE;
+   }
+
+   /**
+   Returns the box the door of the ghost house is drawn as: x, y, width, and
+   height.
+   @return  box of the door
+   */
+   public int[] getDoorBox()
+   {
+      return new int[] {v[6], v[7], v[8], v[9]};
+   }
+
+   /**
+   Returns the x-coordinate of the middle of the fruit, around which the
+   points for eating it and the words below the ghost house are shown.
+   @return  x-coordinate of the fruit
+   */
+   public int getFruitX()
+   {
+      return v[10];
+   }
+
+   /**
+   Returns the y-coordinate of the middle of the fruit.
+   @return  y-coordinate of the fruit
+   */
+   public int getFruitY()
+   {
+      return v[11];
+   }
+
+   /**
+   Returns the x-coordinate of the mouth of the tunnel on the left side of
+   the maze, past which PacMan comes out of the right mouth.
+   @return  x-coordinate of the left mouth
+   */
+   public int getTunnelLeft()
+   {
+      return v[12];
+   }
+
+   /**
+   Returns the x-coordinate of the mouth of the tunnel on the right side of
+   the maze, past which PacMan comes out of the left mouth.
+   @return  x-coordinate of the right mouth
+   */
+   public int getTunnelRight()
+   {
+      return v[13];
+   }
+
+   /**
+   Returns the y-coordinate of the tunnel.
+   @return  y-coordinate of the tunnel
+   */
+   public int getTunnelY()
+   {
+      return v[14];
+   }
+
+   /**
+   Returns the x-coordinate a ghost starts at.
+   @param k   index of the ghost, in the order Blinky, Pinky, Inky, Clyde
+   @return  x-coordinate of the ghost's start
+   */
+   public int getGhostX(int k)
+   {
+      if(k == 2)
+         return getDoorX() - 2 * Maze.TILE;
+      if(k == 3)
+         return getDoorX() + 2 * Maze.TILE;
+      return getDoorX();
+   }
+
+   /**
+   Returns the y-coordinate a ghost starts at.
+   @param k   index of the ghost, in the order Blinky, Pinky, Inky, Clyde
+   @return  y-coordinate of the ghost's start
+   */
+   public int getGhostY(int k)
+   {
+      return k == 0 ? getDoorY() : getHouseY();
+   }
+
+   /**
+   Returns the x-coordinate of the corner a ghost heads for in SCATTER.
+   @param k   index of the ghost, in the order Blinky, Pinky, Inky, Clyde
+   @return  x-coordinate of the ghost's corner
+   */
+   public int getCornerX(int k)
+   {
+      return v[15 + 2 * k];
+   }
+
+   /**
+   Returns the y-coordinate of the corner a ghost heads for in SCATTER.
+   @param k   index of the ghost, in the order Blinky, Pinky, Inky, Clyde
+   @return  y-coordinate of the ghost's corner
+   */
+   public int getCornerY(int k)
+   {
+      return v[16 + 2 * k];
+   }
+
+   /**
+   Returns the numbers of the layout as they appear in a line of mazes.txt.
+   @return  the MazeLayout as text
+   */
+   public String toString()
+   {
+      StringBuilder s = new StringBuilder();
+      for(int i = 0; i < v.length; i++){
+         if(i > 0)
+            s.append(' ');
+         s.append(v[i]);
+      }
+      return s.toString();
+   }
+}
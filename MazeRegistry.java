@@ -0,0 +1,441 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+The MazeRegistry class holds every maze the game is played on, in the order
+they are played, as listed in mazes.txt. Each line of that file defines one
+maze: its id, the number of levels it is played for before the next maze,
+the text files of its walls, of its walls in tiles, of its pac-dots, and of
+its boxes, the number of rounded boxes and of outlined boxes at the start of
+the boxes file, the SIZE numbers of its MazeLayout, and the coordinates of
+its power pellets; lines that are blank or begin with # are skipped. Once
+the last maze has been played the first comes around again. The mazes share
+the size of the board, and each has its own places PacMan, the ghosts, and
+the fruit start from, ghost house, and tunnel.
+The mazes are loaded once per program, on as many threads as there are
+processors, the first time any is needed. The LevelFile of each is read from
+the levels folder, under a name holding a hash of its definition and of
+every text file it is compiled from, or compiled and written there if there
+is no such file, so that a maze is only compiled again once something it is
+compiled from changes. Each maze is then ready to be played on, its Maze,
+navigation table, and pellets all made, so that moving on to another maze
+between levels swaps references and nothing more.
+@since 10-18-2026
+*/
+public class MazeRegistry
+{
+   /** text file listing the mazes */
+   public static final String LIST = "mazes.txt";
+   /** folder the level files of the mazes are kept in */
+   public static final String FOLDER = "levels";
+   /** offset basis of the 64-bit FNV-1a hash */
+   private static final long FNV_BASIS = 0xCBF29CE484222325L;
+   /** prime of the 64-bit FNV-1a hash */
+   private static final long FNV_PRIME = 0x100000001B3L;
+   /** registry of the program, or null until it is first needed */
+   private static MazeRegistry registry;
+
+   /** definition of each maze, in the order they are played */
+   private Definition[] definitions;
+   /** LevelFile of each maze */
+   private LevelFile[] levelFiles;
+   /** level at which each maze is first played, counting from 0, and the
+   levels of a whole round of the mazes at the end */
+   private int[] firstLevel;
+   /** id of the mazes in the order they are played, recorded in replays */
+   private String id;
+
+   /**
+   The Definition class holds one line of mazes.txt: everything the
+   LevelCompiler compiles a maze from.
+   */
+   static class Definition
+   {
+      /** id of the maze */
+      final String id;
+      /** number of levels the maze is played for */
+      final int levels;
+      /** text file holding the walls of the maze */
+      final String bumpers;
+      /** text file holding the walls of the maze, measured in tiles */
+      final String tiles;
+      /** text file holding the pac-dots of the maze */
+      final String pellets;
+      /** text file holding the boxes drawn over the walls */
+      final String boxes;
+      /** number of rounded boxes at the start of the boxes file */
+      final int rounded;
+      /** number of square outlined boxes following the rounded ones */
+      final int outlined;
+      /** where PacMan, the ghosts, and the fruit start, the ghost house,
+      and the tunnel */
+      final MazeLayout layout;
+      /** coordinates of the power pellets, x followed by y for each */
+      final int[] power;
+
+      /**
+      Reads a Definition from a line of mazes.txt.
+      @param line   line defining the maze
+      @throws IOException if the line is missing any part, or its numbers
+      are not numbers or are out of range
+      */
+      Definition(String line) throws IOException
+      {
+         String[] part = line.trim().split("\\s+");
+         int at = 8 + MazeLayout.SIZE;
+         if(part.length < at || (part.length - at) % 2 != 0)
+            throw new IOException("bad line in " + LIST + ": " + line);
+         try{
+            id = part[0];
+            levels = Integer.parseInt(part[1]);
+            bumpers = part[2];
+            tiles = part[3];
+            pellets = part[4];
+            boxes = part[5];
+            rounded = Integer.parseInt(part[6]);
+            outlined = Integer.parseInt(part[7]);
+            int[] numbers = new int[MazeLayout.SIZE];
+            for(int i = 0; i < numbers.length; i++)
+               numbers[i] = Integer.parseInt(part[8 + i]);
+            layout = new MazeLayout(numbers);
+            power = new int[part.length - at];
+            for(int i = 0; i < power.length; i++)
+               power[i] = Integer.parseInt(part[at + i]);
+         }
+         catch(NumberFormatException e){
+            throw new IOException("bad number in " + LIST + ": " + line);
+         }
+         catch(IllegalArgumentException e){
+            throw new IOException("bad layout of maze " + part[0] + " in " + LIST + ": " + e.getMessage());
+         }
+         if(levels < 1 || rounded < 0 || outlined < 0)
+            throw new IOException("bad counts for maze " + id + " in " + LIST);
+      }
+
+      /**
+      Returns the text files the maze is compiled from.
+      @return  names of the text files
+      */
+      String[] getSources()
+      {
+         return new String[] {bumpers, tiles, pellets, boxes};
+      }
+
+      /**
+      Returns the line of mazes.txt the Definition was read from, in a form
+      that only changes when the Definition does.
+      @return  the Definition as text
+      */
+      public String toString()
+      {
+         StringBuilder s = new StringBuilder(id);
+         s.append(' ').append(levels).append(' ').append(bumpers).append(' ').append(tiles)
+            .append(' ').append(pellets).append(' ').append(boxes)
+            .append(' ').append(rounded).append(' ').append(outlined).append(' ').append(layout);
+         for(int p : power)
+            s.append(' ').append(p);
+         return s.toString();
+      }
+   }
+
+   /**
+   Returns the registry of the program, loading every maze the first time.
+   @return  the registry
+   @throws IOException if mazes.txt cannot be read, defines no maze or two of
+   the same id, or a maze can neither be read from its level file nor
+   compiled from its text files
+   */
+   public static synchronized MazeRegistry get() throws IOException
+   {
+      if(registry == null)
+         registry = new MazeRegistry(LIST);
+      return registry;
+   }
+
+   /**
+   Initializes a MazeRegistry of the mazes listed in the file of the given
+   name, loading them all in parallel, or a single maze on this thread.
+   @param name   name of the file listing the mazes
+   @throws IOException if the mazes cannot be loaded
+   */
+   private MazeRegistry(String name) throws IOException
+   {
+      definitions = readDefinitions(name);
+      firstLevel = new int[definitions.length + 1];
+      StringBuilder s = new StringBuilder();
+      for(int k = 0; k < definitions.length; k++){
+         firstLevel[k + 1] = firstLevel[k] + definitions[k].levels;
+         if(k > 0)
+            s.append('+');
+         s.append(definitions[k].id);
+         if(definitions[k].levels > 1)
+            s.append('*').append(definitions[k].levels);
+      }
+      id = s.toString();
+
+      levelFiles = new LevelFile[definitions.length];
+      try{
+         if(definitions.length == 1)
+            load(0);
+         else
+            IntStream.range(0, definitions.length).parallel().forEach(this::load);
+      }
+      catch(UncheckedIOException e){
+         throw e.getCause();
+      }
+      Maze first = levelFiles[0].getMaze();
+      for(int k = 1; k < levelFiles.length; k++)
+         if(levelFiles[k].getMaze().getTileWidth() != first.getTileWidth()
+            || levelFiles[k].getMaze().getTileHeight() != first.getTileHeight())
+            throw new IOException("maze " + definitions[k].id + " is not the size of maze "
+               + definitions[0].id);
+   }
+
+   /**
+   Reads the definition of every maze from the file of the given name.
+   @param name   name of the file listing the mazes
+   @return  definitions, in the order the mazes are played
+   @throws IOException if the file cannot be read, a line of it is not a
+   definition, or it defines no maze or two of the same id
+   */
+   static Definition[] readDefinitions(String name) throws IOException
+   {
+      ArrayList<Definition> list = new ArrayList<Definition>();
+      for(String line : Files.readAllLines(new File(name).toPath())){
+         line = line.trim();
+         if(line.isEmpty() || line.startsWith("#"))
+            continue;
+         Definition d = new Definition(line);
+         for(Definition e : list)
+            if(e.id.equals(d.id))
+               throw new IOException("maze " + d.id + " is listed twice in " + name);
+         list.add(d);
+      }
+      if(list.isEmpty())
+         throw new IOException(name + " lists no mazes");
+      return list.toArray(new Definition[list.size()]);
+   }
+
+   /**
+   Loads the LevelFile of the maze at the given index from its level file,
+   or compiles it from its text files and saves it if that file is missing
+   or damaged.
+   @param k   index of the maze
+   @throws UncheckedIOException if the maze cannot be compiled
+   */
+   private void load(int k)
+   {
+      Definition d = definitions[k];
+      try{
+         File file = fileOf(d);
+         if(file.exists())
+            try{
+               LevelFile level = new LevelFile(file.getPath());
+               if(level.getId().equals(d.id)){
+                  levelFiles[k] = level;
+                  return;
+               }
+               System.err.println(file + " holds maze " + level.getId() + "; compiling " + d.id);
+            }
+            catch(IOException e){
+               System.err.println("could not read " + file + " (" + e.getMessage() + "); compiling " + d.id);
+            }
+         try{
+            levelFiles[k] = LevelCompiler.compile(d);
+         }
+         catch(Exception e){
+            throw new IOException("could not compile maze " + d.id + ": " + e, e);
+         }
+         try{
+            save(d, levelFiles[k]);
+         }
+         catch(IOException e){
+            System.err.println("could not write " + file + " (" + e.getMessage() + ")");
+         }
+      }
+      catch(IOException e){
+         throw new UncheckedIOException(e);
+      }
+   }
+
+   /**
+   Returns the level file of the given maze in the levels folder, named
+   after the id of the maze and the hash of what it is compiled from.
+   @param d   definition of the maze
+   @return  level file of the maze, which may not exist
+   @throws IOException if a text file of the maze cannot be read
+   */
+   static File fileOf(Definition d) throws IOException
+   {
+      StringBuilder name = new StringBuilder(d.id);
+      name.append('-').append(hash(d)).append(LevelFile.EXTENSION);
+      return new File(FOLDER, name.toString());
+   }
+
+   /**
+   Writes the LevelFile compiled from the given maze to its level file,
+   then deletes any other level file of the same maze, left over from text
+   files since changed.
+   @param d   definition of the maze
+   @param level  LevelFile compiled from it
+   @return  level file written
+   @throws IOException if the file cannot be written
+   */
+   static File save(Definition d, LevelFile level) throws IOException
+   {
+      File file = fileOf(d);
+      new File(FOLDER).mkdirs();
+      level.write(file.getPath());
+      Pattern stale = Pattern.compile(Pattern.quote(d.id) + "-[0-9a-f]{16}" + Pattern.quote(LevelFile.EXTENSION));
+      File[] old = new File(FOLDER).listFiles();
+      if(old != null)
+         for(File f : old)
+            if(!f.getName().equals(file.getName()) && stale.matcher(f.getName()).matches())
+               f.delete();
+      return file;
+   }
+
+   /**
+   Hashes everything the given maze is compiled from: the version of the
+   level file format, the definition of the maze, and the text of each of
+   its text files, with the 64-bit FNV-1a hash, which is quick to start and
+   more than enough to tell apart the few versions of a maze. Each line
+   ending of a text file is hashed as a single \n, so that a file checked
+   out or saved with \r\n endings is not taken for a changed one.
+   @param d   definition of the maze
+   @return  hash, as 16 hexadecimal digits
+   @throws IOException if a text file of the maze cannot be read
+   */
+   private static String hash(Definition d) throws IOException
+   {
+      long h = hash(FNV_BASIS, LevelFile.VERSION);
+      h = hash(h, d.toString().getBytes(StandardCharsets.UTF_8));
+      for(String source : d.getSources()){
+         byte[] bytes = Files.readAllBytes(new File(source).toPath());
+         int length = bytes.length;
+         for(int i = 0; i + 1 < bytes.length; i++)
+            if(isCarriageReturn(bytes, i))
+               length--;
+         h = hash(h, length);
+         for(int i = 0; i < bytes.length; i++)
+            if(!isCarriageReturn(bytes, i)){
+               h ^= bytes[i] & 0xFF;
+               h *= FNV_PRIME;
+            }
+      }
+      StringBuilder hex = new StringBuilder(Long.toHexString(h));
+      while(hex.length() < 16)
+         hex.insert(0, '0');
+      return hex.toString();
+   }
+
+   /**
+   Returns whether the byte at the given index is the \r of a \r\n line
+   ending.
+   @param bytes  bytes of a text file
+   @param i   index of the byte
+   @return  whether the byte is left out of the hash
+   */
+   private static boolean isCarriageReturn(byte[] bytes, int i)
+   {
+      return bytes[i] == '\r' && i + 1 < bytes.length && bytes[i + 1] == '\n';
+   }
+
+   /**
+   Goes on with a 64-bit FNV-1a hash over the four bytes of the given int,
+   highest first.
+   @param h   hash so far
+   @param v   int hashed
+   @return  hash of everything so far followed by the int
+   */
+   private static long hash(long h, int v)
+   {
+      for(int shift = 24; shift >= 0; shift -= 8){
+         h ^= (v >>> shift) & 0xFF;
+         h *= FNV_PRIME;
+      }
+      return h;
+   }
+
+   /**
+   Goes on with a 64-bit FNV-1a hash over the given bytes.
+   @param h   hash so far
+   @param bytes  bytes hashed
+   @return  hash of everything so far followed by the bytes
+   */
+   private static long hash(long h, byte[] bytes)
+   {
+      for(int i = 0; i < bytes.length; i++){
+         h ^= bytes[i] & 0xFF;
+         h *= FNV_PRIME;
+      }
+      return h;
+   }
+
+   /**
+   Returns the number of mazes.
+   @return  number of mazes
+   */
+   public int size()
+   {
+      return levelFiles.length;
+   }
+
+   /**
+   Returns the LevelFile of the maze at the given index.
+   @param k   index of the maze, in the order the mazes are played
+   @return  LevelFile of the maze
+   */
+   public LevelFile getLevelFile(int k)
+   {
+      return levelFiles[k];
+   }
+
+   /**
+   Returns the index of the maze played on at the given level, the mazes
+   coming around again once the last has been played.
+   @param level  level, counting from 1
+   @return  index of the maze
+   */
+   public int mazeOf(int level)
+   {
+      int at = (level - 1) % firstLevel[levelFiles.length];
+      int k = 0;
+      while(firstLevel[k + 1] <= at)
+         k++;
+      return k;
+   }
+
+   /**
+   Returns the id of the mazes in the order they are played, each followed
+   by the number of levels it is played for when that is more than one, and
+   joined by +, which replays of the versions before Replay.VERSION 4
+   recorded in place of the mazes actually played on.
+   @return  id of the mazes
+   */
+   public String getId()
+   {
+      return id;
+   }
+
+   /**
+   Returns the ids of the mazes played on from the first level through the
+   given one, in the order they are played on, each once for every time the
+   game moves on to it, joined by +. A replay records it so that it is only
+   played back where the same levels are played on the same mazes.
+   @param level  last level played, counting from 1
+   @return  ids of the mazes played on
+   */
+   public String getPlayedId(int level)
+   {
+      StringBuilder s = new StringBuilder(levelFiles[mazeOf(1)].getId());
+      for(int l = 2; l <= level; l++)
+         if(mazeOf(l) != mazeOf(l - 1))
+            s.append('+').append(levelFiles[mazeOf(l)].getId());
+      return s.toString();
+   }
+}
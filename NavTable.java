@@ -0,0 +1,276 @@
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+The NavTable class holds, for every pair of open tiles of a maze, the length
+of the shortest path between them and the direction to leave the first tile
+in to follow it. Paths may run through the tunnel on the left and right sides
+of the maze. The table is computed once for each maze, with a breadth-first
+search from every tile run in parallel, so that a Ghost deciding where to go
+at a tile only has to read a single entry.
+@since 10-18-2026
+*/
+public class NavTable
+{
+   /** number of columns of tiles in the maze */
+   private int cols;
+   /** number of rows of tiles in the maze */
+   private int rows;
+   /** number of open tiles, each of which is a node of the table */
+   private int nodes;
+   /** node of each tile of the maze, or -1 for a wall */
+   private int[] nodeOf;
+   /** open tile closest to each tile of the maze, as a node */
+   private int[] nearest;
+   /** node reached by leaving each node in each direction, or -1 if
+   that direction is blocked; indexed by node * 4 + direction - 1 */
+   private int[] neighbor;
+   /** length in tiles of the shortest path from each node to each
+   target node, or -1 if there is none; indexed by target * nodes + node */
+   private short[] distance;
+   /** direction to leave each node in to follow the shortest path to each
+   target node without turning around, or 0 if there is none; indexed by
+   (target * nodes + node) * 5 + current direction */
+   private byte[] next;
+
+   /**
+   Initializes a NavTable for the given maze, searching from every open tile
+   of the maze in parallel.
+   @param m maze whose tiles the table covers
+   */
+   public NavTable(Maze m)
+   {
+      cols = m.getTileWidth();
+      rows = m.getTileHeight();
+      nodeOf = new int[cols * rows];
+      for(int t = 0; t < cols * rows; t++)
+         if(m.getExits(t % cols, t / cols) != 0)
+            nodeOf[t] = nodes++;
+         else
+            nodeOf[t] = -1;
+
+      neighbor = new int[nodes * 4];
+      for(int row = 0; row < rows; row++)
+         for(int col = 0; col < cols; col++){
+            int n = nodeOf[row * cols + col];
+            if(n == -1)
+               continue;
+            for(int d = 1; d <= 4; d++){
+               neighbor[n * 4 + d - 1] = -1;
+               if(!m.canExit(col, row, d))
+                  continue;
+               int c = col;
+               int r = row;
+               switch(d){
+                  case 1:
+                     c = (col + cols - 1) % cols;
+                     break;
+                  case 2:
+                     r--;
+                     break;
+                  case 3:
+                     c = (col + 1) % cols;
+                     break;
+                  case 4:
+                     r++;
+                     break;
+               }
+               neighbor[n * 4 + d - 1] = nodeOf[r * cols + c];
+            }
+         }
+
+      findNearest();
+
+      distance = new short[nodes * nodes];
+      next = new byte[nodes * nodes * 5];
+      IntStream.range(0, nodes).parallel().forEach(this::search);
+   }
+
+   /**
+   Initializes a NavTable from its section of a level file, as written by
+   write, copying each array out of the buffer in bulk rather than searching
+   the maze again.
+   @param in  buffer positioned at the start of the section, left at its end
+   */
+   public NavTable(ByteBuffer in)
+   {
+      cols = in.getInt();
+      rows = in.getInt();
+      nodes = in.getInt();
+      nodeOf = new int[cols * rows];
+      nearest = new int[cols * rows];
+      neighbor = new int[nodes * 4];
+      distance = new short[nodes * nodes];
+      next = new byte[nodes * nodes * 5];
+      getInts(in, nodeOf);
+      getInts(in, nearest);
+      getInts(in, neighbor);
+      in.asShortBuffer().get(distance);
+      in.position(in.position() + distance.length * 2);
+      in.get(next);
+   }
+
+   /**
+   Writes the section of a level file read by NavTable(ByteBuffer).
+   @param out stream written to
+   @throws IOException if the stream cannot be written to
+   */
+   public void write(DataOutputStream out) throws IOException
+   {
+      out.writeInt(cols);
+      out.writeInt(rows);
+      out.writeInt(nodes);
+      for(int i = 0; i < nodeOf.length; i++)
+         out.writeInt(nodeOf[i]);
+      for(int i = 0; i < nearest.length; i++)
+         out.writeInt(nearest[i]);
+      for(int i = 0; i < neighbor.length; i++)
+         out.writeInt(neighbor[i]);
+      for(int i = 0; i < distance.length; i++)
+         out.writeShort(distance[i]);
+      out.write(next);
+   }
+
+   /**
+   Copies the next ints of a buffer into the given array, in bulk, moving the
+   buffer past them.
+   @param in  buffer read from
+   @param a   array filled
+   */
+   static void getInts(ByteBuffer in, int[] a)
+   {
+      in.asIntBuffer().get(a);
+      in.position(in.position() + a.length * 4);
+   }
+
+   /**
+   Returns the direction a Ghost at the center of the given tile, moving in
+   the given direction, should leave the tile in to follow the shortest path
+   to the tile holding the given target coordinates without turning around.
+   Targets off the maze or inside its walls are moved to the closest open
+   tile.
+   @param col column of the Ghost's tile
+   @param row row of the Ghost's tile
+   @param d   direction the Ghost is currently moving in, or 0 if none
+   @param targetX x-coordinate of the target
+   @param targetY y-coordinate of the target
+   @return direction to move in; 1 for left, 2 for up, 3 for right, and 4
+   for down, or 0 if the Ghost is not on an open tile or cannot move on
+   */
+   public int getNextDirection(int col, int row, int d, int targetX, int targetY)
+   {
+      int n = nodeOf[row * cols + col];
+      if(n == -1)
+         return 0;
+      return next[(target(targetX, targetY) * nodes + n) * 5 + d];
+   }
+
+   /**
+   Returns the length in tiles of the shortest path from the given tile to the
+   tile holding the given target coordinates.
+   @param col column of the starting tile
+   @param row row of the starting tile
+   @param targetX x-coordinate of the target
+   @param targetY y-coordinate of the target
+   @return length of the path in tiles, or -1 if the starting tile is a wall
+   or the target cannot be reached
+   */
+   public int getDistance(int col, int row, int targetX, int targetY)
+   {
+      int n = nodeOf[row * cols + col];
+      if(n == -1)
+         return -1;
+      return distance[target(targetX, targetY) * nodes + n];
+   }
+
+   /**
+   Returns the node closest to the given coordinates.
+   @param x x-coordinate
+   @param y y-coordinate
+   @return  open tile closest to the coordinates, as a node
+   */
+   private int target(int x, int y)
+   {
+      int col = Math.min(cols - 1, Math.max(0, Math.floorDiv(x, Maze.TILE)));
+      int row = Math.min(rows - 1, Math.max(0, Math.floorDiv(y, Maze.TILE)));
+      return nearest[row * cols + col];
+   }
+
+   /**
+   Finds the open tile closest to every tile of the maze by searching outwards
+   from all of the open tiles at once.
+   */
+   private void findNearest()
+   {
+      nearest = new int[cols * rows];
+      int[] queue = new int[cols * rows];
+      int head = 0;
+      int tail = 0;
+      for(int t = 0; t < cols * rows; t++){
+         nearest[t] = nodeOf[t];
+         if(nodeOf[t] != -1)
+            queue[tail++] = t;
+      }
+      while(head < tail){
+         int t = queue[head++];
+         int col = t % cols;
+         int row = t / cols;
+         int[] around = {col > 0 ? t - 1 : -1, row > 0 ? t - cols : -1,
+            col < cols - 1 ? t + 1 : -1, row < rows - 1 ? t + cols : -1};
+         for(int i = 0; i < around.length; i++)
+            if(around[i] != -1 && nearest[around[i]] == -1){
+               nearest[around[i]] = nearest[t];
+               queue[tail++] = around[i];
+            }
+      }
+   }
+
+   /**
+   Searches outwards from the given target node to fill in the distances of
+   every node from it, then the direction each node should leave in for each
+   direction it may currently be moving in. Ties go to the direction checked
+   first, in the order left, up, right, down. Each search fills only the
+   rows of the table of its own target, so the searches may run at once.
+   @param target node the paths lead to
+   */
+   private void search(int target)
+   {
+      int base = target * nodes;
+      Arrays.fill(distance, base, base + nodes, (short) -1);
+
+      int[] queue = new int[nodes];
+      int head = 0;
+      int tail = 0;
+      distance[base + target] = 0;
+      queue[tail++] = target;
+      while(head < tail){
+         int n = queue[head++];
+         for(int d = 0; d < 4; d++){
+            int o = neighbor[n * 4 + d];
+            if(o != -1 && distance[base + o] == -1){
+               distance[base + o] = (short) (distance[base + n] + 1);
+               queue[tail++] = o;
+            }
+         }
+      }
+
+      for(int n = 0; n < nodes; n++)
+         for(int heading = 0; heading <= 4; heading++){
+            int best = 0;
+            int bestDistance = Integer.MAX_VALUE;
+            for(int d = 1; d <= 4; d++){
+               if(heading != 0 && Math.abs(d - heading) == 2)
+                  continue;
+               int o = neighbor[n * 4 + d - 1];
+               if(o != -1 && distance[base + o] != -1 && distance[base + o] < bestDistance){
+                  best = d;
+                  bestDistance = distance[base + o];
+               }
+            }
+            next[(base + n) * 5 + heading] = (byte) best;
+         }
+   }
+}
@@ -23,6 +23,24 @@ public class PacMan extends Pellet
    rate of change or speed 
    */
    private int change;
+   /** column of the tile of the maze PacMan is currently in */
+   private int tileX;
+   /** row of the tile of the maze PacMan is currently in */
+   private int tileY;
+   /** horizontal distance in pixels of PacMan from the center of its tile */
+   private int offsetX;
+   /** vertical distance in pixels of PacMan from the center of its tile */
+   private int offsetY;
+   /** x-coordinates of the corners of PacMan's mouth, reused by drawMe */
+   private int[] xPoints = new int[3];
+   /** y-coordinates of the corners of PacMan's mouth, reused by drawMe */
+   private int[] yPoints = new int[3];
+   /** x-coordinate PacMan is put back at by reset */
+   private int startX;
+   /** y-coordinate PacMan is put back at by reset */
+   private int startY;
+   /** layout of the maze PacMan is in, whose tunnel he goes through */
+   private MazeLayout layout;
    
    /**
    Initializes an unmoving PacMan object with the specified
@@ -34,6 +52,10 @@ public class PacMan extends Pellet
    public PacMan(int x, int y, int d)
    {
       super(x, y, d);
+      setX(x);
+      setY(y);
+      startX = x;
+      startY = y;
       setDirection(0);
       change = 0;
    }
@@ -50,6 +72,10 @@ public class PacMan extends Pellet
    public PacMan(int x, int y, int d, Color c, int ch)
    {
       super(x, y, d, c);
+      setX(x);
+      setY(y);
+      startX = x;
+      startY = y;
       setDirection(0);
       change = ch;
    }
@@ -60,10 +86,94 @@ public class PacMan extends Pellet
    */
    public void reset()
    {
-      setX(336);
-      setY(564);
+      setX(startX);
+      setY(startY);
       myDirection = 0;
    }
+
+   /**
+   Sets the layout of the maze PacMan is in, whose tunnel he goes through,
+   and puts his starting position where the layout says, for the next time
+   he is reset.
+   @param l   layout of the maze
+   */
+   public void setLayout(MazeLayout l)
+   {
+      layout = l;
+      setStart(l.getPacX(), l.getPacY());
+   }
+
+   /**
+   Returns the layout of the maze PacMan is in.
+   @return  layout of the maze
+   */
+   public MazeLayout getLayout()
+   {
+      return layout;
+   }
+
+   /**
+   Sets the position PacMan is put back at by reset.
+   @param x   x-coordinate of the start
+   @param y   y-coordinate of the start
+   */
+   public void setStart(int x, int y)
+   {
+      startX = x;
+      startY = y;
+   }
+   
+   /**
+   Sets the x-coordinate of PacMan, and updates the column of the tile
+   it is in and its horizontal distance from the center of that tile.
+   @param x assigns to x-coordinate
+   */
+   public void setX(int x)
+   {
+      super.setX(x);
+      tileX = Math.floorDiv(x, Maze.TILE);
+      offsetX = x - tileX * Maze.TILE - Maze.TILE / 2;
+   }
+   
+   /**
+   Sets the y-coordinate of PacMan, and updates the row of the tile
+   it is in and its vertical distance from the center of that tile.
+   @param y assigns to y-coordinate
+   */
+   public void setY(int y)
+   {
+      super.setY(y);
+      tileY = Math.floorDiv(y, Maze.TILE);
+      offsetY = y - tileY * Maze.TILE - Maze.TILE / 2;
+   }
+   
+   /**
+   Returns the column of the tile of the maze PacMan is in.
+   @return  column of PacMan's tile
+   */
+   public int getTileX()
+   {
+      return tileX;
+   }
+   
+   /**
+   Returns the row of the tile of the maze PacMan is in.
+   @return  row of PacMan's tile
+   */
+   public int getTileY()
+   {
+      return tileY;
+   }
+   
+   /**
+   Returns whether PacMan is exactly at the center of its tile, the
+   only place where it may turn.
+   @return  whether PacMan is centered in its tile
+   */
+   public boolean isCentered()
+   {
+      return offsetX == 0 && offsetY == 0;
+   }
    
    /**
    Returns the speed of PacMan.
@@ -133,124 +243,75 @@ public class PacMan extends Pellet
    /**
    Returns true or false depending on whether PacMan can move
    in the specified direction or if bumpers block its path.
+   PacMan can always turn around, and can never go above the first row
+   of tiles inside the border of the maze or below the last. Otherwise,
+   when PacMan is at the center of a tile of the maze, the answer is read
+   from the exits of that tile; between tile centers PacMan can only keep
+   going the way it already is, as long as no wall is in the way.
    @param d	direction being checked if PacMan can move
-   @param b	array of bumpers that prohibit PacMan's movement
+   @param m	maze whose walls prohibit PacMan's movement
    @return 	whether PacMan can move in specified direction
    */
-   public boolean canGo(int d, Bumper[] b)
+   public boolean canGo(int d, Maze m)
    {
-      PacMan test;
+      if(d < 1 || d > 4)
+         return true;
+      if(myDirection != 0 && Math.abs(d - myDirection) == 2)
+         return true;
+      int inside = Maze.TILE + Maze.TILE / 2;
+      if(d == 2 && getY() - change < inside)
+         return false;
+      if(d == 4 && getY() + change > m.getTileHeight() * Maze.TILE - inside)
+         return false;
+      
+      if(isCentered() && m.hasTile(tileX, tileY))
+         return m.canExit(tileX, tileY, d);
+      if(!isCentered() && myDirection != d)
+         return false;
+         
       switch(d){
          case 1:
-            if(myDirection == 3)
-               return true;
-            else if((((getX() + 12) % 24 != 0) || ((getY() + 12) % 24 != 0)) && myDirection != d) {
-               return false;
-            }
-            else{
-               test = new PacMan(getX() - change, getY(), getDiameter());
-               for(int q = 0; q < b.length; q++)
-                  if(b[q].inBumper(test)){
-                     return false;
-                  }
-            }
-            break;
+            return !m.isBlocked(getX() - change, getY());
          case 2:
-            if(myDirection == 4)
-               return true;
-            else if(getY() - change < 36){
-               return false;
-            }
-            else if((((getX() + 12) % 24 != 0) || ((getY() + 12) % 24 != 0)) && myDirection != d){               
-               return false;
-            }
-            else {
-               test = new PacMan(getX(), getY() - change, getDiameter());
-               for(int q = 0; q < b.length; q++)
-                  if(b[q].inBumper(test)){
-                     return false;
-                  }
-            }
-            break;
+            return !m.isBlocked(getX(), getY() - change);
          case 3:
-            if(myDirection == 1)
-               return true;
-            else if((((getX() + 12) % 24 != 0) || ((getY() + 12) % 24 != 0)) && myDirection != d){
-               return false;
-            }
-            else {
-               test = new PacMan(getX() + change, getY(), getDiameter());
-               for(int q = 0; q < b.length; q++)
-                  if(b[q].inBumper(test)){
-                     return false;
-                  }
-            }
-            break;
-         case 4:
-            if(myDirection == 2)
-               return true;
-            else if(getY() + change > 708){
-               return false;
-            }
-            else if((((getX() + 12) % 24 != 0) || ((getY() + 12) % 24 != 0)) && myDirection != d){
-               return false;
-            }
-            else {
-               test = new PacMan(getX(), getY() + change, getDiameter());
-               for(int q = 0; q < b.length; q++)
-                  if(b[q].inBumper(test)){
-                     return false;
-                  }
-            }
-            break;
+            return !m.isBlocked(getX() + change, getY());
+         default:
+            return !m.isBlocked(getX(), getY() + change);
       }
-      return true;
    }
    
    /**
    Checks if PacMan is able to collide with a pellet with the given direction 
-   @param pellet array of regular pellets, or pac-dots
-   @param powerP array of power pellets
-   @param b array of Bumper obstacles hindering PacMan's path
+   @param pellets index of the pac-dots and power pellets of the maze
+   @param m maze whose walls hinder PacMan's path
    @return whether PacMan is colliding or in on path of colliding with another
    pellet
    */
-   public boolean inDirectionOfPellets(Pellet[] pellet, Pellet[] powerP, Bumper[] b)
+   public boolean inDirectionOfPellets(PelletIndex pellets, Maze m)
    {
       int xct = 0;
       int yct = 0;
-      int xct2 = 0;
-      int yct2 = 0;
       switch(getDirection()){
          case 1: 
             xct = -1 * change;
-            xct2 = 1;
             break;
          case 2: 
             yct = -1 * change;
-            yct2 = -1;
             break;
          case 3: 
             xct = change;
-            xct2 = 1;
             break;
          case 4: 
             yct = change;
-            yct2 = 1;
             break;
       }
       
-      PacMan pac1 = new PacMan(getX() + xct, getY() + yct, 20);
-      PacMan pac2 = new PacMan(getX() + (2*xct), getY() + (2*yct), 20);
-      PacMan pac3 = new PacMan(getX() + xct2, getY() + yct2, 20);
-      
-      boolean pelletCollision = !(Pellet.collide(pac1, pellet, powerP) ||  Pellet.collide(pac2, pellet, powerP));
-      
-      if(Bumper.inBumper(pac1, b)){
+      if(m.isBlocked(getX() + xct, getY() + yct)){
          return true;
       }
       else
-         return pelletCollision;
+         return !(pellets.collide(getX() + xct, getY() + yct, 10) || pellets.collide(getX() + (2*xct), getY() + (2*yct), 10));
    }
    
    /**
@@ -263,33 +324,48 @@ public class PacMan extends Pellet
       buffer.setColor(getColor());
       buffer.fillOval(getX() - 16, getY() - 16, 32, 32);
       buffer.setColor(Color.BLACK);
-      int[] xPoints = new int[] {0, 0, 0};
-      int[] yPoints = new int[] {0, 0, 0};
       switch(myDirection){
          case 0:
             i = 12;
-            xPoints = new int[] {getX() + 5, getX() - 16, getX() - 16};
-            yPoints = new int[] {getY(), getY() - i, getY() + i};
+            setMouth(getX() + 5, getX() - 16, getX() - 16, getY(), getY() - i, getY() + i);
             break;
          case 1:
-            xPoints = new int[] {getX() + 5, getX() - 16, getX() - 16};
-            yPoints = new int[] {getY(), getY() - i, getY() + i};
+            setMouth(getX() + 5, getX() - 16, getX() - 16, getY(), getY() - i, getY() + i);
             break; 
          case 2:
-            xPoints = new int[] {getX(), getX() - i, getX() + i};
-            yPoints = new int[] {getY() + 5, getY() - 16, getY() - 16};
+            setMouth(getX(), getX() - i, getX() + i, getY() + 5, getY() - 16, getY() - 16);
             break;
          case 3:
-            xPoints = new int[] {getX() - 5, getX() + 16, getX() + 16};
-            yPoints = new int[] {getY(), getY() - i, getY() + i};
+            setMouth(getX() - 5, getX() + 16, getX() + 16, getY(), getY() - i, getY() + i);
             break;
          case 4:
-            xPoints = new int[] {getX(), getX() + i, getX() - i};
-            yPoints = new int[]  {getY() - 5, getY() + 16, getY() + 16};
+            setMouth(getX(), getX() + i, getX() - i, getY() - 5, getY() + 16, getY() + 16);
+            break;
+         default:
+            setMouth(0, 0, 0, 0, 0, 0);
             break;
       }
       buffer.fillPolygon(xPoints, yPoints, 3);
    }
+
+   /**
+   Sets the corners of the triangle of PacMan's mouth drawn by drawMe.
+   @param x1  x-coordinate of the corner at the center of PacMan
+   @param x2  x-coordinate of the second corner
+   @param x3  x-coordinate of the third corner
+   @param y1  y-coordinate of the corner at the center of PacMan
+   @param y2  y-coordinate of the second corner
+   @param y3  y-coordinate of the third corner
+   */
+   private void setMouth(int x1, int x2, int x3, int y1, int y2, int y3)
+   {
+      xPoints[0] = x1;
+      xPoints[1] = x2;
+      xPoints[2] = x3;
+      yPoints[0] = y1;
+      yPoints[1] = y2;
+      yPoints[2] = y3;
+   }
    
    /**
    Draws an black arc depending with a variable angle depending on the
@@ -309,34 +385,32 @@ public class PacMan extends Pellet
 
    /**
    Moves PacMan one frame, using its pre-defined change in x-coordinates
-   and change in y-coordinates; moves PacMan to other side of the maze's
-   tunnel if need be. Ensures that PacMan does not go into each Bumper that
-   serves as its obstacles.
-   @param b	array of bumpers that prohibit PacMan's movement
+   and change in y-coordinates; moves PacMan out of the other mouth of
+   the tunnel of his layout if need be. Ensures that PacMan does not go into
+   the walls of the maze that serve as its obstacles.
+   @param m	maze whose walls prohibit PacMan's movement
    */
-   public void move(Bumper[] b)
+   public void move(Maze m)
    {
       setX(getX() + dx);
-      for(int x = 0; x < b.length; x++)
-         if(b[x].inBumper(this)){
-            setX(getX() - dx);
-         }
+      if(m.isBlocked(this))
+         setX(getX() - dx);
              
-      if(getX() < -24)
+      int left = layout.getTunnelLeft();
+      int right = layout.getTunnelRight();
+      if(getX() < left)
          if(dx == -8)
-            setX(692);
+            setX(right - 4);
          else
-            setX(696);
-      if(getX() > 696)
+            setX(right);
+      if(getX() > right)
          if(dx == 8)
-            setX(-20);
+            setX(left + 4);
          else
-            setX(-24);
+            setX(left);
          
       setY(getY() + dy);
-      for(int x = 0; x < b.length; x++)
-         if(b[x].inBumper(this)){
-            setY(getY() - dy);
-         }
+      if(m.isBlocked(this))
+         setY(getY() - dy);
    }
-}
\ No newline at end of file
+}
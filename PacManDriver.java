@@ -1,4 +1,12 @@
+import java.awt.Window;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import javax.swing.JComponent;
 import javax.swing.JFrame;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
 
 /**
 The PacManDriver class runs PacMan, utilizing a frame to hold the
@@ -10,17 +18,140 @@ public class PacManDriver
 {
    /**
    The main method runs PacMan, using the construction of a
-   JFrame to hold a instance of a Scoreboard.
-   @param args  found in all main methods.
+   JFrame to hold a instance of a Scoreboard. Given -active, the game is
+   rendered actively through a BufferStrategy on the frame, presenting the
+   board after each step; otherwise it is animated with a Swing Timer. In
+   active mode, Swing is kept from painting the frame, so that the loop is the
+   only thing that does, the scores and the strip of lives and fruit
+   included, and a frame is asked of the loop whenever the frame is shown,
+   resized, or brought back to the front, as it is not presented while the
+   game is stopped. Given -record, each game is recorded to a file in the
+   replays folder; given -replay and the name of such a file, the game it
+   holds is played back at normal speed instead. Given -turnSteps and a
+   number, a turn the player asks for is tried for that many steps before it
+   is dropped, rather than GameEngine.TURN_STEPS. Given -classic, the ghosts
+   move as in the arcade rather than following the shortest path through the
+   maze, in every game until the program ends. Given -latency and a
+   number, the sound mixer buffers that many milliseconds of sound rather
+   than AudioMixer.DEFAULT_LATENCY, and given -nullSink, sound is mixed but
+   not played, as it is when there is no audio device.
+   @param args  optionally, -active, -record,
+   -replay followed by the name of a replay file, -turnSteps followed by a
+   number of steps, -classic, -latency followed by a number of milliseconds, or
+   -nullSink.
    @throws Exception  removes complication of scanning text files.
    */
    public static void main(String[] args) throws Exception
    {
+      boolean active = false;
+      boolean record = false;
+      Replay replay = null;
+      int turnSteps = GameEngine.TURN_STEPS;
+      boolean classic = false;
+      for(int x = 0; x < args.length; x++){
+         if(args[x].equals("-active"))
+            active = true;
+         else if(args[x].equals("-record"))
+            record = true;
+         else if(args[x].equals("-replay") && x + 1 < args.length)
+            replay = new Replay(args[++x]);
+         else if(args[x].equals("-turnSteps") && x + 1 < args.length)
+            turnSteps = Integer.parseInt(args[++x]);
+         else if(args[x].equals("-classic"))
+            classic = true;
+         else if(args[x].equals("-latency") && x + 1 < args.length)
+            SoundBank.setLatency(Integer.parseInt(args[++x]));
+         else if(args[x].equals("-nullSink"))
+            SoundBank.setNullSink(true);
+      }
+
       JFrame frame = new JFrame("CS Final Project: PacMan");
       frame.setSize(750, 1000);
       frame.setLocation(700, 20);
       frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-      frame.setContentPane(new Scoreboard());
+      if(active)
+         RepaintManager.setCurrentManager(new ActiveRepaintManager(frame));
+      final Scoreboard scoreboard = new Scoreboard(active, record, replay, turnSteps, classic);
+      frame.setContentPane(scoreboard);
+      if(active){
+         frame.setIgnoreRepaint(true);
+         frame.addWindowListener(new WindowAdapter(){
+            public void windowActivated(WindowEvent e)
+            {
+               scoreboard.requestFrame();
+            }
+
+            public void windowDeiconified(WindowEvent e)
+            {
+               scoreboard.requestFrame();
+            }
+         });
+         frame.addComponentListener(new ComponentAdapter(){
+            public void componentResized(ComponentEvent e)
+            {
+               scoreboard.requestFrame();
+            }
+
+            public void componentShown(ComponentEvent e)
+            {
+               scoreboard.requestFrame();
+            }
+         });
+      }
       frame.setVisible(true);
+      if(active)
+         frame.createBufferStrategy(2);
+   }
+
+   /**
+   The ActiveRepaintManager class is the RepaintManager of active mode. It
+   drops every repaint asked for within the window presented by the loop,
+   which draws the whole window into its BufferStrategy each frame, and
+   leaves repaints of every other window, such as the dialogs asking for
+   sound or a name for the leaderboards, to Swing as usual.
+   */
+   private static class ActiveRepaintManager extends RepaintManager
+   {
+      /** window presented by the loop */
+      private Window window;
+
+      /**
+      Initializes an ActiveRepaintManager for the given window.
+      @param w   window presented by the loop
+      */
+      public ActiveRepaintManager(Window w)
+      {
+         window = w;
+      }
+
+      /**
+      Drops the repaint if the component is within the window presented by
+      the loop, and asks Swing for it otherwise.
+      @param c   component to be repainted
+      @param x   x-coordinate of the region to repaint
+      @param y   y-coordinate of the region to repaint
+      @param w   width of the region
+      @param h   height of the region
+      */
+      public void addDirtyRegion(JComponent c, int x, int y, int w, int h)
+      {
+         if(SwingUtilities.getWindowAncestor(c) != window)
+            super.addDirtyRegion(c, x, y, w, h);
+      }
+
+      /**
+      Drops the repaint if it is of the window presented by the loop, and asks
+      Swing for it otherwise.
+      @param wnd window to be repainted
+      @param x   x-coordinate of the region to repaint
+      @param y   y-coordinate of the region to repaint
+      @param w   width of the region
+      @param h   height of the region
+      */
+      public void addDirtyRegion(Window wnd, int x, int y, int w, int h)
+      {
+         if(wnd != window)
+            super.addDirtyRegion(wnd, x, y, w, h);
+      }
    }
-}
\ No newline at end of file
+}
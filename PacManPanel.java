@@ -3,16 +3,17 @@ import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.*;
 import java.io.*;
-import java.util.Scanner;
 import java.awt.geom.RoundRectangle2D;
-import javax.sound.sampled.*;
 
 /**
-The PacManPanel class holds the maze-like structure of the PacMan, including
-PacMan, the ghosts, pellets, and fruit. Using animation, the class moves PacMan
-around the board based on keyboard inputs, moves the ghosts, and checks for
-collisions between pellets, PacMan, the ghosts, and the fruit to initiate
-special behaviors.
+The PacManPanel class displays a game of PacMan held by a GameEngine: the
+maze, PacMan, the ghosts, pellets, and fruit. Using animation, the class steps
+the game forward with the keyboard inputs of the player, draws the board as it
+is after each step, and plays the sounds that go with what happened during it.
+Every rule of the game is left to the GameEngine. In active mode the game is
+stepped and drawn on the thread of its GameLoop, and only the scoreboard is
+brought up to date on the event dispatch thread, as each frame is presented;
+otherwise everything runs on the event dispatch thread.
 @author Aidan Harbison and Ajay Prabhakar
 @since 5-29-2018
 */
@@ -20,280 +21,229 @@ public class PacManPanel extends JPanel
 {
    /** Image representation of the panel. */
    private BufferedImage myImage;
-   
+
    /** Object used to draw the panel. */
    private Graphics g;
-   
-   /** PacMan object that the player controls throughout the game. */
-   private PacMan pac;
-   
-   /** AI-controlled red ghost that chases PacMan throughout the maze-like
-   structure of the game. */
-   private Blinky blinky;
-   
-   /** AI-controlled pink ghost that chases PacMan throughout the maze-like
-   structure of the game. */
-   private Pinky pinky;
-   
-   /** AI-controlled blue ghost that chases PacMan throughout the maze-like
-   structure of the game. */
-   private Inky inky;
-   
-   /** AI-controlled orange ghost that chases PacMan throughout the maze-like
-   structure of the game. */
-   private Clyde clyde;
-   
-   /** Fruit that periodically appears within the maze for PacMan to eat for
-   points. */
-   private Fruit fruit;
-   
-   /** Width of the panel in pixels. */
-   private static final int WIDTH = 672;
-   
-   /** Height of the panel in pixels. */
-   private static final int HEIGHT = 744;
-   
-   /** Timer that animates the introductory sequence to each level after
-   completing the previous level or dying and starts the animation Timer. */
-   private Timer intro;
-   
-   /** Timer that animates the game while the player controls the PacMan
-   through the maze. */
-   private Timer animation;
-   
-   /** Timer that animates the blinking, or changing of colors from blue to
-   white, effect found at the completion of a level and the starts the
-   introduction Timer. */
-   private Timer blinker;
-   
-   /** Timer that animates the section of the game when the player has lost
-   all lives, displaying "Game Over" */
-   private Timer gameOver;
-   
-   /** Timer that animates the pause and display of addition to the score
-   found after eating a ghost or a fruit and then continues the animation
-   Timer. */
-   private Timer pause;
-   
-   /** Timer that animates the dying animation of PacMan after running into
-   a ghost and starts the introduction Timer. */
-   private Timer collider;
-   
-   /** Array of Bumpers that organize the panel of PacMan into a maze-like
-   structure, serving as the walls of the maze. */
-   private Bumper[] maze;
-   
+
+   /** Game being displayed, holding PacMan, the ghosts, pellets, fruit, and
+   score, and every rule of how they change. */
+   private GameEngine engine;
+
+   /** Width of the board in pixels, that of every maze of the game. */
+   private int width;
+
+   /** Height of the board in pixels. */
+   private int height;
+
+   /** Milliseconds between each frame of the blinking at the end of a level
+   and of the dying animation of PacMan. */
+   private static final int BLINK_MILLIS = 250;
+
+   /** Starting angle and entire angle of the black arc covering PacMan in
+   each frame of the dying animation. */
+   private static final int[][] DYING_ARCS = {{68, 44}, {45, 60}, {22, 136}, {0, 180},
+      {-22, 225}, {-45, 270}, {-68, 316}, {-90, 360}};
+
+   /** Font of "Game Over". */
+   private static final Font GAME_OVER_FONT = new Font("Monospaced", Font.BOLD, 30);
+
+   /** Font of "Player" and "Ready!" before PacMan starts moving. */
+   private static final Font READY_FONT = new Font("Monospaced", Font.BOLD + Font.ITALIC, 30);
+
+   /** Font of the points scored for eating a ghost or fruit. */
+   private static final Font POINTS_FONT = new Font("Monospaced", Font.BOLD, 18);
+
+   /** Color of "Player". */
+   private static final Color PLAYER_COLOR = Color.CYAN.darker();
+
+   /** Color of "Ready!". */
+   private static final Color READY_COLOR = Color.YELLOW.darker();
+
+   /** Color of "Game Over". */
+   private static final Color GAME_OVER_COLOR = Color.RED.darker();
+
+   /** Loop that steps the game forward and draws it, and presents the board
+   itself in active mode. */
+   private GameLoop animation;
+
+   /** Image of each maze of the MazeRegistry with its walls drawn in blue,
+   rendered once when the panel is made and drawn at the start of every
+   frame. */
+   private BufferedImage[] blueMazes;
+
+   /** Image of each maze with its walls drawn in white, used by the blinking
+   effect at the completion of a level. */
+   private BufferedImage[] whiteMazes;
+
+   /** Regions of the board changed during each frame, which are all that is
+   restored from the background and repainted during the next. */
+   private DamageTracker damage;
+
    /** Scoreboard to display the current score of the player, the high score
-   overall, and to update the score as necessary. */
+   overall, and the lives and fruit. */
    private Scoreboard scoreboard;
-   
-   /** Array of power pellets, or larger pellets that allow the ghosts to be
-   eaten by PacMan for a short amount of time. */
-   private Pellet[] powerPellet;
-   
-   /** Array of all pac-dots, or pellets, found within the maze of PacMan that
-   signify each level. The eating of all pac-dots signifies the end of a
-   level. */
-   private Pellet[] pellet;
-   
-   /** Current level that the player has reached. */
-   private int level = 1;
-   
+
+   /** Points last drawn while paused after PacMan ate a ghost or fruit. */
+   private int pointsShown = -1;
+
+   /** Text of pointsShown, kept so it is not made again for every frame of
+   the pause. */
+   private String pointsText;
+
    /** Width of PacMan's mouth during animation. */
    private int chompWidth = 12;
-   
-   /** Counter of all pellets the player has collected since they have either
-   died or begun a new level. */
-   private int pelletsCollectedSinceDeath = 0;
-   
-   /** Counter of all pellets the player has collected since they have begun a
-   new level. */
-   private int allPelletsCollected = 0;
-   
-   /** Counter of all ghosts eaten by PacMan since the last power pellet was
-   eaten. */
-   private int ghostsEaten = 0;
-   
-   /** Listener controlled by the introduction Timer to animate the
-   introduction. */
-   private ReadyListener ready;
-   
-   /** Listener controlled by the pause Timer to animate the pause and display
-   of addition to the score found after eating a ghost or a fruit. */
-   private PauseListener pauseListener;
-   
-   /** Represents whether PacMan's mouth is currently closing, in which case
-   it is true, or opening, in which case it is false. */
+
+   /** Determines whether PacMan's mouth is getting smaller or larger during
+   animation. */
    private boolean chompDecreasing = true;
-   
-   /** Represents whether the player has died since reaching the level they
-   are currently playing. */
-   private boolean died = false;
-   
-   /** Represents whether the player is currently collecting pellets or in the
-   path of pellets or not. */
+
+   /** Determines whether PacMan is currently collecting pellets, in which case
+   the pellet eating sound is playing. */
    private boolean collecting = false;
-   
-   /** Represents whether Blinky, the red ghost, is currently chasing PacMan
-   within the maze, where it is true, or is within the ghost house in the 
-   center of the screen, where it is false. */
-   private boolean blinkyInCorridor = true;
-   
-   /** Represents whether Pinky, the pink ghost, is currently chasing PacMan
-   within the maze, where it is true, or is within the ghost house in the 
-   center of the screen, where it is false. */
-   private boolean pinkyInCorridor = false;
-   
-   /** Represents whether Inky, the blue ghost, is currently chasing PacMan
-   within the maze, where it is true, or is within the ghost house in the 
-   center of the screen, where it is false. */
-   private boolean inkyInCorridor = false;
-   
-   /** Represents whether Clyde, the orange ghost, is currently chasing PacMan
-   within the maze, where it is true, or is within the ghost house in the 
-   center of the screen, where it is false. */
-   private boolean clydeInCorridor = false;
-   
-   /** Ensures that Inky, the blue ghost, does not return to bouncing within
-   the ghost house in the center of the screen after the trigger has occurred
-   for it to leave the house. */
-   private boolean inkyNoReturn = true;
-   
-   /** Ensures that Clyde, the orange ghost, does not return to bouncing within
-   the ghost house in the center of the screen after the trigger has occurred
-   for it to leave the house. */
-   private boolean clydeNoReturn = true;
-   
-   /** Determines whether Blinky, the red ghost, is going upwards within the
-   ghost house as it leaves. */
-   private boolean blinkyGoesUp = false;
-   
-   /** Determines whether Blinky, the red ghost, is going downwards within the
-   ghost house as it enters. */
-   private boolean blinkyGoesDown = false;
-   
-   /** Determines whether Pinky, the pink ghost, is going upwards within the
-   ghost house as it leaves. */
-   private boolean pinkyGoesUp = true;
-   
-   /** Determines the time in milliseconds (since midnight, January 1st, 1970)
-   when the effect of PacMan's eating the power pellet wears off and the ghosts
-   resume chasing. */
-   private long frightenedDuration = 0;
-   
+
    /** Responds to keyboard input by the player to control the movement of the
    PacMan character. */
    private Key keyListener;
-   
-   /** Determines the time in milliseconds (since midnight, January 1st, 1970)
-   when the fruit that has appeared in the center of the screen disappears once
-   more. */
-   private long fruitTimer = 0;
-   
+
+   /** What the player has asked of PacMan, handed from the thread receiving
+   key presses to the thread stepping the game, one input for each step. */
+   private InputQueue inputs = new InputQueue(16);
+
    /** Plays the sound that occurs when PacMan is currently collecting or in the
    path of collecting pellets. */
-   private Clip eatSound;
-   
-   /** Plays the siren sound that occurs when the ghosts are chasing PacMan
-   throughout the maze. */
-   private Clip siren;
-   
+   private Sound eatSound;
+
    /** Plays the sound that occurs when PacMan has eaten a power pellet and all
    ghosts are in a frightened state and are blue. */
-   private Clip frightened;
-   
-   /** Plays the sound that occurs when PacMan eats a fruit. */
-   private Clip fruitS;
-   
+   private Sound frightened;
+
    /** Plays the sound that occurs when PacMan has eaten a ghost and it is in
    the process of returning to the ghost house. */
-   private Clip deadGhost;
-   
+   private Sound deadGhost;
+
    /** Represents whether the player would like sound to be played or not. */
    private boolean sound;
-   
+
+   /** Whether steps have been taken since the scoreboard was last brought up
+   to date. */
+   private boolean hudStale;
+
+   /** Events of the steps taken since the scoreboard was last brought up to
+   date, handed to the event dispatch thread with each frame. */
+   private int hudEvents;
+
+   /** Phase of the game after the last step, read by the key listener on the
+   event dispatch thread. */
+   private volatile int phase;
+
+   /** Tick of the game after the last step, read on the event dispatch
+   thread to finish the recording of the game. */
+   private volatile long tick;
+
+   /** Level of the game after the last step, read with tick to finish the
+   recording of the game. */
+   private volatile int level = 1;
+
+   /** Records the game to a replay file, or null if it is not recorded. */
+   private ReplayWriter recorder;
+
+   /** Finishes the recording of the game if the program ends while it is
+   being played, as when the window is closed, or null if it is not
+   recorded. */
+   private Thread finisher;
+
+   /** Replay played back in place of the keyboard input of the player, or
+   null if the player is playing. */
+   private Replay replay;
+
+   /** Whether the panel has been replaced by a new game, after which a step or
+   frame of its loop still under way shows nothing and changes nothing. */
+   private volatile boolean disposed;
+
    /**
-   Initializes PacManPanel object using Scoreboard object. Creates the
-   background, pellets, PacMan, and ghosts, and displays them on the board,
-   and uses a KeyListener to initiate input by the player, as well as
-   creating the private Timer and Listener objects to be used. A cherry is
-   displayed in the bottom left corner. If sound is wanted, sounds are
-   instantiated and the introduction sound is started. The introduction Timer
-   is start to begin its animation.
-   @param s	reference to the scoreboard used to change scoring based on
-   interactions in panel
+   Initializes PacManPanel object using Scoreboard object. Starts a new game,
+   draws the background, pellets and PacMan with "Player Ready!", and uses a
+   KeyListener to take input from the player. A cherry is displayed in the
+   bottom left corner. If sound is wanted, sounds are instantiated and the
+   introduction sound is started. The animation is started, stepping the game
+   through its introduction. In active mode, the board is presented after
+   each step through the BufferStrategy of the window holding the panel. If a
+   replay is given, it is played back from the start at normal speed in place
+   of the player's input; otherwise, if recording is wanted, the game is
+   recorded to a file in the replays folder.
+   @param s	reference to the scoreboard used to display the score and lives
+   of the game in panel
    @param sound   whether the player would like sound to be played or not
+   @param active   whether the game is animated in active mode rather than
+   with a Swing Timer
+   @param record   whether the game is recorded to a replay file
+   @param r   replay to play back, or null to let the player play
+   @param turnSteps   steps a turn the player asks for is tried for before
+   it is dropped
+   @param classic   whether the ghosts move as in the arcade rather than
+   following the shortest path
    @throws Exception removes complication of scanning text files.
    */
 
-   public PacManPanel(Scoreboard s, boolean sound) throws Exception
+   public PacManPanel(Scoreboard s, boolean sound, boolean active, boolean record, Replay r, int turnSteps, boolean classic) throws Exception
    {
-      myImage =  new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
-      g = myImage.getGraphics();
-      
       scoreboard = s;
       this.sound = sound;
-         
+
+      replay = r;
+      if(replay != null){
+         replay.rewind();
+         engine = new GameEngine(replay.getSeed());
+         engine.setTurnSteps(replay.getTurnSteps());
+         engine.setClassic(replay.isClassic());
+      }
+      else{
+         engine = new GameEngine();
+         engine.setTurnSteps(turnSteps);
+         engine.setClassic(classic);
+      }
+      if(record && replay == null)
+         recorder = new ReplayWriter(new File("replays", "pacman-" + System.currentTimeMillis() + ".pmr"), engine);
+      if(recorder != null){
+         finisher = new Thread(new Runnable(){
+            public void run()
+            {
+               recorder.end(tick, level);
+               recorder.await(1000);
+            }
+         }, "ReplayFinisher");
+         Runtime.getRuntime().addShutdownHook(finisher);
+      }
+      engine.getPacMan().setColor(Color.YELLOW);
+      phase = engine.getPhase();
+      width = engine.getMaze().getTileWidth() * Maze.TILE;
+      height = engine.getMaze().getTileHeight() * Maze.TILE;
+      myImage =  new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      g = myImage.getGraphics();
+      damage = new DamageTracker(width, height);
       makeBackground();
-      makePellets();
-      drawBackground(false);
-      drawPellets();
-      
-      pac = new PacMan(336, 564, 24, Color.YELLOW, 12);
-      pac.drawMe(g, 6);
-      
-      blinky = new Blinky();
-      pinky = new Pinky();
-      inky = new Inky();
-      clyde = new Clyde();
-      
-      fruit = new Fruit(1);
-      
-      drawPlayerReady(false);
-      
-      animation = new Timer(30, new AnimationListener());
-      
-      ready = new ReadyListener(System.currentTimeMillis() + 4700, this);
-      intro = new Timer(100, ready);
-      
-      pauseListener = new PauseListener(this);
-      pause = new Timer(0, pauseListener);
-      
-      keyListener = new Key(false);
-      
+
+      if(active)
+         animation = new GameLoop(new AnimationListener(), GameEngine.STEP_MILLIS, new Presenter());
+      else
+         animation = new GameLoop(new AnimationListener(), GameEngine.STEP_MILLIS);
+      drawFrame();
+
+      keyListener = new Key();
+      setFocusable(true);
+      addKeyListener(keyListener);
+
       scoreboard.showFruit(1);
-        
-      if(sound){          
-         try{
-            AudioInputStream introAIS = AudioSystem.getAudioInputStream(new File("sounds\\intro.wav").getAbsoluteFile());
-            Clip introS = AudioSystem.getClip();
-            introS.open(introAIS);
-            introS.start();
-         } 
-         catch(Exception e){
-            e.printStackTrace();
-         }
-      
-         try{
-            AudioInputStream sirenAIS = AudioSystem.getAudioInputStream(new File("sounds\\siren.wav").getAbsoluteFile());
-            siren = AudioSystem.getClip();
-            siren.open(sirenAIS);
-         } 
-         catch(Exception e){
-            e.printStackTrace();
-         }
-         try{
-            AudioInputStream eatAIS = AudioSystem.getAudioInputStream(new File("sounds\\pacdot.wav").getAbsoluteFile());
-            eatSound = AudioSystem.getClip();
-            eatSound.open(eatAIS);
-         }
-         catch(Exception e){
-            e.printStackTrace();
-         }
-      } 
-      intro.start();
+
+      if(sound){
+         SoundBank.get("intro").play();
+         eatSound = SoundBank.get("pellet");
+         frightened = SoundBank.get("frightened");
+         deadGhost = SoundBank.get("dead");
+      }
+      animation.start();
    }
-   
+
    /**
    Displays board at current state when the pre-defined repaint method is
    called.
@@ -303,842 +253,591 @@ public class PacManPanel extends JPanel
    {
       g.drawImage(myImage, 0, 0, getWidth(), getHeight(), null);
    }
-   
+
    /**
-   Instantiates array of bumpers, maze, that serves as walls of PacMan's maze
-   using parameters read from a text file.
-   @throws Exception removes complication of scanning text files.
+   Stops the animation of the game for good, ending the thread of its loop in
+   active mode, and finishes the recording of the game, if any, which then no
+   longer needs finishing when the program ends. Called when the panel is
+   replaced by a new game. A frame the loop has already handed
+   to the event dispatch thread runs after this, so it is marked disposed
+   first, and such a frame then leaves the scoreboard to the new game.
+   */
+   public void dispose()
+   {
+      disposed = true;
+      animation.dispose();
+      if(recorder != null){
+         recorder.end(tick, level);
+         try{
+            Runtime.getRuntime().removeShutdownHook(finisher);
+         }
+         catch(IllegalStateException e){}
+      }
+   }
+
+   /**
+   Asks for the board to be presented again in active mode, though the game
+   has not changed it, as when the window holding the panel has been covered
+   or resized. Frames are otherwise only presented after steps.
+   */
+   public void requestFrame()
+   {
+      animation.requestFrame();
+   }
+
+   /**
+   Renders every maze the game may be played on once in each of its colors
+   so that drawing the background is a single image copy, even once the
+   game has moved on to another maze.
+   */
+   private void makeBackground()
+   {
+      MazeRegistry registry = engine.getRegistry();
+      blueMazes = new BufferedImage[registry.size()];
+      whiteMazes = new BufferedImage[registry.size()];
+      for(int k = 0; k < registry.size(); k++){
+         blueMazes[k] = renderMaze(registry.getLevelFile(k), false);
+         whiteMazes[k] = renderMaze(registry.getLevelFile(k), true);
+      }
+   }
+
+   /**
+   Restores the regions of the board changed during the frame before, copying
+   each from the image of the maze and drawing the pellets within it again, so
+   that sprites are erased from where they were. If the whole board is stale,
+   it is all drawn anew.
+   */
+   private void restoreDamage()
+   {
+      if(damage.isAllStale()){
+         drawBackground(false);
+         drawPellets();
+      }
+      else
+         for(int i = 0; i < damage.getStaleCount(); i++){
+            int x = damage.getStale(i, 0);
+            int y = damage.getStale(i, 1);
+            int w = damage.getStale(i, 2);
+            int h = damage.getStale(i, 3);
+            g.drawImage(blueMazes[engine.getMazeIndex()], x, y, x + w, y + h, x, y, x + w, y + h, null);
+            engine.getPellets().draw(g, x, y, w, h);
+         }
+   }
+
+   /**
+   Records the box around the given PacMan or Ghost as changed during the
+   current frame.
+   @param p PacMan or Ghost that has been drawn
    */
-   private void makeBackground() throws Exception
+   private void addDamage(PacMan p)
    {
-      maze = new Bumper[42];
-      Scanner u = new Scanner(new File("bumpers.txt"));
-      for(int x = 0; x < maze.length; x++)
-         maze[x] = new Bumper(u.nextInt(), u.nextInt(), u.nextInt(), u.nextInt());
+      damage.add(p.getX() - 18, p.getY() - 18, 36, 36);
    }
-   
+
+   /**
+   Ends the current frame, repainting the regions of the panel changed during
+   it, unless the board is presented in full by the loop in active mode.
+   */
+   private void flush()
+   {
+      damage.flush(animation.isActive() ? null : this);
+   }
+
    /**
-   Draws all bumpers as rounded rectangles using their coordinate, and covers
-   overlaps between the each using parameters read from a text file. The ghost
-   house is also separately drawn.
+   Draws the maze being played on at the start of a frame by copying the
+   image of it rendered when the panel was made.
    @param white   determines whether the bumpers are draw in white outlines,
    where it would be true, or blue outlines, where it would be false.
    */
    private void drawBackground(boolean white)
    {
-      g.setColor(Color.BLACK);
-      g.fillRect(0, 0, WIDTH, HEIGHT);
+      damage.addAll();
       if(!white)
-         for(int x = 0; x < maze.length - 6; x++)
-            maze[x].draw(g);
+         g.drawImage(blueMazes[engine.getMazeIndex()], 0, 0, null);
       else
-         for(int x = 0; x < maze.length - 6; x++)
-            maze[x].drawWhite(g);
-      
-      Scanner box = new Scanner(System.in);
-      try{
-         box = new Scanner(new File("boxes.txt"));
-      }
-      catch(Exception e){
-         System.exit(0);
-      }
-      
-      Graphics2D g2 = (Graphics2D) g;
+         g.drawImage(whiteMazes[engine.getMazeIndex()], 0, 0, null);
+   }
+
+   /**
+   Renders an image of the maze, drawing the bumpers as rounded rectangles
+   using their coordinate, all but those its layout leaves undrawn, and
+   covering overlaps between the each using the boxes of the LevelFile. The
+   door of the ghost house is also separately drawn, where the layout says.
+   The image is made compatible with the screen, when there is one, so that
+   copying it each frame is as fast as possible.
+   @param level  LevelFile of the maze
+   @param white   determines whether the bumpers are draw in white outlines,
+   where it would be true, or blue outlines, where it would be false.
+   @return  image of the maze
+   */
+   private BufferedImage renderMaze(LevelFile level, boolean white)
+   {
+      BufferedImage image;
+      if(GraphicsEnvironment.isHeadless())
+         image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      else
+         image = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+            .getDefaultConfiguration().createCompatibleImage(width, height);
+      Graphics2D g2 = image.createGraphics();
+
+      g2.setColor(Color.BLACK);
+      g2.fillRect(0, 0, width, height);
+      Bumper[] walls = level.getMaze().getBumpers();
+      int drawn = walls.length - level.getLayout().getHiddenWalls();
+      if(!white)
+         for(int x = 0; x < drawn; x++)
+            walls[x].draw(g2);
+      else
+         for(int x = 0; x < drawn; x++)
+            walls[x].drawWhite(g2);
+
       if(!white)
          g2.setColor(Color.BLUE);
       else
          g2.setColor(Color.WHITE);
       g2.setStroke(new BasicStroke(5.0f));
-      for(int x = 0; x < 7; x++)
-         g2.draw(new RoundRectangle2D.Double(box.nextInt(), box.nextInt(), box.nextInt(), box.nextInt(), box.nextInt(), box.nextInt()));
-      
-      g.drawRect(box.nextInt(), box.nextInt(), box.nextInt(), box.nextInt());
-      g.drawRect(box.nextInt(), box.nextInt(), box.nextInt(), box.nextInt());
-      
-      g.setColor(Color.BLACK);
-      for(int x = 0; x < 46; x++)
-         g.fillRect(box.nextInt(), box.nextInt(), box.nextInt(), box.nextInt());
-      
-      g.setColor(new Color(236, 185, 221));
-      g.fillRect(312, 302, 48, 9);
+      int[] r = level.getRoundedBoxes();
+      for(int x = 0; x < r.length; x += 6)
+         g2.draw(new RoundRectangle2D.Double(r[x], r[x + 1], r[x + 2], r[x + 3], r[x + 4], r[x + 5]));
+      int[] o = level.getOutlinedBoxes();
+      for(int x = 0; x < o.length; x += 4)
+         g2.drawRect(o[x], o[x + 1], o[x + 2], o[x + 3]);
+
+      g2.setColor(Color.BLACK);
+      int[] f = level.getFilledBoxes();
+      for(int x = 0; x < f.length; x += 4)
+         g2.fillRect(f[x], f[x + 1], f[x + 2], f[x + 3]);
+
+      g2.setColor(new Color(236, 185, 221));
+      int[] door = level.getLayout().getDoorBox();
+      g2.fillRect(door[0], door[1], door[2], door[3]);
+      g2.dispose();
+      return image;
    }
-   
+
    /**
-   Draws the words "Player" above the ghost house, and "Ready!" below it.
+   Draws the words "Player" above the door of the ghost house, and "Ready!"
+   where the fruit appears.
    @param ready   determines whether "Player Ready!" is drawn, where
    it is false, or simply "Ready!", where it is true.
-   */   
+   */
    private void drawPlayerReady(boolean ready)
    {
-      g.setColor(Color.CYAN.darker());
-      g.setFont(new Font("Monospaced", Font.BOLD + Font.ITALIC, 30));
+      MazeLayout layout = engine.getLevelFile().getLayout();
+      g.setColor(PLAYER_COLOR);
+      g.setFont(READY_FONT);
       if(!ready)
-         g.drawString("PLAYER", 282, 285);
-      g.setColor(Color.YELLOW.darker());
-      g.drawString("READY!", 288, 429);
-   }
-   
-   /**
-   Instantiates array of power pellets, powerPellet, and pac-dots, pellet,
-   using parameters read from a text file.
-   @throws Exception removes complication of scanning text files.
-   */
-   private void makePellets() throws Exception
-   {
-      powerPellet = new Pellet[4];
-      powerPellet[0] = new Pellet(36, 84, 18);
-      powerPellet[1] = new Pellet(636, 84, 18);
-      powerPellet[2] = new Pellet(36, 564, 18);
-      powerPellet[3] = new Pellet(636, 564, 18);
-   
-      pellet = new Pellet[240];
-      Scanner g = new Scanner(new File("pellets.txt"));
-      for(int x = 0; x < pellet.length; x++)
-         pellet[x] = new Pellet(g.nextInt(), g.nextInt(), 8);
+         g.drawString("PLAYER", layout.getDoorX() - 54, layout.getDoorY() + 9);
+      g.setColor(READY_COLOR);
+      g.drawString("READY!", layout.getFruitX() - 48, layout.getFruitY() + 9);
    }
-   
+
    /**
    Draws all pac-dots and power pellets that have not yet been collected
    in a white color at their specified coordinates.
    */
    public void drawPellets()
    {
-      for(int x = 0; x < pellet.length; x++){
-         if(pellet[x].getColor() == Color.WHITE)
-            pellet[x].drawMe(g);
-         if(x < powerPellet.length)
-            if(powerPellet[x].getColor() == Color.WHITE)
-               powerPellet[x].drawMe(g);
-      }
+      engine.getPellets().draw(g);
    }
-   
+
    /**
-   Resets the panel when PacMan has either died or reached a new level, through
-   stopping all sounds and animation, resetting PacMan to its proper position,
-   all power pellets and pac-dots and all ghosts to their proper positions, and
-   either starting a death or blinking animation depending on whether the player
-   has either died or reached a new level. If a new level is reached, the level
-   counter increases, and the fruit type changes depending on its value. If the
-   player has died and would like sound, the dying sound begins.
-   @param newLevel   whether player has reached a new level, in which case it is
-   true, or they have died, in which case it is false.
+   Draws a ghost as it looks in the current state of the game: as a pair of
+   eyes if dead, blue or white if frightened, and in its own colors otherwise.
+   @param ghost  ghost to draw
+   @param white  whether frightened ghosts are drawn white in this frame
    */
-   public void reset(boolean newLevel)
+   private void drawGhost(Ghost ghost, boolean white)
    {
-      if(sound){
-         siren.stop();
-         eatSound.stop();
-         if(deadGhost != null)
-            deadGhost.stop();
-         if(frightened != null)
-            frightened.stop();
-      }
-      
-      animation.stop();
-      removeKeyListener(keyListener);
-      
-      if(newLevel){
-         for(int x = 0; x < pellet.length; x++){
-            if(x < powerPellet.length)
-               powerPellet[x].setColor(Color.WHITE);
-            pellet[x].setColor(Color.WHITE);
-         }
-         level++;
-         died = false;
-         allPelletsCollected = 0;
-         if(sound)
-            frightened.stop();
-      }
+      if(ghost.isDead())
+         ghost.drawDead(g);
+      else if(ghost.isFright() && white)
+         ghost.drawWhite(g);
+      else if(ghost.isFright())
+         ghost.drawBlue(g);
       else
-         died = true;
-         
-      fruit.setEaten(true);
-         
-      if(level != 0){
-         blinky = new Blinky();
-         pinky = new Pinky();
-         inky = new Inky();
-         clyde = new Clyde();
-      
-         drawBackground(false);
-         drawPellets();
-         drawPlayerReady(true);
-      
-         blinky.drawMe(g);
-         pinky.drawMe(g);
-         inky.drawMe(g);
-         clyde.drawMe(g);
-      
-      
-         pelletsCollectedSinceDeath = 0;
-         blinkyInCorridor = true;
-         pinkyInCorridor = false;
-         inkyInCorridor = false;
-         clydeInCorridor = false;
-         inkyNoReturn = true;
-         clydeNoReturn = true;
-         pinkyGoesUp = !died;
-         
-         ghostsEaten = 0;
-      
-         if(!newLevel){
-            collider = new Timer(0, new CollideListener(this, false));
-            try{Thread.sleep(500);}
-            catch(InterruptedException b){}
-            collider.start();
-            if(sound){
-               try{
-                  AudioInputStream pdiesAIS = AudioSystem.getAudioInputStream(new File("sounds\\pacdeath.wav").getAbsoluteFile());
-                  Clip pacDeath = AudioSystem.getClip();
-                  pacDeath.open(pdiesAIS);
-                  pacDeath.start();
-               }
-               catch(Exception e){} 
-            }  
-         }
-         else{
-            blinker = new Timer(0, new BlinkListener(this));
-            blinker.start();
-         }
-      }
+         ghost.drawMe(g);
    }
-   
-   /**
-   Stops animation and ensures the player cannot do anything except 
-   restart the level after losing all lives. Begins a new death animation 
-   that displays "Game Over" after concluding, and starts the death sound if
-   sound is wanted.
-   */
-   public void lose()
-   {
-      level = 0;
-      animation.stop();
-      removeKeyListener(keyListener);
-      addKeyListener(new Key(true));
-      
-      if(sound){
-         try{
-            AudioInputStream pdiesAIS = AudioSystem.getAudioInputStream(new File("sounds\\pacdeath.wav").getAbsoluteFile());
-            Clip pacDeath = AudioSystem.getClip();
-            pacDeath.open(pdiesAIS);
-            pacDeath.start();
-         }
-         catch(Exception e){} 
-      }
-      
-      gameOver = new Timer(0, new CollideListener(this, true));
-      gameOver.start();
-   }
-   
+
    /**
-   Determines whether all pellets have been collected or have not.
-   @param p array of pac-dots
-   @param pp   array of power pellets
-   @return  whether all pellets have been collected, in which case true, or not,
-   in which case false
+   Returns whether frightened ghosts are drawn white in the current frame.
+   Over the last two seconds the ghosts are frightened, they alternate between
+   white and blue once every eighth of a second, starting with white.
+   @return  whether frightened ghosts are drawn white
    */
-   private boolean allPellets(Pellet[] p, Pellet[] pp)
+   private boolean isFlashing()
    {
-      for(int x = 0; x < pellet.length; x++){
-         if(x < pp.length)
-            if(pp[x].getColor() == Color.WHITE)
-               return false;
-         if(p[x].getColor() == Color.WHITE)
-            return false;
-      }
-      return true;
+      int left = engine.getFrightenedSteps() * GameEngine.STEP_MILLIS;
+      if(left <= 0 || left >= 2000)
+         return false;
+      return (2000 - left) / 125 % 2 == 0;
    }
-   
+
    /**
-   The Key class extends KeyAdapter to act as a Listener 
+   The Key class extends KeyAdapter to act as a Listener
    to detect keyboard input for the player to control PacMan's movement.
    */
    private class Key extends KeyAdapter
    {
       /**
-      Represents whether the player can move PacMan, 
-      as they are playing the game and thus do not need 
-      to restart, in which case it is true. If a restart is needed, it is false.
-      */
-      private boolean restart;
-      /**
-      Constructs a new Key object with the specified type of input wanted to be
-      acted upon. If a true boolean is inputted, the player can only restart the
-      game; if not, the player can move PacMan as the game is played.
-      @param b whether the player can only restart the game (true) or move 
-      PacMan as the game plays (false)
-      */
-      public Key(boolean b)
-      {
-         restart = b;
-      }
-      /**
-      Reacts to a specified input key to control PacMan's movement and the game.
-      If the player can move PacMan, arrow or WASD keys can be used to control
-      PacMan's movement, each changing his direction depending on the key 
-      pressed. Up and W keys change his movement to upwards, A and left keys to 
-      leftwards,D and right keys to rightwards, and S and down keys to 
-      downwards. The player is given three frames to change direction, and
-      direction is not changed if not possible. If the escape key is pressed,
-      the game is quit and the program ends. If the player can reset, if space
-      is pressed, the game is reset.
+      Receives input from keyboard; left arrow and A keys correspond to
+      leftwards, up arrow and W keys to upwards, right arrow and D keys to
+      rightwards, and S and down keys to downwards. The direction is queued
+      for the thread stepping the game, which hands it to the game at the
+      next step not already taken by an earlier key press; the game turns
+      PacMan at the first step it can, within the steps a turn is tried for.
+      No rule of the game is run here. Directions are ignored while a replay
+      is played back. If the escape key is pressed, the game is quit and the
+      program ends, its recording, if any, being finished as the program
+      ends. If the game is over and space is pressed, the game is reset.
       @param e Event of key being pressed
       */
       public void keyPressed(KeyEvent e)
       {
-         if(!restart){
-            if(e.getKeyCode() == 37 || e.getKeyCode() == KeyEvent.VK_A){
-               if(pac.canGo(1, maze))
-                  pac.setDirection(1);
-               else {
-                  for(int c = 0; c < 2; c++){
-                     long time = System.currentTimeMillis() + 5;
-                     while(System.currentTimeMillis() < time){
-                        updateUI();
-                     }
-                     drawBoard();
-                     updateUI();
-                     if(pac.canGo(1, maze)){
-                        pac.setDirection(1); 
-                        break;
-                     }
-                  }  
-               }
-            }
-            if(e.getKeyCode() == 38 || e.getKeyCode() == KeyEvent.VK_W){
-               if(pac.getX() > 0 && pac.getX() < WIDTH){
-                  if(pac.canGo(2, maze))
-                     pac.setDirection(2);
-                  else {
-                     for(int c = 0; c < 2; c++){
-                        long time = System.currentTimeMillis() + 5;
-                        while(System.currentTimeMillis() < time){
-                           updateUI();
-                        }
-                        drawBoard();
-                        updateUI();
-                        if(pac.canGo(2, maze)){
-                           pac.setDirection(2);
-                           break;
-                        } 
-                     }               
-                  }
-               }
-            }
-            if(e.getKeyCode() == 39 || e.getKeyCode() == KeyEvent.VK_D){
-               if(pac.canGo(3, maze))
-                  pac.setDirection(3);
-               else {
-                  for(int c = 0; c < 2; c++){
-                     long time = System.currentTimeMillis() + 5;
-                     while(System.currentTimeMillis() < time){
-                        updateUI();
-                     }
-                     drawBoard();
-                     updateUI();
-                     if(pac.canGo(3, maze)){
-                        pac.setDirection(3); 
-                        break;
-                     }
-                  }  
-               }
-            }
-            if(e.getKeyCode() == 40 || e.getKeyCode() == KeyEvent.VK_S){
-               if(pac.getX() > 0 && pac.getX() < WIDTH)
-                  if(pac.canGo(4, maze))
-                     pac.setDirection(4);
-                  else {
-                     for(int c = 0; c < 2; c++){
-                        long time = System.currentTimeMillis() + 5;
-                        while(System.currentTimeMillis() < time){
-                           updateUI();
-                        }
-                        drawBoard();
-                        updateUI();
-                        if(pac.canGo(4, maze)){
-                           pac.setDirection(4); 
-                           break;
-                        }
-                     }  
-                  }
-            }
-         }
-         
-         else if(restart)
-            if(e.getKeyCode() == KeyEvent.VK_SPACE)
-               scoreboard.restart();
-               
-               
          if(e.getKeyCode() == KeyEvent.VK_ESCAPE)
             System.exit(0);
-            
+         if(replay != null){
+            if(phase == GameEngine.GAME_OVER && e.getKeyCode() == KeyEvent.VK_SPACE)
+               scoreboard.restart();
+            return;
+         }
+
+         if(e.getKeyCode() == 37 || e.getKeyCode() == KeyEvent.VK_A)
+            inputs.offer(Input.turn(1));
+         if(e.getKeyCode() == 38 || e.getKeyCode() == KeyEvent.VK_W)
+            inputs.offer(Input.turn(2));
+         if(e.getKeyCode() == 39 || e.getKeyCode() == KeyEvent.VK_D)
+            inputs.offer(Input.turn(3));
+         if(e.getKeyCode() == 40 || e.getKeyCode() == KeyEvent.VK_S)
+            inputs.offer(Input.turn(4));
+
+         if(phase == GameEngine.GAME_OVER && e.getKeyCode() == KeyEvent.VK_SPACE)
+            scoreboard.restart();
       }
    }
-   
+
    /**
-   The AnimationListener class implements the ActionListener class to animate
-   the playing of the game through calling the drawBoard method.
+   The AnimationListener class implements the Runnable interface to animate
+   the playing of the game through calling the stepGame method once per step
+   of the GameLoop.
    */
-   private class AnimationListener implements ActionListener
+   private class AnimationListener implements Runnable
    {
       /**
-      Updates the panel by moving PacMan and each ghost, and drawing each as 
-      well as a fruit, pellets and power pellets based on previous interactions
-      in the panel.
-      @param e event that determines whether method is called; required
-      parameter for implementation of ActionListener interface
+      Steps the game forward with the input of the player and displays it.
       */
-      public void actionPerformed(ActionEvent e)
+      public void run()
       {
-         drawBoard();
+         stepGame();
       }
    }
-   
+
    /**
-   The ReadyListener class implements the ActionListener class to animate
-   the introductory sequence of the PacMan game.
+   The Presenter class implements the Runnable interface to present a frame in
+   active mode, drawing the whole window holding the panel into the back buffer
+   of the BufferStrategy of the window and then showing it, rather than waiting
+   for Swing to repaint the panel.
    */
-   private class ReadyListener implements ActionListener
+   private class Presenter implements Runnable
    {
-      /** Time in milliseconds (since January 1st, 1970) when the introductory
-      sequence concludes. */
-      private long durationUntil;
-      /** Reference to the original PacManPanel, to update and display the
-      changes in the panel. */
-      private JPanel panel;
-      /**
-      Constructs a new ReadyListener with specified stopping point and reference
-      back to   PacManPanel to update animation.
-      @param milliSec	assigned to durationUntil; milliseconds at desired
-      stopping point since January 1st 1970
-      @param panel	assigned to panel; reference to PacManPanel
-      */
-      public ReadyListener(long milliSec, JPanel panel)
-      {
-         durationUntil = milliSec;
-         this.panel = panel;
-      }
-      /**
-      Performs preparatory animations before the game starts. If the player has
-      just died, PacMan and each ghost are reset to ensure movement from the
-      concurring of the previous Timer does not move each ghost. If the Timer is
-      1700 milliseconds from ending, the panel is redrawn with only the display
-      of "Ready!". When the timer stops, the animation begins, including the 
-      siren sound if sound is wanted, as well as changing Blinky's x-coordinate
-      to ensure it can properly move.
-      @param e event that determines whether method is called; required
-      parameter for implementation of ActionListener interface
-      */
-      public void actionPerformed(ActionEvent e)
-      {
-         if(died){
-            pinky.reset();
-            inky.reset();
-            clyde.reset();
-         }
-         if(System.currentTimeMillis() > durationUntil - 1700)
-         {
-            drawBackground(false);
-            drawPellets();
-            
-            pac.drawMe(g, 12);
-            blinky.drawMe(g);
-            pinky.drawMe(g);
-            inky.drawMe(g);
-            clyde.drawMe(g);
-            
-            drawPlayerReady(true);
-            
-            panel.updateUI();
-         }
-         if(durationUntil - System.currentTimeMillis() <= 0){
-            panel.setFocusable(true);
-            panel.requestFocus();
-            
-            panel.addKeyListener(keyListener);
-            
-            animation.start();
-            pac.setDirection(1);
-            
-            blinky.setX(blinky.getX() - 4);
-            if(sound)
-               siren.start();
-            intro.stop();
-         }
-      }
       /**
-      Sets a new time for the Timer to continue until before stopping its
-      animation.
-      @param milliSec	assigned to durationUntil; milliseconds at desired
-      stopping point since January 1st 1970
+      Brings the scoreboard up to date with the steps taken since the last
+      frame, then draws the window into its back buffer and shows it, drawing
+      it again if the contents of the buffer were lost along the way. Nothing
+      is presented until the window is showing and has a BufferStrategy, nor
+      once the panel has been disposed.
       */
-      public void setDuration(long milliSec)
+      public void run()
       {
-         durationUntil = milliSec;
+         if(disposed)
+            return;
+         showHud();
+         Window w = SwingUtilities.getWindowAncestor(PacManPanel.this);
+         if(w == null || !isShowing())
+            return;
+         BufferStrategy strategy = w.getBufferStrategy();
+         if(strategy == null)
+            return;
+         do{
+            do{
+               Graphics bg = strategy.getDrawGraphics();
+               w.paint(bg);
+               bg.dispose();
+            }
+            while(strategy.contentsRestored());
+            strategy.show();
+         }
+         while(strategy.contentsLost());
+         Toolkit.getDefaultToolkit().sync();
       }
    }
-   
+
    /**
-   The BlinkListener class implements the ActionListener class to animate
-   the blinking sequence found at the conclusion of a PacMan level.
+   Steps the game forward once with the next of what the player has asked of
+   PacMan, or with what the replay being played back asked, plays the
+   sounds of what happened during the step if sound is wanted, and draws the
+   board. The scoreboard is brought up to date right away, or in active mode
+   with the next frame. Turns asked for are handed to the recording of the
+   game, if any. Once the game is lost the recording is finished, and once
+   "Game Over" has been shown for GameEngine.GAME_OVER_STEPS the animation
+   stops. A replay stops as soon as it is over. Nothing waits here on a clock,
+   the disk, or the player, and nothing is done once the panel is disposed.
    */
-   private class BlinkListener implements ActionListener
+   private void stepGame()
    {
-      /** Time in milliseconds (since January 1st, 1970) when the blinking
-      sequence concludes. */
-      private long timeToStop;
-      /** Reference to the original PacManPanel, to update and display 
-      the changes in the panel. */
-      private JPanel p;
-      /**
-      Constructs a new BlinkListener with specified reference back to   
-      PacManPanel to update animation, and creating a specified stopping point
-      two seconds within the future.
-      @param panel	assigned to p; reference to PacManPanel
-      */
-      public BlinkListener(JPanel panel)
-      {
-         timeToStop = System.currentTimeMillis() + 2000;
-         p = panel;
-      }
-      /**
-      Draws the entire background as well as PacMan either white or blue every
-      eighth of a second until the specified stopping point. When reached, a
-      fruit is displayed in the bottom right corner depending on the new level
-      reached, and the introductory Timer is started.
-      @param e event that determines whether method is called; required
-      parameter for implementation of ActionListener interface
-      */
-      public void actionPerformed(ActionEvent e){
-         if(System.currentTimeMillis() < timeToStop - 1750){
-            drawBackground(false);
-         }
-         else if(System.currentTimeMillis() < timeToStop - 1500){
-            drawBackground(true);
-         }
-         else if(System.currentTimeMillis() < timeToStop - 1250){
-            drawBackground(false);
-         }
-         else if(System.currentTimeMillis() < timeToStop - 1000){
-            drawBackground(true);
-         }
-         else if(System.currentTimeMillis() < timeToStop - 750){
-            drawBackground(false);
-         }
-         else if(System.currentTimeMillis() < timeToStop - 500){
-            drawBackground(true);
-         }
-         else if(System.currentTimeMillis() < timeToStop - 250){
-            drawBackground(false);
-         }
-         else if(System.currentTimeMillis() < timeToStop){
-            drawBackground(true);
-         }
-         else if(System.currentTimeMillis() >= timeToStop){
-            drawBackground(false);
-            pac.drawMe(g, 0);
-            pac.reset();
-            p.updateUI();
-            
-            ready.setDuration(System.currentTimeMillis() + 2000);
-            intro.start();
-            blinker.stop();
-            
-            if(level == 2){
-               fruit.setType(2);
-               scoreboard.showFruit(2);
-            }
-            else if(level == 3){
-               fruit.setType(3);
-               scoreboard.showFruit(3);
-            }
-            else if(level == 5){
-               fruit.setType(4);
-               scoreboard.showFruit(4);
-            }
-            else if(level == 7){
-               fruit.setType(5);
-               scoreboard.showFruit(5);
-            }
-         }
-         pac.drawMe(g, 0);
-         p.updateUI();
+      if(disposed)
+         return;
+      Input in;
+      if(replay != null)
+         in = replay.next();
+      else
+         in = inputs.poll();
+      int events = engine.step(in);
+      phase = engine.getPhase();
+      tick = engine.getTick();
+      level = engine.getLevel();
+      if(recorder != null && in.getDirection() != 0)
+         recorder.record(tick, in.getDirection());
+
+      if(sound)
+         playSounds(events);
+      hudEvents |= events;
+      hudStale = true;
+      if(!animation.isActive())
+         showHud();
+
+      drawFrame();
+
+      if(replay != null && replay.isOver() && (events & GameEngine.LOST) == 0){
+         animation.stop();
+         return;
+      }
+      if((events & GameEngine.LOST) != 0){
+         if(recorder != null)
+            recorder.end(tick, level);
+         if(replay != null)
+            animation.stop();
       }
+      if((events & GameEngine.FINISHED) != 0)
+         animation.stop();
    }
-             
+
    /**
-   The Pause Listener class implements the ActionListener class to animate
-   the pause sequence of the PacMan game when bonus points are scored and
-   displayed.
+   Brings the lives, fruit and score on the scoreboard up to date with the
+   steps taken since it last was, if any, on the event dispatch thread. The
+   panel takes the focus once the game has started, and once "Game Over" has
+   been shown for GameEngine.GAME_OVER_STEPS the player is asked to enter
+   their score.
    */
-   private class PauseListener implements ActionListener
+   private void showHud()
    {
-      /** Reference to the original PacManPanel, to update and display 
-      the changes in the panel. */
-      private JPanel panel;
-      /** Point value displayed when Listener is being called. */
-      private int score;
-      /** x-coordinate where the displaying of the point value is
-      centered around. */
-      private int centerX;
-      /** y-coordinate where the displaying of the point value is =
-      centered around. */
-      private int centerY;
-      /** Time in milliseconds (since January 1st, 1970) when the pause sequence
-      concludes. */
-      private long duration;
-      /** The ghost that PacMan has collided with, if that induced the pause
-      sequence. */
-      private Ghost ghost;
-      /**
-      Constructs a new PauseListener with specified reference back to   
-      PacManPanel to update animation.
-      @param p assigned to panel; reference to PacManPanel
-      */
-      public PauseListener(JPanel p)
-      {
-         panel = p;
+      if(!hudStale)
+         return;
+      hudStale = false;
+      int events = hudEvents;
+      hudEvents = 0;
+      if((events & GameEngine.STARTED) != 0)
+         requestFocus();
+      if((events & GameEngine.NEW_LEVEL) != 0)
+         scoreboard.showFruit(engine.getFruit().getType());
+      scoreboard.setLives(engine.getLives());
+      scoreboard.setScore(engine.getScore());
+      scoreboard.refresh();
+      if((events & GameEngine.FINISHED) != 0)
+         scoreboard.enterHighScore();
+   }
+
+   /**
+   Plays and stops sounds according to the events of the last step of the
+   game, each only posting a command to the mixer thread of the SoundBank.
+   The frightened sound plays once a power pellet is eaten, and the dead
+   ghost sound while any ghost returns to the ghost house. The pellet eating
+   sound loops while PacMan is collecting pellets. Eating a fruit or a ghost,
+   gaining a life, and dying each have a sound of their own.
+   @param events  events of the last step of the game
+   */
+   private void playSounds(int events)
+   {
+      if((events & GameEngine.POWER_PELLET) != 0)
+         frightened.play();
+      if((events & GameEngine.PELLET) != 0 && !collecting){
+         eatSound.loop();
+         collecting = true;
+      }
+      if((events & GameEngine.FRUIT) != 0)
+         SoundBank.get("eatfruit").play();
+      if((events & GameEngine.GHOST) != 0){
+         SoundBank.get("eatghost").play();
+         eatSound.stop();
       }
-      /** Specifies new instance of pausing, and all parameters of what this 
-      pause sequence will display.
-      @param x assigned to centerX; x-coordinate which the score displayed is
-      centered around
-      @param y assigned to centerY; y-coordinate which the score displayed is
-      centered around
-      @param s assigned to score; point value being displayed
-      @param g assigned to ghost; ghost PacMan has collided with, if that has
-      induced the pause sequence. If not, a generic Ghost object is used.
-      @param d assigned to duration; time in milliseconds (since January 1st, 
-      1970) when the pause sequence concludes. 
-      **/
-      public void setCoordinates(int x, int y, int s, Ghost g, long d)
-      {
-         score = s;
-         centerX = x;
-         centerY = y;
-         ghost = g;
-         duration = d;
+      if((events & GameEngine.EXTRA_LIFE) != 0)
+         SoundBank.get("newlife").play();
+      if((events & (GameEngine.DIED | GameEngine.LEVEL_CLEARED)) != 0){
+         eatSound.stop();
+         deadGhost.stop();
+         frightened.stop();
       }
-      /**
-      Draws entire board, including each ghost, pellet, and background, but
-      excluding PacMan and the ghost it collided with.
-      Draws specified point value at specified, pre-determined coordinates.
-      Restarts the animation and siren sound (if sound is wanted)
-      when the stopping point is reached.
-      @param e event that determines whether method is called; required
-      parameter for implementation of ActionListener interface
-      */
-      public void actionPerformed(ActionEvent e)
-      {
-         if(duration > System.currentTimeMillis()){
-            drawBackground(false);
-            drawPellets();
-            
-            if(!ghost.equals(blinky)){
-               if(blinky.isDead())
-                  blinky.drawDead(g);
-               else if(blinky.isFright())
-                  blinky.drawBlue(g);
-               else
-                  blinky.drawMe(g);
-            }
-            
-            if(!ghost.equals(pinky)){
-               if(pinky.isDead())
-                  pinky.drawDead(g);
-               else if(pinky.isFright())
-                  pinky.drawBlue(g);
-               else
-                  pinky.drawMe(g);
-            }
-            
-            if(!ghost.equals(inky)){
-               if(inky.isDead())
-                  inky.drawDead(g);
-               else if(inky.isFright())
-                  inky.drawBlue(g);
-               else
-                  inky.drawMe(g);
-            }
-            
-            if(!ghost.equals(clyde)){
-               if(clyde.isDead())
-                  clyde.drawDead(g);
-               else if(clyde.isFright())
-                  clyde.drawBlue(g);
-               else
-                  clyde.drawMe(g);
-            }
-            if(!fruit.isEaten())
-               fruit.drawMe(g, pac, scoreboard);
-               
-            g.setColor(Color.BLACK);
-            g.fillRect(centerX - 18, centerY - 18, 36, 36);
-            g.setFont(new Font("Monospaced", Font.BOLD, 18));
-            g.setColor(Color.WHITE);
-            g.drawString(score + "", centerX - 18, centerY + 5);
-            
-            panel.updateUI();
-         }
-         else {
-            pause.stop();
-            animation.start();
-            if(sound)
-               siren.start();
-         }
+      if((events & GameEngine.DIED) != 0)
+         SoundBank.get("pacdeath").play();
+
+      if(engine.getPhase() != GameEngine.PLAYING)
+         return;
+      Ghost[] ghosts = engine.getGhosts();
+      boolean anyDead = false;
+      boolean anyFright = false;
+      for(int x = 0; x < ghosts.length; x++){
+         anyDead = anyDead || ghosts[x].isDead();
+         anyFright = anyFright || ghosts[x].isFright();
+      }
+      if(anyDead){
+         frightened.stop();
+         if(!deadGhost.isPlaying())
+            deadGhost.play();
+      }
+      if((events & GameEngine.REVIVED) != 0){
+         if(anyFright)
+            frightened.resume();
+         deadGhost.stop();
+      }
+      if((events & GameEngine.FRIGHT_OVER) != 0)
+         frightened.stop();
+      if(engine.getPacMan().inDirectionOfPellets(engine.getPellets(), engine.getMaze())){
+         collecting = false;
+         eatSound.stop();
       }
    }
-   
+
    /**
-   The CollideListener class implements the ActionListener class to animate
-   the dying sequence of the PacMan game, once PacMan hits a ghost.
+   Draws the board as it is in the current phase of the game. While READY,
+   the board is drawn with "Ready!", the ghosts being hidden behind "Player"
+   at the start of a new game. While PLAYING, only what has changed is drawn
+   again. While PAUSED, the board is drawn without PacMan and the ghost
+   eaten, with the points scored where they were. While DYING, the board
+   stands still, then PacMan shrinks away, and once the game is over "Game
+   Over" is shown. When a level is CLEARED the maze blinks white and blue.
+   A board that stands still from one step to the next is not drawn again.
    */
-   private class CollideListener implements ActionListener
+   private void drawFrame()
    {
-      /** Time in milliseconds (since January 1st, 1970) when the dying sequence
-      concludes. */
-      private long timeToStop;
-      /** Reference to the original PacManPanel, to update and display 
-      the changes in the panel. */
-      private JPanel p;
-      /** Whether the game has ended and all lives have been lost or not */
-      private boolean gameEnds;
-      /** Whether the player can enter their score into the leaderboards or not;
-      prevents repeated asking */
-      private boolean canEnterScore = true;
-      /**
-      Constructs a new CollideListener with specified reference back to   
-      PacManPanel to update animation.
-      @param panel	assigned to p; reference to PacManPanel
-      @param b assigned to gameEnds; whether all lives have been lost
-      */
-      public CollideListener(JPanel panel, boolean b)
-      {
-         timeToStop = System.currentTimeMillis() + 2000;
-         p = panel;
-         gameEnds = b;
+      int step = engine.getPhaseStep();
+      switch(engine.getPhase()){
+         case GameEngine.READY:
+            drawReady();
+            break;
+         case GameEngine.PLAYING:
+            drawBoard();
+            break;
+         case GameEngine.PAUSED:
+            if(step == 0)
+               drawPause();
+            break;
+         case GameEngine.DYING:
+            int dying = step - GameEngine.FREEZE_STEPS;
+            if(dying >= 0 && dying < GameEngine.DYING_STEPS)
+               drawDying(DYING_ARCS[dying * GameEngine.STEP_MILLIS / BLINK_MILLIS]);
+            else if(dying == GameEngine.DYING_STEPS)
+               drawDying(null);
+            break;
+         case GameEngine.GAME_OVER:
+            if(step == 0){
+               drawDying(DYING_ARCS[DYING_ARCS.length - 1]);
+               g.setColor(GAME_OVER_COLOR);
+               g.setFont(GAME_OVER_FONT);
+               MazeLayout layout = engine.getLevelFile().getLayout();
+               g.drawString("GAME   OVER", layout.getFruitX() - 99, layout.getFruitY() + 9);
+            }
+            break;
+         case GameEngine.CLEARED:
+            drawBackground(step * GameEngine.STEP_MILLIS / BLINK_MILLIS % 2 == 1);
+            engine.getPacMan().drawMe(g, 0);
+            flush();
+            break;
       }
-      /**
-      Draws PacMan at decreasing sizes of arcs every eighth of a second until
-      the specified stopping point and it disappears as the dying animation.
-      When the pre-determined stopping point is reached, if the game has ended,
-      "Game Over" is displayed and the player is asked to input their score.
-      Once asked, they cannot input their score again. If the game has not
-      ended, half a second is waited until the introduction Timer is again
-      started.
-      @param e event that determines whether method is called; required
-      parameter for implementation of ActionListener interface
-      */
-      public void actionPerformed(ActionEvent e){
-         
-         drawBackground(false);
-         drawPellets();
+   }
+
+   /**
+   Draws the board before PacMan starts moving, with PacMan, the pellets,
+   and "Ready!", along with the ghosts, or "Player" at the start of a new
+   game.
+   */
+   private void drawReady()
+   {
+      drawBackground(false);
+      drawPellets();
+      engine.getPacMan().drawMe(g, 12);
+      if(engine.isIntro() && engine.getPhaseStep() < GameEngine.PLAYER_STEPS)
+         drawPlayerReady(false);
+      else{
+         engine.getBlinky().drawMe(g);
+         engine.getPinky().drawMe(g);
+         engine.getInky().drawMe(g);
+         engine.getClyde().drawMe(g);
+         drawPlayerReady(true);
+      }
+      flush();
+   }
+
+   /**
+   Draws the board while paused after PacMan has eaten a ghost or fruit,
+   including each ghost but the one eaten, pellets, and background, but
+   excluding PacMan. The points scored are drawn where the ghost or fruit
+   was.
+   */
+   private void drawPause()
+   {
+      drawBackground(false);
+      drawPellets();
+      Ghost[] ghosts = engine.getGhosts();
+      for(int x = 0; x < ghosts.length; x++)
+         if(ghosts[x] != engine.getPauseGhost())
+            drawGhost(ghosts[x], false);
+      if(engine.isFruitShown())
+         engine.getFruit().drawMe(g);
+
+      int centerX = engine.getPauseX();
+      int centerY = engine.getPauseY();
+      g.setColor(Color.BLACK);
+      g.fillRect(centerX - 18, centerY - 18, 36, 36);
+      if(engine.getPausePoints() != pointsShown){
+         pointsShown = engine.getPausePoints();
+         pointsText = Integer.toString(pointsShown);
+      }
+      g.setFont(POINTS_FONT);
+      g.setColor(Color.WHITE);
+      g.drawString(pointsText, centerX - 18, centerY + 5);
+      flush();
+   }
+
+   /**
+   Draws a frame of the dying animation of PacMan, covering him with the
+   given black arc, or entirely once the animation is over.
+   @param arc  starting angle and entire angle of the arc, or null to cover
+   PacMan entirely
+   */
+   private void drawDying(int[] arc)
+   {
+      PacMan pac = engine.getPacMan();
+      drawBackground(false);
+      drawPellets();
+      if(arc != null){
          g.setColor(Color.YELLOW);
          g.fillOval(pac.getX() - 16, pac.getY() - 16, 32, 32);
-      
-         if(System.currentTimeMillis() < timeToStop - 1750){
-            pac.drawDying(g, pac.getX(), pac.getY(), 68, 44);
-         }
-         else if(System.currentTimeMillis() < timeToStop - 1500){
-            pac.drawDying(g, pac.getX(), pac.getY(), 45, 60);
-         }
-         else if(System.currentTimeMillis() < timeToStop - 1250){
-            pac.drawDying(g, pac.getX(), pac.getY(), 22, 136);
-         }
-         else if(System.currentTimeMillis() < timeToStop - 1000){
-            pac.drawDying(g, pac.getX(), pac.getY(), 0, 180);
-         }
-         else if(System.currentTimeMillis() < timeToStop - 750){
-            pac.drawDying(g, pac.getX(), pac.getY(), -22, 225);
-         }
-         else if(System.currentTimeMillis() < timeToStop - 500){
-            pac.drawDying(g, pac.getX(), pac.getY(), -45, 270);
-         }
-         else if(System.currentTimeMillis() < timeToStop - 250){
-            pac.drawDying(g, pac.getX(), pac.getY(), -68, 316);
-         }
-         else if(System.currentTimeMillis() < timeToStop){
-            pac.drawDying(g, pac.getX(), pac.getY(), -90, 360); 
-         }
-         else if(System.currentTimeMillis() >= timeToStop){
-            g.setColor(Color.BLACK);
-            g.fillOval(pac.getX() - 16, pac.getY() - 16, 32, 32);
-            
-            if(gameEnds){
-               pac.drawDying(g, pac.getX(), pac.getY(), -90, 360);
-               g.setColor(Color.RED.darker());
-               g.setFont(new Font("Monospaced", Font.BOLD, 30));
-               g.drawString("GAME   OVER", 237, 429);
-               
-               p.updateUI();
-               
-               if(canEnterScore){
-                  canEnterScore = false;
-                  try{Thread.sleep(1500);}
-                  catch(InterruptedException b){}
-               
-                  scoreboard.enterHighScore();
-               }
-            }
-            else{
-               pac.reset();
-               ready.setDuration(System.currentTimeMillis() + 2000);
-               try{Thread.sleep(500);}
-               catch(InterruptedException b){}
-               intro.start();
-               collider.stop();
-            }
-         }
-         p.updateUI();
+         pac.drawDying(g, pac.getX(), pac.getY(), arc[0], arc[1]);
       }
+      flush();
    }
 
 
   /**
-  Updates current state of board to the next frame available. 
+  Draws the board after a step of the game while PacMan is controlled by the
+  player, restoring only the regions changed during the frame before.
   If the width of PacMan's mouth has reached a certain value - either too large
-  or too small - the width is set to decrease or increase. 
-  The background is drawn, and PacMan moves one frame and is then redrawn.
-  If any ghost is dead and sound is wanted, the siren and frightened sound is
-  stopped and the dead ghost sound is started, if it has not started already.
-  If PacMan has collided with a power pellet, all ghosts are set to be
-  frightened and to slow down. The counter of pellets collected since a new
-  level and since a new level or the player has died is increased. If sound is
-  wanted, he siren sound is stopped, and the frightened sound begins. The score
-  is increased by 50. 
-  If PacMan has collided with a pac-dot, the counter of pellets collected since
-  a new level and since a new level or the player has died is increased. The
-  score is increased by 10.
-  If PacMan has collided with a pac-dot or is in the path of collecting pellets
-  and the sound has not previously been started, the pac-dot eating sound
-  begins. This only occurs if sound is wanted.
-  If all pellets have been collected, the level is reset as a new level. 
-  The pellets are drawn. 
-  If the pellets collected since a new level is 70 or 170, a fruit appears in
-  the center. If the fruit is being drawn, it is checked for collisions. If
-  collided with PacMan, the score is increased by the amount specific to that
-  type of fruit, and that score is displayed as the animation is paused for a 
-  second. If sound is wanted, the fruit sound is also played.
-  If the duration has ended, the fruit is not drawn and not checked for 
-  collisions. 
-  Each ghost is then checked for various characteristics determining their 
-  behavior. If a ghost is dead, it moves one frame towards the center of the
-  ghost house, where it is set as alive once reached. If a ghost is frightened,
-  it checks for collisions with PacMan, where if it is collided with it becomes
-  dead and its speed increases drastically. Otherwise, the ghost moves one 
-  frame,where it randomly chooses a path to take at each intersection. If a 
-  ghost is within the ghost house, parameters are checked to see if the ghost 
-  can begin to leave the house. If not met, the ghost bounces back and forth 
-  within the house, moving one frame an up or down direction. If met, the ghost
-  moves a frame in the process of leaving the ghost house. If none of these
-  conditions are met, the ghost moves normally according to its particular AI. 
-  If PacMan collides with a ghost, the level is reset as the scenario of a death
-  of PacMan. 
-  If there isless than two seconds until the ghosts are not frightened any more,
-  the ghosts are drawn, alternating between blue and white, once every eighth of
-  a second. If the stopping point has been reached of when the ghosts are not
-  frightened once more, their speed is set to normal and the siren noise begins,
-  if sound is wanted, as the frightened sound ends. 
+  or too small - the width is set to decrease or increase.
+  PacMan is drawn, the pellets eaten during the step are erased, and the fruit
+  is drawn if it is in the maze. Each ghost is drawn as a pair of eyes if dead,
+  blue if frightened, and in its own colors otherwise. If there is less than
+  two seconds until the ghosts are not frightened any more, they are drawn
+  alternating between blue and white, once every eighth of a second.
   The width of PacMan's mouth is either increased or decreased, depending on
   whether it is currently increasing or decreasing.
   */
@@ -1149,487 +848,37 @@ public class PacManPanel extends JPanel
          chompDecreasing = false;
       if(chompWidth == 12)
          chompDecreasing = true;
-         
-      drawBackground(false);
-      
-      pac.move(maze);
+
+      PacMan pac = engine.getPacMan();
+      PelletIndex pellets = engine.getPellets();
+      restoreDamage();
       pac.drawMe(g, chompWidth);
-      
-      if(sound){
-         if(blinky.isDead() || pinky.isDead() || inky.isDead() || clyde.isDead()){
-            siren.stop();
-            frightened.stop();
-            if(deadGhost == null || !deadGhost.isRunning()){
-               try{
-                  AudioInputStream deadAIS = AudioSystem.getAudioInputStream(new File("sounds\\dead.wav").getAbsoluteFile());
-                  deadGhost = AudioSystem.getClip();
-                  deadGhost.open(deadAIS);
-                  deadGhost.start();
-               }
-               catch(Exception e){}
-            }
-         }
-      }
-      
-      
-      
-      for(int f = 0; f < pellet.length; f++){
-         if(f < powerPellet.length)
-            if(powerPellet[f].collide(pac,scoreboard)){
-               ghostsEaten = 0;
-               blinky.setFrightened(true, blinkyInCorridor);
-               pinky.setFrightened(true, pinkyInCorridor);
-               inky.setFrightened(true, inkyInCorridor);
-               clyde.setFrightened(true, clydeInCorridor);
-               frightenedDuration = System.currentTimeMillis() + 6000;
-               pelletsCollectedSinceDeath++;
-               allPelletsCollected++;
-               
-               if(sound){
-                  try{
-                     AudioInputStream frightAIS = AudioSystem.getAudioInputStream(new File("sounds\\frightened.wav").getAbsoluteFile());
-                     frightened = AudioSystem.getClip();
-                     frightened.open(frightAIS);
-                  }
-                  catch(Exception e){}
-                  frightened.start();
-                  siren.stop();
-               }
-            }
-         if(pellet[f].collide(pac, scoreboard)){
-            pelletsCollectedSinceDeath++;
-            allPelletsCollected++;
-            if(sound && !collecting){
-               eatSound.start();
-               collecting = true;
-            }
-         }
-      }
-      if( pac.inDirectionOfPellets(pellet, powerPellet, maze) && sound){
-         collecting = false;
-         eatSound.stop();
-      }
-      
-      drawPellets();
-      
-      if(allPelletsCollected ==  70 || allPelletsCollected == 170){
-         fruitTimer = System.currentTimeMillis() + 10000;
-         fruit.setEaten(false);
-      }
-      
-      if(fruitTimer >= System.currentTimeMillis() && !fruit.isEaten() ){
-         if(fruit.drawMe(g, pac, scoreboard)){
-            int fruitscore = 0;
-            switch(fruit.getType()){
-               case 1:
-                  fruitscore = 100;
-                  break;
-               case 2:
-                  fruitscore = 300;
-                  break;
-               case 3:
-                  fruitscore = 500;
-                  break;
-               case 4:
-                  fruitscore = 700;
-                  break;
-               case 5:
-                  fruitscore = 1000;
-                  break;
-            }
-            
-            if(sound){
-               try{
-                  AudioInputStream fruitAIS = AudioSystem.getAudioInputStream(new File("sounds\\eatfruit.wav").getAbsoluteFile());
-                  fruitS = AudioSystem.getClip();
-                  fruitS.open(fruitAIS);
-               }
-               catch(Exception e){}
-               fruitS.start();
-            
-               siren.stop();
-            }
-            
-            animation.stop();
-            fruitTimer = 0;
-            frightenedDuration += 1000;
-            pauseListener.setCoordinates(336, 420, fruitscore, new Ghost(), System.currentTimeMillis() + 1000);
-            pause.start();
-         
-         }
-      }
-      else
-         fruit.setEaten(true);
-      
-      if(blinky.isDead() || blinkyGoesUp || !blinkyInCorridor){
-         if((blinky.getX() == 324 || blinky.getX() == 348) && blinky.getY() == 276 && !blinkyGoesUp && !blinkyGoesDown){
-            blinky.setX(336);
-            blinky.setDirection(4);
-            blinkyInCorridor = false;
-            blinkyGoesDown = true;
-         }
-         else if(blinky.getX() == 336 && blinky.getY() == 276 && blinkyGoesUp){
-            blinky.setDirection(1);
-            blinky.setX(blinky.getX() - 4);
-            if(!blinky.isFright())
-               blinky.setChange(8);
-            blinkyInCorridor = true;
-            blinkyGoesUp = false;
-         }
-         else if(blinky.getX() == 336 && blinky.getY() == 348 && blinkyGoesDown){
-            blinky.setDirection(2);
-            blinky.isAlive();
-            if(sound){
-               if(pinky.isFright() || inky.isFright() || clyde.isFright())
-                  frightened.start();
-               else
-                  siren.start();
-               deadGhost.stop();
-            }
-            blinkyGoesUp = true;
-            blinkyGoesDown = false;
-         }
-         else if(blinkyGoesDown)
-            blinky.setY(blinky.getY() + 6);
-         else if(blinkyGoesUp)
-            blinky.setY(blinky.getY() - 6);
-         else
-            blinky.moveHome(maze);
-         if(blinky.isDead())
-            blinky.drawDead(g);
-         else
-            blinky.drawMe(g);
-      }
-      else if(blinky.isFright()){
-         blinky.moveFrightened(maze);
-         if(blinky.collideGhost(pac, scoreboard, ghostsEaten, sound)){
-            ghostsEaten++;
-            animation.stop();
-            if(sound)
-               eatSound.stop();
-            frightenedDuration += 1000;
-            fruitTimer += 1000;
-            pauseListener.setCoordinates(blinky.getX(), blinky.getY(), (int) (Math.pow(2, ghostsEaten) * 100), blinky, System.currentTimeMillis() + 1000);
-            pause.start();
-         }
-         blinky.drawBlue(g);
-      }
-      else{
-         blinky.moveBlinky(pac, maze);
-         blinky.drawMe(g);
-         if(blinky.collideGhost(pac, scoreboard, ghostsEaten, sound))
-            reset(false);
-      }
-       
-       
-       
-      if(pinky.isDead() && pinkyInCorridor){
-         pinky.moveHome(maze);
-         if((pinky.getX() == 324 || pinky.getX() == 336) && pinky.getY() == 276){
-            pinky.setX(336);
-            pinkyInCorridor = false;
-            pinky.setDirection(4);
-         }
-         pinky.drawDead(g);
-      }
-      else if(pinkyInCorridor && pinky.isFright()){
-         pinky.moveFrightened(maze);
-         if(pinky.collideGhost(pac, scoreboard, ghostsEaten, sound)){
-            ghostsEaten++;
-            animation.stop();
-            if(sound)
-               eatSound.stop();
-            frightenedDuration += 1000;
-            fruitTimer += 1000;
-            pauseListener.setCoordinates(pinky.getX(), pinky.getY(), (int) (Math.pow(2, ghostsEaten) * 100), pinky, System.currentTimeMillis() + 1000);
-            pause.start();
-         }
-         pinky.drawBlue(g);
-      }
-      else{
-         if(pinkyInCorridor){
-            pinky.movePinky(pac, maze);
-            pinky.drawMe(g);
-            if(pinky.collideGhost(pac, scoreboard, ghostsEaten, sound))
-               reset(false);
-         }
-         else if(pinky.getDirection() == 4 && pinky.isDead()){
-            pinky.setY(pinky.getY() + 6);
-            if(pinky.getY() == 348){
-               pinky.setDirection(2);
-               pinkyGoesUp = true;
-               pinky.isAlive();
-               if(sound){
-                  if(blinky.isFright() || inky.isFright() || clyde.isFright())
-                     frightened.start();
-                  else
-                     siren.start();
-                  deadGhost.stop();
-               }
-            }
-         }
-         else if(died && !pinkyGoesUp){
-            pinky.bounceInHouse();
-            if(pelletsCollectedSinceDeath == 7){
-               pinky.setDirection(2);
-               pinkyGoesUp = true;
-            }
-         }
-         else if(pinkyGoesUp){
-            pinky.setY(pinky.getY() - 6);
-            if(pinky.getY() == 276){
-               pinkyInCorridor = true;
-               pinkyGoesUp = false;
-               if(!pinky.isFright())
-                  pinky.setChange(8);
-               pinky.setDirection(1);
-               pinky.setX(pinky.getX() - 4);
-            }
-         }
-          
-         if(pinky.isDead())
-            pinky.drawDead(g);  
-         else if(pinky.isFright())
-            pinky.drawBlue(g);
-         else
-            pinky.drawMe(g);
-      }
-      
-      if(inky.isDead() && inkyInCorridor){
-         inky.moveHome(maze);
-         if((inky.getX() == 324 || inky.getX() == 348) && inky.getY() == 276){
-            inky.setX(336);
-            inkyInCorridor = false;
-            inky.setDirection(4);
-         }
-         inky.drawDead(g);
-      }
-      else if(inkyInCorridor && inky.isFright()){
-         inky.moveFrightened(maze);
-         if(inky.collideGhost(pac, scoreboard, ghostsEaten, sound)){
-            ghostsEaten++;
-            animation.stop();
-            if(sound)
-               eatSound.stop();
-            frightenedDuration += 1000;
-            fruitTimer += 1000;
-            pauseListener.setCoordinates(inky.getX(), inky.getY(), (int) (Math.pow(2, ghostsEaten) * 100), inky, System.currentTimeMillis() + 1000);
-            pause.start();
-         }
-         inky.drawBlue(g);
-      }
-      else if(inkyInCorridor){
-         inky.moveInky(pac, blinky, maze);
-         inky.drawMe(g);
-         if(inky.collideGhost(pac, scoreboard, ghostsEaten, sound))
-            reset(false);
-      }
-      else{
-         if(inky.getX() == 288)
-            inky.bounceInHouse();
-         
-         if(died && inkyNoReturn){
-            if(pelletsCollectedSinceDeath == 17){
-               inky.setDirection(3);
-               inkyNoReturn = false;
-            }
-         }
-         else if(!died && inkyNoReturn){
-            if(level == 1){
-               if(pelletsCollectedSinceDeath == 30){
-                  inky.setDirection(3);
-                  inkyNoReturn = false;
-               }
-            }
-            else if(inky.getY() == 336){
-               inky.setDirection(3);
-               inkyNoReturn = false;
-            } 
-         }
-         else if(inky.getDirection() == 4){
-            inky.setY(inky.getY() + 6);
-            if(inky.getY() == 348){
-               inky.setDirection(2);
-               inky.isAlive();
-               if(sound){
-                  if(blinky.isFright() || pinky.isFright() || clyde.isFright())
-                     frightened.start();
-                  else
-                     siren.start();
-                  deadGhost.stop();
-               }
-            }
-         }
-         else if(inky.getDirection() == 3){
-            inky.setX(inky.getX() + 6);
-            if(inky.getX() == 336)
-               inky.setDirection(2);
-         }
-         else if(inky.getDirection() == 2){
-            inky.setY(inky.getY() - 6);
-            if(inky.getY() == 276){
-               inkyInCorridor = true;
-               inky.setDirection(1);
-               if(!inky.isFright())
-                  inky.setChange(8);
-               inky.setX(inky.getX() - 4);
-            }
-         }
-         if(inky.isDead())
-            inky.drawDead(g);  
-         else if(inky.isFright())
-            inky.drawBlue(g);
-         else
-            inky.drawMe(g);
-      }
-         
-         
-         
-      if(clyde.isDead() && clydeInCorridor){
-         clyde.moveHome(maze);
-         if((clyde.getX() == 324 || clyde.getX() == 348) && clyde.getY() == 276){
-            clyde.setX(336);
-            clydeInCorridor = false;
-            clyde.setDirection(4);
-         }
-         clyde.drawDead(g);
-      }
-      else if(clydeInCorridor && clyde.isFright()){
-         clyde.moveFrightened(maze);
-         if(clyde.collideGhost(pac, scoreboard, ghostsEaten, sound)){
-            ghostsEaten++;
-            animation.stop();
-            if(sound)
-               eatSound.stop();
-            frightenedDuration += 1000;
-            fruitTimer += 1000;
-            pauseListener.setCoordinates(clyde.getX(), clyde.getY(), (int) (Math.pow(2, ghostsEaten) * 100), clyde, System.currentTimeMillis() + 1000);
-            pause.start();
-         }
-         clyde.drawBlue(g);
-      }
-      else if(clydeInCorridor){
-         clyde.moveClyde(pac, maze);
-         clyde.drawMe(g);
-         if(clyde.collideGhost(pac, scoreboard, ghostsEaten, sound))
-            reset(false);
-      }
-      else{
-         if(clyde.getX() == 384)
-            clyde.bounceInHouse();
-            
-         if(died && clydeNoReturn){
-            if(pelletsCollectedSinceDeath == 32){
-               clyde.setDirection(1);
-               clydeNoReturn = false;
-            }
-         }
-         else if(!died && clydeNoReturn){
-            if(level == 1){
-               if(pelletsCollectedSinceDeath == 90){
-                  clyde.setDirection(1);
-                  clydeNoReturn = false;
-               }
-            }
-            else if(level == 2){
-               if(pelletsCollectedSinceDeath == 50){
-                  clyde.setDirection(1);
-                  clydeNoReturn = false;
-               }
-            } 
-            else if(clyde.getY() == 336){
-               clyde.setDirection(1);
-               clydeNoReturn = false;
-            } 
-         }
-         else if(clyde.getDirection() == 4){
-            clyde.setY(clyde.getY() + 6);
-            if(clyde.getY() == 348){
-               clyde.setDirection(2);  
-               if(sound){
-                  if(blinky.isFright() || pinky.isFright() || inky.isFright())
-                     frightened.start();
-                  else
-                     siren.start();
-                  deadGhost.stop();
-               }
-               clyde.isAlive();
-            }
-         }
-         else if(clyde.getDirection() == 1){
-            clyde.setX(clyde.getX() - 6);
-            if(clyde.getX() == 336)
-               clyde.setDirection(2);
-         }
-         else if(clyde.getDirection() == 2){
-            clyde.setY(clyde.getY() - 6);
-            if(clyde.getY() == 276){
-               clydeInCorridor = true;
-               clyde.setDirection(1);
-               if(!clyde.isFright())
-                  clyde.setChange(8);
-               clyde.setX(clyde.getX() - 4);
-            }
-         }
-         if(clyde.isDead())
-            clyde.drawDead(g);  
-         else if(clyde.isFright())
-            clyde.drawBlue(g);
-         else
-            clyde.drawMe(g);
-      }
-      
-   
-      
-      for(long x = frightenedDuration - 2000; x <= frightenedDuration - 125; x += 125)
-      {
-         if(System.currentTimeMillis() > x && System.currentTimeMillis() < x + 125){
-            if(((x - frightenedDuration) * -1) % 250 == 0){
-               if(blinky.isFright() && !blinky.isDead()){
-                  blinky.drawWhite(g);
-               }
-               if(pinky.isFright() && !pinky.isDead())
-                  pinky.drawWhite(g);
-               if(inky.isFright() && !inky.isDead())
-                  inky.drawWhite(g);
-               if(clyde.isFright() && !clyde.isDead())
-                  clyde.drawWhite(g);
-            }
-            else{
-               if(blinky.isFright() && !blinky.isDead())
-                  blinky.drawBlue(g);
-               if(pinky.isFright() && !pinky.isDead())
-                  pinky.drawBlue(g);
-               if(inky.isFright() && !inky.isDead())
-                  inky.drawBlue(g);
-               if(clyde.isFright() && !clyde.isDead())
-                  clyde.drawBlue(g);
-            }
-            updateUI();
-         }
+
+      for(int k = 0; k < engine.getEatenCount(); k++){
+         int eaten = engine.getEaten(k);
+         int r = pellets.getDiameter(eaten) / 2;
+         damage.add(pellets.getX(eaten) - r, pellets.getY(eaten) - r, 2 * r + 1, 2 * r + 1);
       }
-      repaint();
-      
-      if(allPellets(pellet, powerPellet))
-         reset(true);
-           
-      if(frightenedDuration <= System.currentTimeMillis() && (blinky.isFright() || pinky.isFright() || inky.isFright() || clyde.isFright()) ){
-         blinky.setFrightened(false, blinkyInCorridor);
-         pinky.setFrightened(false, pinkyInCorridor);
-         inky.setFrightened(false, inkyInCorridor);
-         clyde.setFrightened(false, clydeInCorridor);
-         ghostsEaten = 0;
-         if(sound){
-            frightened.stop();
-            if(!(blinky.isDead() || pinky.isDead() || inky.isDead() || clyde.isDead()))
-               siren.start();
-         }
+
+      if(engine.isFruitShown()){
+         MazeLayout layout = engine.getLevelFile().getLayout();
+         damage.add(layout.getFruitX() - 24, layout.getFruitY() - 25, 52, 48);
+         engine.getFruit().drawMe(g);
       }
-      
-      if(pac.canGo(pac.getDirection(), maze))
+
+      boolean white = isFlashing();
+      Ghost[] ghosts = engine.getGhosts();
+      for(int x = 0; x < ghosts.length; x++){
+         drawGhost(ghosts[x], white);
+         addDamage(ghosts[x]);
+      }
+      addDamage(pac);
+      flush();
+
+      if(pac.canGo(pac.getDirection(), engine.getMaze()))
          if(chompDecreasing)
             chompWidth -= 3;
          else
             chompWidth += 3;
    }
-}
\ No newline at end of file
+}
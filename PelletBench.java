@@ -0,0 +1,228 @@
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+The PelletBench class times the pellet collision test of many games held in
+one JVM three ways: as a scan of Pellet objects, one array of them for each
+game, the way the panel kept them before PelletIndex; as the same scan over
+the coordinate arrays every game shares, with only a bitset of which pellets
+are eaten kept for each game; and as the lookup by tile of PelletIndex. Each
+game has its own half of the pellets eaten, and PacMan is put at the
+positions he passed through in a game played by the bot. There is no
+benchmark harness in the project, so each is run for a few warm-up rounds
+before being timed, and every result is summed into a total that is printed,
+so that no loop can be left out by the compiler.
+@since 10-18-2026
+*/
+public class PelletBench
+{
+   /** number of games whose pellets are held at once */
+   private static final int GAMES = 1000;
+   /** number of positions of PacMan tested against every game */
+   private static final int POSITIONS = 512;
+   /** rounds of every test run before timing */
+   private static final int WARMUP = 5;
+   /** rounds of every test timed */
+   private static final int ROUNDS = 10;
+
+   /**
+   The main method builds the pellets of every game three ways, checks that
+   all three find the same collisions, and prints how long a test took in
+   the fastest round of each. It exits with a status of 1 if they disagree.
+   @param args  optionally, the seed of the pellets eaten in each game.
+   @throws Exception  removes complication of scanning text files.
+   */
+   public static void main(String[] args) throws Exception
+   {
+      long seed = args.length > 0 ? Long.parseLong(args[0]) : System.nanoTime();
+      GameEngine layout = new GameEngine(0);
+      PelletIndex shared = layout.getPellets();
+      int n = shared.getRemaining();
+      int[] x = new int[n];
+      int[] y = new int[n];
+      int[] d = new int[n];
+      for(int i = 0; i < n; i++){
+         x[i] = shared.getX(i);
+         y[i] = shared.getY(i);
+         d[i] = shared.getDiameter(i);
+      }
+
+      SplittableRandom random = new SplittableRandom(seed);
+      Pellet[][] dots = new Pellet[GAMES][];
+      Pellet[][] power = new Pellet[GAMES][];
+      long[][] uneaten = new long[GAMES][(n + 63) / 64];
+      PelletIndex[] indexes = new PelletIndex[GAMES];
+      PacMan eater = new PacMan(0, 0, 0);
+      for(int g = 0; g < GAMES; g++){
+         dots[g] = new Pellet[n - 4];
+         power[g] = new Pellet[4];
+         indexes[g] = new PelletIndex(shared);
+         int dot = 0;
+         int big = 0;
+         for(int i = 0; i < n; i++){
+            Pellet p = new Pellet(x[i], y[i], d[i]);
+            if(d[i] == PelletIndex.POWER)
+               power[g][big++] = p;
+            else
+               dots[g][dot++] = p;
+            if(random.nextBoolean()){
+               p.setColor(Color.BLACK);
+               eater.setX(x[i]);
+               eater.setY(y[i]);
+               indexes[g].eat(eater);
+            }
+            else
+               uneaten[g][i >> 6] |= 1L << i;
+         }
+      }
+
+      int[] pacX = new int[POSITIONS];
+      int[] pacY = new int[POSITIONS];
+      GameEngine game = new GameEngine(layout, 0);
+      BatchDriver.BotPlayer bot = new BatchDriver.BotPlayer(layout.getMaze());
+      for(int k = 0; k < POSITIONS; k++){
+         game.step(bot.next(game));
+         pacX[k] = game.getPacMan().getX();
+         pacY[k] = game.getPacMan().getY();
+      }
+      PacMan pac = game.getPacMan();
+      int radius = pac.getRadius();
+
+      long objects = collideObjects(pac, pacX, pacY, dots, power);
+      long arrays = collideArrays(pacX, pacY, radius, x, y, d, uneaten);
+      long index = collideIndex(pacX, pacY, radius, indexes);
+      System.out.printf("%d games, %d positions, seed %d, %d %d %d collisions%n",
+         GAMES, POSITIONS, seed, objects, arrays, index);
+
+      long total = 0;
+      for(int round = 0; round < WARMUP; round++)
+         total += collideObjects(pac, pacX, pacY, dots, power)
+            + collideArrays(pacX, pacY, radius, x, y, d, uneaten)
+            + collideIndex(pacX, pacY, radius, indexes);
+      long[] nanos = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+      for(int round = 0; round < ROUNDS; round++){
+         long begin = System.nanoTime();
+         total += collideObjects(pac, pacX, pacY, dots, power);
+         long a = System.nanoTime();
+         total += collideArrays(pacX, pacY, radius, x, y, d, uneaten);
+         long b = System.nanoTime();
+         total += collideIndex(pacX, pacY, radius, indexes);
+         long c = System.nanoTime();
+         nanos[0] = Math.min(nanos[0], a - begin);
+         nanos[1] = Math.min(nanos[1], b - a);
+         nanos[2] = Math.min(nanos[2], c - b);
+      }
+      double tests = (double) GAMES * POSITIONS;
+      System.out.printf("Pellet objects  %.1f ns a test%n", nanos[0] / tests);
+      System.out.printf("shared arrays   %.1f ns a test%n", nanos[1] / tests);
+      System.out.printf("PelletIndex     %.1f ns a test%n", nanos[2] / tests);
+      System.out.println("checksum " + total);
+      if(objects != arrays || arrays != index)
+         System.exit(1);
+   }
+
+   /**
+   Counts the tests in which PacMan collides with an uneaten pellet, scanning
+   the Pellet objects of each game.
+   @param pac  PacMan, moved to each position in turn
+   @param pacX  x-coordinates of PacMan
+   @param pacY  y-coordinates of PacMan
+   @param dots  pac-dots of each game
+   @param power   power pellets of each game
+   @return  number of collisions
+   */
+   private static long collideObjects(PacMan pac, int[] pacX, int[] pacY, Pellet[][] dots, Pellet[][] power)
+   {
+      long count = 0;
+      for(int k = 0; k < pacX.length; k++){
+         pac.setX(pacX[k]);
+         pac.setY(pacY[k]);
+         for(int g = 0; g < dots.length; g++)
+            if(collide(pac, dots[g], power[g]))
+               count++;
+      }
+      return count;
+   }
+
+   /**
+   Returns whether PacMan collides with an uneaten pellet of one game, the way
+   the panel tested the Pellet objects before PelletIndex.
+   @param pac  PacMan to check collision against
+   @param p   pac-dots of the game
+   @param pp  power pellets of the game
+   @return  whether PacMan collides with any uneaten pellet
+   */
+   private static boolean collide(PacMan pac, Pellet[] p, Pellet[] pp)
+   {
+      for(int x = 0; x < p.length; x++){
+         if(Geometry.circlesOverlap(p[x].getX(), p[x].getY(), p[x].getRadius(), pac.getX(), pac.getY(), pac.getRadius()) && p[x].getColor() == Color.WHITE)
+            return true;
+         if(x < pp.length)
+            if(Geometry.circlesOverlap(pp[x].getX(), pp[x].getY(), pp[x].getRadius(), pac.getX(), pac.getY(), pac.getRadius()) && pp[x].getColor() == Color.WHITE)
+               return true;
+      }
+      return false;
+   }
+
+   /**
+   Counts the tests in which PacMan collides with an uneaten pellet, scanning
+   the shared coordinate arrays and the bitset of each game.
+   @param pacX  x-coordinates of PacMan
+   @param pacY  y-coordinates of PacMan
+   @param radius  radius of PacMan
+   @param x   x-coordinates of the pellets
+   @param y   y-coordinates of the pellets
+   @param d   diameters of the pellets
+   @param uneaten   bitset of the uneaten pellets of each game
+   @return  number of collisions
+   */
+   private static long collideArrays(int[] pacX, int[] pacY, int radius, int[] x, int[] y, int[] d, long[][] uneaten)
+   {
+      long count = 0;
+      for(int k = 0; k < pacX.length; k++)
+         for(int g = 0; g < uneaten.length; g++)
+            if(collide(pacX[k], pacY[k], radius, x, y, d, uneaten[g]))
+               count++;
+      return count;
+   }
+
+   /**
+   Returns whether PacMan collides with an uneaten pellet of one game, as
+   the Pellet objects are tested, but scanning the shared coordinate arrays.
+   @param px  x-coordinate of PacMan
+   @param py  y-coordinate of PacMan
+   @param radius  radius of PacMan
+   @param x   x-coordinates of the pellets
+   @param y   y-coordinates of the pellets
+   @param d   diameters of the pellets
+   @param uneaten   bitset of the uneaten pellets of the game
+   @return  whether PacMan collides with any uneaten pellet
+   */
+   private static boolean collide(int px, int py, int radius, int[] x, int[] y, int[] d, long[] uneaten)
+   {
+      for(int i = 0; i < x.length; i++)
+         if(Geometry.circlesOverlap(x[i], y[i], d[i] / 2, px, py, radius) && (uneaten[i >> 6] & (1L << i)) != 0)
+            return true;
+      return false;
+   }
+
+   /**
+   Counts the tests in which PacMan collides with an uneaten pellet, using
+   the PelletIndex of each game.
+   @param pacX  x-coordinates of PacMan
+   @param pacY  y-coordinates of PacMan
+   @param radius  radius of PacMan
+   @param indexes   PelletIndex of each game
+   @return  number of collisions
+   */
+   private static long collideIndex(int[] pacX, int[] pacY, int radius, PelletIndex[] indexes)
+   {
+      long count = 0;
+      for(int k = 0; k < pacX.length; k++)
+         for(int g = 0; g < indexes.length; g++)
+            if(indexes[g].collide(pacX[k], pacY[k], radius))
+               count++;
+      return count;
+   }
+}
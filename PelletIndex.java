@@ -0,0 +1,393 @@
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+The PelletIndex class holds the pac-dots and power pellets of a maze. Their
+coordinates and sizes are kept in plain arrays, and whether each is still
+uneaten is kept as one bit of a bitset along with a count of how many remain.
+The pellets are sorted into buckets, one for each tile of the maze, so that
+checking for collisions between PacMan and the pellets only looks at the
+pellets of the few tiles PacMan could be touching rather than at every pellet
+of the maze.
+@since 10-18-2026
+*/
+public class PelletIndex
+{
+   /** diameter of a pac-dot */
+   public static final int DOT = 8;
+   /** diameter of a power pellet */
+   public static final int POWER = 18;
+   
+   /** x-coordinates of the pellets, pac-dots followed by power pellets */
+   private int[] pelletX;
+   /** y-coordinates of the pellets */
+   private int[] pelletY;
+   /** diameters of the pellets */
+   private int[] diameter;
+   /** one bit for each pellet, set while the pellet has not been eaten */
+   private long[] uneaten;
+   /** number of pellets that have not been eaten */
+   private int remaining;
+   /** column of the leftmost tile holding a pellet */
+   private int firstCol;
+   /** row of the topmost tile holding a pellet */
+   private int firstRow;
+   /** number of columns of tiles spanned by the pellets */
+   private int cols;
+   /** number of rows of tiles spanned by the pellets */
+   private int rows;
+   /** index into order of the first pellet of each tile, with one extra
+   entry marking the end of the last tile */
+   private int[] start;
+   /** indices of the pellets, grouped tile by tile */
+   private int[] order;
+   /** largest radius of any pellet */
+   private int maxRadius;
+   /** smallest horizontal distance of a pellet from the center of its tile */
+   private int minOffsetX;
+   /** largest horizontal distance of a pellet from the center of its tile */
+   private int maxOffsetX;
+   /** smallest vertical distance of a pellet from the center of its tile */
+   private int minOffsetY;
+   /** largest vertical distance of a pellet from the center of its tile */
+   private int maxOffsetY;
+   
+   /**
+   Initializes a PelletIndex holding the pellets whose coordinates and
+   diameters are given, none of them eaten, sorting each into the bucket of
+   the tile it lies in. The arrays are kept rather than copied, so that a
+   maze read from a file never makes a Pellet object for each of its pellets,
+   and must not be changed afterwards.
+   @param x x-coordinates of the pellets
+   @param y y-coordinates of the pellets, as many as there are x-coordinates
+   @param d diameters of the pellets, DOT or POWER, as many as there are
+   x-coordinates
+   @throws IllegalArgumentException if the arrays are not of the same length
+   */
+   public PelletIndex(int[] x, int[] y, int[] d)
+   {
+      if(y.length != x.length || d.length != x.length)
+         throw new IllegalArgumentException("pellet arrays of lengths " + x.length + ", " + y.length + ", " + d.length);
+      pelletX = x;
+      pelletY = y;
+      diameter = d;
+      build();
+   }
+
+   /**
+   Marks every pellet as not yet eaten and sorts the pellets into the bucket
+   of the tile each lies in, once their coordinates and diameters are set.
+   */
+   private void build()
+   {
+      int count = pelletX.length;
+      uneaten = new long[(count + 63) / 64];
+      reset();
+   
+      int minCol = Integer.MAX_VALUE;
+      int minRow = Integer.MAX_VALUE;
+      int maxCol = Integer.MIN_VALUE;
+      int maxRow = Integer.MIN_VALUE;
+      minOffsetX = minOffsetY = Integer.MAX_VALUE;
+      maxOffsetX = maxOffsetY = Integer.MIN_VALUE;
+      for(int x = 0; x < count; x++){
+         int col = Math.floorDiv(pelletX[x], Maze.TILE);
+         int row = Math.floorDiv(pelletY[x], Maze.TILE);
+         minCol = Math.min(minCol, col);
+         minRow = Math.min(minRow, row);
+         maxCol = Math.max(maxCol, col);
+         maxRow = Math.max(maxRow, row);
+         minOffsetX = Math.min(minOffsetX, pelletX[x] - center(col));
+         maxOffsetX = Math.max(maxOffsetX, pelletX[x] - center(col));
+         minOffsetY = Math.min(minOffsetY, pelletY[x] - center(row));
+         maxOffsetY = Math.max(maxOffsetY, pelletY[x] - center(row));
+         maxRadius = Math.max(maxRadius, diameter[x] / 2);
+      }
+      if(count == 0){
+         minCol = minRow = maxCol = maxRow = 0;
+         minOffsetX = minOffsetY = maxOffsetX = maxOffsetY = 0;
+      }
+   
+      firstCol = minCol;
+      firstRow = minRow;
+      cols = maxCol - minCol + 1;
+      rows = maxRow - minRow + 1;
+      start = new int[cols * rows + 1];
+      order = new int[count];
+      for(int x = 0; x < count; x++)
+         start[bucket(x) + 1]++;
+      for(int b = 0; b < cols * rows; b++)
+         start[b + 1] += start[b];
+      int[] next = new int[cols * rows];
+      for(int b = 0; b < cols * rows; b++)
+         next[b] = start[b];
+      for(int x = 0; x < count; x++)
+         order[next[bucket(x)]++] = x;
+   }
+
+   /**
+   Initializes a PelletIndex holding the same pellets as the given one, none
+   of them eaten. The coordinates and buckets never change once made, so
+   they are shared rather than copied; only which pellets are eaten is kept
+   apart, letting many games be played at once on one layout.
+   @param layout PelletIndex whose pellets are held
+   */
+   public PelletIndex(PelletIndex layout)
+   {
+      pelletX = layout.pelletX;
+      pelletY = layout.pelletY;
+      diameter = layout.diameter;
+      firstCol = layout.firstCol;
+      firstRow = layout.firstRow;
+      cols = layout.cols;
+      rows = layout.rows;
+      start = layout.start;
+      order = layout.order;
+      maxRadius = layout.maxRadius;
+      minOffsetX = layout.minOffsetX;
+      maxOffsetX = layout.maxOffsetX;
+      minOffsetY = layout.minOffsetY;
+      maxOffsetY = layout.maxOffsetY;
+      uneaten = new long[layout.uneaten.length];
+      reset();
+   }
+
+   /**
+   Marks every pellet as not yet eaten, as at the start of a level.
+   */
+   public void reset()
+   {
+      Arrays.fill(uneaten, -1L);
+      if(pelletX.length % 64 != 0)
+         uneaten[uneaten.length - 1] = (1L << (pelletX.length % 64)) - 1;
+      remaining = pelletX.length;
+   }
+   
+   /**
+   Returns the number of pellets that have not yet been eaten.
+   @return  number of uneaten pellets
+   */
+   public int getRemaining()
+   {
+      return remaining;
+   }
+   
+   /**
+   Returns whether the given pellet has been eaten.
+   @param i index of the pellet
+   @return  whether the pellet has been eaten
+   */
+   public boolean isEaten(int i)
+   {
+      return (uneaten[i >> 6] & (1L << i)) == 0;
+   }
+   
+   /**
+   Returns whether the given pellet is a power pellet.
+   @param i index of the pellet
+   @return  whether the pellet is a power pellet
+   */
+   public boolean isPowerPellet(int i)
+   {
+      return diameter[i] == POWER;
+   }
+   
+   /**
+   Returns the x-coordinate of the given pellet.
+   @param i index of the pellet
+   @return  x-coordinate of the center of the pellet
+   */
+   public int getX(int i)
+   {
+      return pelletX[i];
+   }
+   
+   /**
+   Returns the y-coordinate of the given pellet.
+   @param i index of the pellet
+   @return  y-coordinate of the center of the pellet
+   */
+   public int getY(int i)
+   {
+      return pelletY[i];
+   }
+   
+   /**
+   Returns the diameter of the given pellet.
+   @param i index of the pellet
+   @return  diameter of the pellet
+   */
+   public int getDiameter(int i)
+   {
+      return diameter[i];
+   }
+   
+   /**
+   Returns the number of pellets lying in the given tile, eaten or not.
+   @param col column of the tile
+   @param row row of the tile
+   @return  number of pellets in the tile
+   */
+   public int countAt(int col, int row)
+   {
+      if(col < firstCol || row < firstRow || col >= firstCol + cols || row >= firstRow + rows)
+         return 0;
+      int b = (row - firstRow) * cols + (col - firstCol);
+      return start[b + 1] - start[b];
+   }
+   
+   /**
+   Returns one of the pellets lying in the given tile.
+   @param col column of the tile
+   @param row row of the tile
+   @param k   which of the pellets in the tile, from 0 up to countAt
+   @return  index of the pellet
+   */
+   public int getAt(int col, int row, int k)
+   {
+      return order[start[(row - firstRow) * cols + (col - firstCol)] + k];
+   }
+   
+   /**
+   Determines if PacMan has collided with any pellet that has not yet been
+   eaten, or if they overlap each other, determined by if their combined radii
+   are less than the distance between them or not. The first such pellet found
+   is marked as eaten; calling again finds any other pellet PacMan is
+   touching. Scoring the pellet, by its type, is left to the caller.
+   @param p	PacMan to check collision against
+   @return  index of the pellet that was eaten, or -1 if PacMan has not
+   collided with any pellet
+   */
+   public int eat(PacMan p)
+   {
+      int i = find(p.getX(), p.getY(), p.getRadius());
+      if(i != -1){
+         uneaten[i >> 6] &= ~(1L << i);
+         remaining--;
+      }
+      return i;
+   }
+   
+   /**
+   Determines if a PacMan of the given radius centered at the given
+   coordinates would collide with any pellet that has not yet been eaten.
+   @param x x-coordinate of the center of the PacMan
+   @param y y-coordinate of the center of the PacMan
+   @param radius radius of the PacMan
+   @return  whether a PacMan there would collide with any uneaten pellet
+   */
+   public boolean collide(int x, int y, int radius)
+   {
+      return find(x, y, radius) != -1;
+   }
+   
+   /**
+   Draws every pellet that has not yet been eaten in a white color at its
+   coordinates.
+   @param g	Graphics object with which to display the pellets
+   */
+   public void draw(Graphics g)
+   {
+      g.setColor(Color.WHITE);
+      for(int w = 0; w < uneaten.length; w++){
+         long bits = uneaten[w];
+         while(bits != 0){
+            int i = (w << 6) + Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+            int r = diameter[i] / 2;
+            g.fillOval(pelletX[i] - r, pelletY[i] - r, diameter[i], diameter[i]);
+         }
+      }
+   }
+   
+   /**
+   Draws every pellet that has not yet been eaten and could overlap the given
+   region in a white color at its coordinates, looking only at the tiles
+   whose pellets could reach into the region.
+   @param g	Graphics object with which to display the pellets
+   @param x x-coordinate of the top-left corner of the region
+   @param y y-coordinate of the top-left corner of the region
+   @param w width of the region
+   @param h height of the region
+   */
+   public void draw(Graphics g, int x, int y, int w, int h)
+   {
+      g.setColor(Color.WHITE);
+      int colFrom = Math.max(firstCol, Math.floorDiv(x - maxRadius, Maze.TILE));
+      int colTo = Math.min(firstCol + cols - 1, Math.floorDiv(x + w + maxRadius, Maze.TILE));
+      int rowFrom = Math.max(firstRow, Math.floorDiv(y - maxRadius, Maze.TILE));
+      int rowTo = Math.min(firstRow + rows - 1, Math.floorDiv(y + h + maxRadius, Maze.TILE));
+      for(int row = rowFrom; row <= rowTo; row++)
+         for(int col = colFrom; col <= colTo; col++){
+            int b = (row - firstRow) * cols + (col - firstCol);
+            for(int k = start[b]; k < start[b + 1]; k++){
+               int i = order[k];
+               if(!isEaten(i)){
+                  int r = diameter[i] / 2;
+                  g.fillOval(pelletX[i] - r, pelletY[i] - r, diameter[i], diameter[i]);
+               }
+            }
+         }
+   }
+   
+   /**
+   Finds an uneaten pellet that a PacMan of the given radius centered at the
+   given coordinates would collide with, looking only at the tiles whose
+   pellets could be close enough.
+   @param x x-coordinate of the center of the PacMan
+   @param y y-coordinate of the center of the PacMan
+   @param radius radius of the PacMan
+   @return  index of such a pellet, or -1 if there is none
+   */
+   private int find(int x, int y, int radius)
+   {
+      int reach = radius + maxRadius;
+      int colFrom = Math.max(firstCol, ceilDiv(x - reach + 1 - maxOffsetX - Maze.TILE / 2, Maze.TILE));
+      int colTo = Math.min(firstCol + cols - 1, Math.floorDiv(x + reach - 1 - minOffsetX - Maze.TILE / 2, Maze.TILE));
+      int rowFrom = Math.max(firstRow, ceilDiv(y - reach + 1 - maxOffsetY - Maze.TILE / 2, Maze.TILE));
+      int rowTo = Math.min(firstRow + rows - 1, Math.floorDiv(y + reach - 1 - minOffsetY - Maze.TILE / 2, Maze.TILE));
+      for(int row = rowFrom; row <= rowTo; row++)
+         for(int col = colFrom; col <= colTo; col++){
+            int b = (row - firstRow) * cols + (col - firstCol);
+            for(int k = start[b]; k < start[b + 1]; k++){
+               int i = order[k];
+               if(Geometry.circlesOverlap(pelletX[i], pelletY[i], diameter[i] / 2, x, y, radius) && !isEaten(i))
+                  return i;
+            }
+         }
+      return -1;
+   }
+   
+   /**
+   Returns the bucket of the tile the given pellet lies in.
+   @param i index of the pellet whose bucket is found
+   @return  index of the pellet's bucket
+   */
+   private int bucket(int i)
+   {
+      int col = Math.floorDiv(pelletX[i], Maze.TILE) - firstCol;
+      int row = Math.floorDiv(pelletY[i], Maze.TILE) - firstRow;
+      return row * cols + col;
+   }
+   
+   /**
+   Returns the coordinate of the center of the given column or row of tiles.
+   @param tile   column or row of tiles
+   @return  coordinate of the center of that column or row
+   */
+   private static int center(int tile)
+   {
+      return tile * Maze.TILE + Maze.TILE / 2;
+   }
+   
+   /**
+   Divides two integers, rounding up rather than down.
+   @param a dividend
+   @param b divisor, which must be positive
+   @return  quotient rounded up
+   */
+   private static int ceilDiv(int a, int b)
+   {
+      return -Math.floorDiv(-a, b);
+   }
+}
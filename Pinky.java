@@ -1,5 +1,4 @@
 import java.awt.*;
-import javax.swing.ImageIcon;
 
 /**
 *The Pinky class extends Ghost to develop its own starting point, AI of
@@ -14,61 +13,50 @@ public class Pinky extends Ghost
    private int xTarget;
    /** y-coordinate of Pinky's current target to be chased */
    private int yTarget;
-   /** ImageIcon representation of Pinky when moving left */
-   private ImageIcon pinky1;
-   /** ImageIcon representation of Pinky when moving up */
-   private ImageIcon pinky2;
-   /** ImageIcon representation of Pinky when moving right */
-   private ImageIcon pinky3;
-   /** ImageIcon representation of Pinky when moving down */
-   private ImageIcon pinky4;
    
    /**
-   Initializes a Pinky object with a pre-determined set of coordinates
-   (starting point) at (336, 348), diameter of 24, a default speed,
-   corner coordinates of (36, 36), and instantiates ImageIcons for each
-   direction.
+   Initializes a Pinky object at its starting point in the given layout,
+   in the middle of the ghost house, with a diameter of 24, a default
+   speed, and the second corner of the layout.
+   @param l   layout of the maze Pinky starts in
    */
-   public Pinky()
+   public Pinky(MazeLayout l)
    {
-      super(336, 348, 24, 36, 36);
-      pinky1 = new ImageIcon("imageicons\\pinky1.png");
-      pinky2 = new ImageIcon("imageicons\\pinky2.png");
-      pinky3 = new ImageIcon("imageicons\\pinky3.png");
-      pinky4 = new ImageIcon("imageicons\\pinky4.png");
+      super(l, 1);
       setDirection(2);
    }
    
    /**
    Resets Pinky's coordinates at its starting location and sets its
-   direction back to default.
+   direction back to default, forgetting the target it last chased.
    */
    public void reset()
    {
-      setX(336);
-      setY(348);
+      super.reset();
       setDirection(2);
+      xTarget = 0;
+      yTarget = 0;
    }
    
    /**
    Draws Pinky's pink ghost form at its coordinates using a specific
-   ImageIcon correlating to its current direction. 
-   @param g	Graphics object to draw ImageIcon
+   Sprite correlating to its current direction. 
+   @param g	Graphics object to draw Sprite
    */
    public void drawMe(Graphics g)
    {
       switch(getDirection()){
          case 1:
-            g.drawImage(pinky1.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("pinky1").draw(g, getX() - 17, getY() - 16);
             break;
          case 2:
-            g.drawImage(pinky2.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("pinky2").draw(g, getX() - 17, getY() - 16);
             break;
          case 3:
-            g.drawImage(pinky3.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("pinky3").draw(g, getX() - 17, getY() - 16);
             break;
          case 4:
-            g.drawImage(pinky4.getImage(), getX() - 17, getY() - 16, 34, 32, null);
+            SpriteAtlas.get("pinky4").draw(g, getX() - 17, getY() - 16);
             break;
       }
    
@@ -76,17 +64,19 @@ public class Pinky extends Ghost
    
    /**
    Moves Pinky towards a target of four spaces ahead of PacMan's
-   current location in its direction.
+   current location in its direction, wrapped around through the tunnel.
    @param p	PacMan object that is being chased
-   @param b	Array of Bumper objects that prohibit PacMan's movement
+   @param m	maze whose walls prohibit Pinky's movement
    */
-   public void movePinky(PacMan p, Bumper[] b)
+   public void movePinky(PacMan p, Maze m)
    {
+      int left = getLayout().getTunnelLeft();
+      int right = getLayout().getTunnelRight() - 4;
       switch(p.getDirection()){
          case 1:
             xTarget = p.getX() - 96;
-            if(xTarget < -24)
-               xTarget = (xTarget + 24) + 692;
+            if(xTarget < left)
+               xTarget = (xTarget - left) + right;
             yTarget = p.getY();
             break;
          case 2:
@@ -95,8 +85,8 @@ public class Pinky extends Ghost
             break;
          case 3:
             xTarget = p.getX() + 96;
-            if(xTarget > 692)
-               xTarget = -24 + (xTarget - 692);
+            if(xTarget > right)
+               xTarget = left + (xTarget - right);
             yTarget = p.getY();
             break;
          case 4:
@@ -104,6 +94,17 @@ public class Pinky extends Ghost
             yTarget = p.getY() + 96;
             break;
       }
-      super.moveToTarget(b, xTarget, yTarget);
+      super.moveToTarget(m, xTarget, yTarget);
    }
-}
\ No newline at end of file
+   
+   /**
+   Moves Pinky one step while it chases PacMan, as in movePinky.
+   @param p	PacMan object that is being chased
+   @param blinky  ignored; Pinky targets ahead of PacMan
+   @param m	maze whose walls prohibit Pinky's movement
+   */
+   public void moveChase(PacMan p, Ghost blinky, Maze m)
+   {
+      movePinky(p, m);
+   }
+}
@@ -0,0 +1,273 @@
+import java.io.*;
+import java.util.Arrays;
+
+/**
+The Replay class holds a recorded game of PacMan: the mazes it was played on,
+the seed of the GameEngine, and every turn the player asked for along with the
+step it was asked for at, so that stepping a GameEngine made from the same
+seed with the same inputs plays the game out again. A Replay is read from a
+file written by a ReplayWriter and played back one step at a time with next.
+A file begins with MAGIC, the VERSION of the format, the seed, the steps each
+turn was tried for, and a byte of 1 if the ghosts moved as in the arcade or 0
+if not, followed by one varint for each turn holding the steps since the turn
+before shifted left by three bits, or'ed with the direction, and a varint
+holding the steps since the last turn and the direction END, so that a game
+of thousands of steps takes up a few kilobytes. It ends with a varint of the
+level the game ended on and the ids of the mazes played on up to it, from
+MazeRegistry.getPlayedId, so that it is only played back where those levels
+are played on the same mazes. Files of the versions before 4 hold the id of
+every maze of the registry instead, after VERSION; one recorded with a single
+maze is played back as long as every level it reaches is still played on
+that maze, which is found by playing it out when it is read.
+@since 10-18-2026
+*/
+public class Replay
+{
+   /** first four bytes of every replay file, "PMRP" */
+   public static final int MAGIC = 0x504D5250;
+   /** version of the format written; files of version 1 leave out the steps
+   each turn was tried for, which were always GameEngine.TURN_STEPS, and
+   files of versions 1 and 2 leave out how the ghosts moved, which was
+   always along the shortest path */
+   public static final int VERSION = 4;
+   /** direction marking the end of a replay */
+   public static final int END = 7;
+
+   /** ids of the mazes the game was played on, from
+   MazeRegistry.getPlayedId, or from MazeRegistry.getId in files of the
+   versions before 4 */
+   private String mazeId;
+   /** seed of the GameEngine the game was played on */
+   private long seed;
+   /** steps each turn the player asked for was tried for */
+   private int turnSteps = GameEngine.TURN_STEPS;
+   /** whether the ghosts moved as in the arcade */
+   private boolean classic;
+   /** step at which each turn was asked for, in order */
+   private long[] ticks;
+   /** direction of each turn */
+   private byte[] directions;
+   /** number of turns */
+   private int count;
+   /** steps the game lasted */
+   private long length;
+   /** index of the next turn to be played back */
+   private int position;
+   /** steps played back so far */
+   private long tick;
+
+   /**
+   Reads a Replay from the file of the given name, ready to be played back
+   from the start.
+   @param name   name of the file
+   @throws IOException if the file cannot be read, is not a replay of a
+   version known, or is a replay of levels played on other mazes.
+   */
+   public Replay(String name) throws IOException
+   {
+      DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(name)));
+      try{
+         if(in.readInt() != MAGIC)
+            throw new IOException(name + " is not a replay");
+         int version = in.readUnsignedByte();
+         if(version < 1 || version > VERSION)
+            throw new IOException(name + " is a replay of version " + version);
+         if(version < 4)
+            mazeId = in.readUTF();
+         seed = in.readLong();
+         if(version >= 2)
+            turnSteps = in.readUnsignedByte();
+         if(version >= 3)
+            classic = in.readBoolean();
+
+         ticks = new long[64];
+         directions = new byte[64];
+         long at = 0;
+         while(true){
+            long v = readVarint(in);
+            at += v >>> 3;
+            int d = (int) (v & 7);
+            if(d == END)
+               break;
+            if(d < 1 || d > 4)
+               throw new IOException(name + " holds a turn of direction " + d);
+            if(count == ticks.length){
+               ticks = Arrays.copyOf(ticks, count * 2);
+               directions = Arrays.copyOf(directions, count * 2);
+            }
+            ticks[count] = at;
+            directions[count++] = (byte) d;
+         }
+         length = at;
+
+         MazeRegistry registry = MazeRegistry.get();
+         if(version >= 4){
+            int level = (int) readVarint(in);
+            mazeId = in.readUTF();
+            if(level < 1 || !mazeId.equals(registry.getPlayedId(level)))
+               throw new IOException(name + " is a replay of maze " + mazeId);
+         }
+         else if(!mazeId.equals(registry.getId())){
+            String only = mazeId.indexOf('+') == -1 ? mazeId.replaceFirst("\\*.*", "") : null;
+            if(only == null || !staysOn(only, registry))
+               throw new IOException(name + " is a replay of maze " + mazeId);
+         }
+      }
+      finally{
+         in.close();
+      }
+   }
+
+   /**
+   Plays the game out to find whether every level it reaches is played on
+   the maze of the given id, stopping at the first that is not, since the
+   game played out from there on is not the one recorded.
+   @param id  id of the maze
+   @param registry  mazes the game would be played back on
+   @return  whether every level reached is played on the maze
+   @throws IOException if the mazes cannot be loaded
+   */
+   private boolean staysOn(String id, MazeRegistry registry) throws IOException
+   {
+      GameEngine game;
+      try{
+         game = new GameEngine(seed);
+      }
+      catch(Exception e){
+         throw new IOException("could not play the replay out: " + e.getMessage(), e);
+      }
+      game.setTurnSteps(turnSteps);
+      game.setClassic(classic);
+      rewind();
+      boolean stays = true;
+      while(stays && !isOver()){
+         game.step(next());
+         stays = registry.getLevelFile(registry.mazeOf(game.getLevel())).getId().equals(id);
+      }
+      rewind();
+      return stays;
+   }
+
+   /**
+   Returns what the player asked of PacMan at the next step of the game, and
+   moves on to the step after it.
+   @return  input of the next step, or Input.NONE once the replay is over
+   */
+   public Input next()
+   {
+      tick++;
+      if(position < count && ticks[position] == tick)
+         return Input.turn(directions[position++]);
+      return Input.NONE;
+   }
+
+   /**
+   Returns whether every step of the game has been played back.
+   @return  whether the replay is over
+   */
+   public boolean isOver()
+   {
+      return tick >= length;
+   }
+
+   /**
+   Goes back to the start of the game, to play it back again.
+   */
+   public void rewind()
+   {
+      tick = 0;
+      position = 0;
+   }
+
+   /**
+   Returns the ids of the mazes the game was played on, as recorded.
+   @return  ids of the mazes
+   */
+   public String getMazeId()
+   {
+      return mazeId;
+   }
+
+   /**
+   Returns the seed of the GameEngine the game was played on.
+   @return  seed
+   */
+   public long getSeed()
+   {
+      return seed;
+   }
+
+   /**
+   Returns the number of steps each turn the player asked for was tried for,
+   to be set on the GameEngine playing the replay back.
+   @return  steps a turn is tried for
+   */
+   public int getTurnSteps()
+   {
+      return turnSteps;
+   }
+
+   /**
+   Returns whether the ghosts moved as in the arcade rather than following the
+   shortest path, to be set on the GameEngine playing the replay back.
+   @return  whether the ghosts moved as in the arcade
+   */
+   public boolean isClassic()
+   {
+      return classic;
+   }
+
+   /**
+   Returns the number of steps the game lasted.
+   @return  steps of the game
+   */
+   public long getLength()
+   {
+      return length;
+   }
+
+   /**
+   Returns the number of turns the player asked for.
+   @return  number of turns
+   */
+   public int getTurnCount()
+   {
+      return count;
+   }
+
+   /**
+   Writes a number that is not negative as a varint: seven bits to a byte,
+   lowest first, the top bit of each byte set if another follows.
+   @param out stream written to
+   @param v   number to write
+   @throws IOException if the stream cannot be written to
+   */
+   static void writeVarint(OutputStream out, long v) throws IOException
+   {
+      while((v & ~0x7FL) != 0){
+         out.write((int) (v & 0x7F) | 0x80);
+         v >>>= 7;
+      }
+      out.write((int) v);
+   }
+
+   /**
+   Reads a number written by writeVarint.
+   @param in  stream read from
+   @return  number read
+   @throws IOException if the stream ends before the number does
+   */
+   static long readVarint(InputStream in) throws IOException
+   {
+      long v = 0;
+      for(int shift = 0; shift < 64; shift += 7){
+         int b = in.read();
+         if(b == -1)
+            throw new EOFException("replay ends early");
+         v |= (long) (b & 0x7F) << shift;
+         if((b & 0x80) == 0)
+            return v;
+      }
+      throw new IOException("varint too long");
+   }
+}
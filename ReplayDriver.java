@@ -0,0 +1,38 @@
+/**
+The ReplayDriver class plays back replay files with no window or sound,
+stepping each game as fast as it will go, and prints how each game ended and
+how many steps were played back per second.
+@since 10-18-2026
+*/
+public class ReplayDriver
+{
+   /**
+   The main method plays back each replay file named, every one on the maze
+   of a single GameEngine, and prints its final score, level, lives and phase.
+   @param args  names of the replay files.
+   @throws Exception  removes complication of scanning text files.
+   */
+   public static void main(String[] args) throws Exception
+   {
+      System.setProperty("java.awt.headless", "true");
+      if(args.length == 0){
+         System.out.println("usage: java ReplayDriver file...");
+         return;
+      }
+      GameEngine layout = new GameEngine();
+      for(int x = 0; x < args.length; x++){
+         Replay replay = new Replay(args[x]);
+         long begin = System.nanoTime();
+         GameEngine game = new GameEngine(layout, replay.getSeed());
+         game.setTurnSteps(replay.getTurnSteps());
+         game.setClassic(replay.isClassic());
+         while(!replay.isOver())
+            game.step(replay.next());
+         long nanos = Math.max(1, System.nanoTime() - begin);
+         System.out.printf("%s: score %d, level %d, lives %d, %s after %d steps and %d turns (%.0f steps/s)%n",
+            args[x], game.getScore(), game.getLevel(), game.getLives(),
+            game.getPhase() == GameEngine.GAME_OVER ? "over" : "stopped", replay.getLength(),
+            replay.getTurnCount(), replay.getLength() * 1e9 / nanos);
+      }
+   }
+}
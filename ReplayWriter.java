@@ -0,0 +1,126 @@
+import java.io.*;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+The ReplayWriter class records a game of PacMan to a replay file, in the
+format read by Replay, as it is played. Turns are handed to it from the loop
+stepping the game and written by a thread of its own, so that the loop never
+waits on the disk; the file is finished and closed once the end of the game
+is handed over, along with the mazes the game was played on.
+@since 10-18-2026
+*/
+public class ReplayWriter implements Runnable
+{
+   /** file written to */
+   private File file;
+   /** seed of the GameEngine being recorded */
+   private long seed;
+   /** steps each turn the player asks for is tried for */
+   private int turnSteps;
+   /** whether the ghosts move as in the arcade */
+   private boolean classic;
+   /** turns waiting to be written, each the step shifted left by three bits,
+   or'ed with the direction, or with Replay.END at the end of the game */
+   private LinkedBlockingQueue<Long> queue = new LinkedBlockingQueue<Long>();
+   /** level the game ended on, set before the end is handed over */
+   private int level;
+   /** thread writing the file */
+   private Thread thread;
+   /** whether the end of the game has been handed over */
+   private volatile boolean ended;
+
+   /**
+   Initializes a ReplayWriter recording the given game, at its start, to the
+   given file, and starts the thread writing it.
+   @param f   file to write, in a folder that is made if it does not exist
+   @param game   game being recorded
+   */
+   public ReplayWriter(File f, GameEngine game)
+   {
+      file = f;
+      seed = game.getSeed();
+      turnSteps = game.getTurnSteps();
+      classic = game.isClassic();
+      thread = new Thread(this, "ReplayWriter");
+      thread.setDaemon(true);
+      thread.start();
+   }
+
+   /**
+   Records a turn the player asked for. Does nothing once the game has ended.
+   @param tick   step the turn was asked for at, counted from 1
+   @param d   direction of the turn, from 1 to 4
+   */
+   public void record(long tick, int d)
+   {
+      if(!ended)
+         queue.add(tick << 3 | d);
+   }
+
+   /**
+   Records the end of the game, after which the file is finished with the
+   mazes played on up to the given level and closed. Does nothing if the end
+   has already been recorded.
+   @param tick   last step of the game
+   @param lastLevel level the game ended on
+   */
+   public synchronized void end(long tick, int lastLevel)
+   {
+      if(ended)
+         return;
+      ended = true;
+      level = lastLevel;
+      queue.add(tick << 3 | Replay.END);
+   }
+
+   /**
+   Waits for the file to be finished, for at most the given time.
+   @param millis milliseconds to wait at most
+   */
+   public void await(long millis)
+   {
+      try{
+         thread.join(millis);
+      }
+      catch(InterruptedException e){
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   /**
+   Writes the header of the file, then each turn as it is handed over, until
+   the end of the game, and then the level the game ended on and the mazes
+   it was played on up to it. A file that cannot be written is given up on, the
+   game going on unrecorded.
+   */
+   public void run()
+   {
+      File folder = file.getAbsoluteFile().getParentFile();
+      if(folder != null)
+         folder.mkdirs();
+      try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))){
+         out.writeInt(Replay.MAGIC);
+         out.writeByte(Replay.VERSION);
+         out.writeLong(seed);
+         out.writeByte(turnSteps);
+         out.writeBoolean(classic);
+         long last = 0;
+         while(true){
+            long v = queue.take();
+            long tick = v >>> 3;
+            Replay.writeVarint(out, (tick - last) << 3 | (v & 7));
+            last = tick;
+            if((v & 7) == Replay.END)
+               break;
+         }
+         Replay.writeVarint(out, level);
+         out.writeUTF(MazeRegistry.get().getPlayedId(level));
+      }
+      catch(IOException e){
+         System.err.println("could not record " + file + ": " + e.getMessage());
+      }
+      catch(InterruptedException e){
+         Thread.currentThread().interrupt();
+      }
+   }
+}
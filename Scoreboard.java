@@ -2,7 +2,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.util.*;
 import java.io.*;
-import javax.sound.sampled.*;
 
 /**
 The Scoreboard class displays the players current score and highscore at the
@@ -17,9 +16,9 @@ public class Scoreboard extends JPanel
 {
    /** PacManPanel object that will display the game. */
    private PacManPanel p;
-   /** Array of visual representation of lives and fruits on bottom of
-   the scoreboard. */
-   private LifePanel[] lives;
+   /** Visual representation of lives and fruits on bottom of the
+   scoreboard. */
+   private LifePanel lives;
    /** Displays current score of the player. */
    private JLabel scoring;
    /** Displays current highscore of the game since first played */
@@ -31,19 +30,50 @@ public class Scoreboard extends JPanel
    /** Result from the asking of player for sound; 0 represents Yes and 1
    represents No. */
    private int sound;
+   /** Whether the game is rendered in active mode rather than animated with
+   a Swing Timer. */
+   private boolean active;
+   /** Whether each game is recorded to a replay file. */
+   private boolean record;
+   /** Replay played back in each game instead of the player's input, or null
+   if the player is playing. */
+   private Replay replay;
+   /** Steps a turn the player asks for is tried for before it is dropped. */
+   private int turnSteps;
+   /** Whether the ghosts move as in the arcade rather than following the
+   shortest path. */
+   private boolean classic;
+   /** Whether the score has changed since the labels at the top were last
+   brought up to date. */
+   private boolean scoreChanged;
    
    /**
    Instantiates a Scoreboard object, with a subpanel in the north to hold 
    JLabels to display the highscore (read from a text file) and current score,
-   and an array of fruit/lives panels in the south to display current lives
+   and a strip of fruit/lives slots in the south to display current lives
    and all collected fruits. JLabels are instantiated and displayed in the top.
-   An array of LifePanels are displayed along the bottom, and the leftmost three
-   are set to display a life. The player is asked if they would like sound, and a
-   PacManPanel is instantiated to be held in the center using that information.
+   A LifePanel of 18 slots is displayed along the bottom, and the leftmost three
+   are set to display a life. The player is asked if they would like sound, and
+   if so every sound is loaded before play begins. A PacManPanel is
+   instantiated to be held in the center using that information, whether it
+   is rendered in active mode, and whether the game is recorded or a replay.
+   @param active   whether the game is rendered in active mode rather than
+   animated with a Swing Timer
+   @param record   whether each game is recorded to a replay file
+   @param replay   replay to play back, or null to let the player play
+   @param turnSteps   steps a turn the player asks for is tried for before
+   it is dropped
+   @param classic   whether the ghosts move as in the arcade rather than
+   following the shortest path
    @throws Exception removes complication of scanning text files.
    */
-   public Scoreboard() throws Exception
+   public Scoreboard(boolean active, boolean record, Replay replay, int turnSteps, boolean classic) throws Exception
    {
+      this.turnSteps = turnSteps;
+      this.classic = classic;
+      this.active = active;
+      this.record = record;
+      this.replay = replay;
       setLayout(new BorderLayout());
       
       Scanner i = new Scanner(new File("leaderboards.txt"));
@@ -80,21 +110,9 @@ public class Scoreboard extends JPanel
       highscore.setForeground(Color.WHITE);
       north.add(highscore);
       
-      JPanel south = new JPanel();
-      south.setLayout(new GridLayout(1, 18));
-      south.setBackground(Color.BLACK);
-      south.setPreferredSize(new Dimension(900, 40));
-      
-      lives = new LifePanel[18];
-      for(int x = 0; x < lives.length; x++){
-         if(x < 3)
-            lives[x] = new LifePanel(true);
-         else
-            lives[x] = new LifePanel(false);
-         lives[x].setSize(50, 50);
-         south.add(lives[x]);
-      }
-      add(south, BorderLayout.SOUTH);
+      lives = new LifePanel(18, 3);
+      lives.setPreferredSize(new Dimension(900, 40));
+      add(lives, BorderLayout.SOUTH);
       
       JPanel west = new JPanel();
       west.setBackground(Color.BLACK);
@@ -107,205 +125,159 @@ public class Scoreboard extends JPanel
       add(east, BorderLayout.EAST);
       
       sound = JOptionPane.showConfirmDialog(null, "Would you like to play with sound?", "Sound", JOptionPane.YES_NO_OPTION);
-      p = new PacManPanel(this, sound == 0);
+      if(sound == 0)
+         SoundBank.load();
+      p = new PacManPanel(this, sound == 0, active, record, replay, turnSteps, classic);
       add(p, BorderLayout.CENTER);
    }
    
    /**
-   Updates the current player's by the given amount, adding a specified
-   value, as well as updating the highscore, if needed, and checking
-   for new lives.
-   @param num  value to be added to the players score.
-   */
-   public void updateScore(int num)
-   {
-      score += num;
-      scoring.setText("" + score);
-      if(score > hscore)
-         highscore.setText("" + score);
-      checkNewLife();
-   }
-   
-   /** 
-   Determines if the player has reached a score of 10,000, 
-   where a new life is given to the player and a jingle plays.
+   Sets the score of the player, as kept by the game. The display of the
+   score and the highscore is brought up to date by refresh, once per frame.
+   @param num  current score of the player.
    */
-   public void checkNewLife()
+   public void setScore(int num)
    {
-      if(score == 10000){
-         for(int x = 0; x < 4; x++)
-            if(!lives[x].isOn()){
-               lives[x].setLife(true);
-               lives[x].updateUI();
-            }
-       
-         if(sound == 0)
-            try{
-               AudioInputStream newLifeAIS = AudioSystem.getAudioInputStream(new File("sounds\\newlife.wav").getAbsoluteFile());
-               Clip newLife = AudioSystem.getClip();
-               newLife.open(newLifeAIS);
-               newLife.start();
-            } 
-            catch(Exception e){}   
-      }     
+      if(num == score)
+         return;
+      score = num;
+      scoreChanged = true;
    }
    
    /**
-   Adds 10 points to the score once a pellet is collected, and
-   adjusts the display of the highscore 
-   and current score accordingly.
+   Shows the number of lives the player has left, as kept by the game, as
+   PacMans along the left of the LifePanel strip below. Only the slots that
+   change are drawn again.
+   @param num  lives left, including the one being played
    */
-   public void scorePellet(){
-      updateScore(10);
+   public void setLives(int num)
+   {
+      for(int x = 0; x < GameEngine.MAX_LIVES; x++)
+         lives.setLife(x, x < num);
    }
    
    /**
-   Adds either 200, 400, 800, or 1600 points to the score once a 
-   ghost has been hit, depending on in what order the ghost has 
-   been hit, and adjusts the display of the highscore and current 
-   score accordingly.
-   @param num	        succession of ghost that has been hit
+   Updates the display of the current score and the highscore if the score
+   has changed since they were last updated. Called once at the end of each
+   frame, so that several points scored during one frame only change the
+   labels once, and a frame without points changes nothing.
    */
-   public void scoreGhost(int num){
-      updateScore((int) (100 * Math.pow(2, num)));
+   public void refresh()
+   {
+      if(!scoreChanged)
+         return;
+      scoreChanged = false;
+      scoring.setText("" + score);
+      if(score > hscore)
+         highscore.setText("" + score);
    }
    
    /**
-   Adds 50 points to the score once a power pellet is collected, 
-   and adjusts the display of the highscore and current score accordingly.
+   The current top five scores and their associated names are
+   printed in the output box. The player is asked if the would like 
+   to enter their score into the leaderboards; if yes, they are asked 
+   to enter an 8 character name. The entire rankings are displayed once
+   more with their new score and attached name included. The leaderboards
+   are read and written by a thread of their own, so that only the dialogs
+   asking the player are shown on the event dispatch thread, which may call
+   this method or not.
    */
-   public void scorePowerPellet(){
-      updateScore(50);
+   public void enterHighScore(){
+      final int finalScore = score;
+      new SwingWorker<ArrayList<String>, Object>(){
+         protected ArrayList<String> doInBackground() throws Exception
+         {
+            ArrayList<String> board = readLeaderboards();
+            System.out.println("LEADERBOARDS");
+            for(int place = 1; place < 6 && 2 * place <= board.size(); place++){
+               System.out.println(place + ". " + board.get(2 * place - 2));
+               System.out.println("\t" + board.get(2 * place - 1));
+            }
+            return board;
+         }
+         
+         protected void done()
+         {
+            final ArrayList<String> board;
+            try{board = get();}
+            catch(Exception e){System.exit(0); return;}
+            
+            int scoreYN = JOptionPane.showConfirmDialog(null, "Would you like to enter your score into the leaderboards?", "Leaderboard", JOptionPane.YES_NO_OPTION);
+            if(scoreYN != 0)
+               return;
+            String name = JOptionPane.showInputDialog("Enter your name. (8 characters)");
+            while(name != null && name.length() > 8)
+               name = JOptionPane.showInputDialog("Your name is too long. Enter your name in a format less than 8 characters.");
+            if(name == null)
+               return;
+            
+            final String finalName = name;
+            new Thread(new Runnable(){
+               public void run()
+               {
+                  writeLeaderboards(board, finalName, finalScore);
+               }
+            }, "Leaderboards").start();
+         }
+      }.execute();
    }
    
    /**
-   Adds a certain number of bonus points to the score once a fruit is 
-   collected depending on its type, and adjusts the display of the 
-   highscore and current score accordingly. If the fruit is a cherry,
-   100 points are added; for a strawberry, 300 points; for an orange,
-   500 points, for an apple, 700; for a melon, 1000.
-   @param num  	type of fruit
+   Reads the leaderboards from their text file, alternating names and scores
+   in order from the highest score.
+   @return  names and scores of the leaderboards
+   @throws Exception removes complication of scanning text files.
    */
-   public void scoreFruit(int num){
-      switch(num){
-         case 1:
-            updateScore(100);
-            break;
-         case 2:
-            updateScore(300);
-            break;
-         case 3:
-            updateScore(500);
-            break;
-         case 4:
-            updateScore(700);
-            break;
-         case 5:
-            updateScore(1000);
-            break;
-      }
+   private static ArrayList<String> readLeaderboards() throws Exception
+   {
+      ArrayList<String> board = new ArrayList<String>();
+      Scanner k = new Scanner(new File("leaderboards.txt"));
+      while(k.hasNextLine())
+         board.add(k.nextLine());
+      k.close();
+      return board;
    }
    
    /**
-   Upon hitting the ghost, PacMan loses a life and the one PacMan 
-   life on the LifePanel array below disappears. If all lives are 
-   lost, the lose method of PacManPanel is called.
+   Enters a score into the leaderboards, ahead of the first lower score,
+   prints the entire rankings, and writes them to their text file.
+   @param board  names and scores of the leaderboards, alternating
+   @param name   name entered by the player
+   @param newScore  score of the player
    */
-   public void hitGhost(){
-      for(int x = lives.length - 1; x >= 0; x--){
-         lives[x].updateUI();
-         if(lives[x].isOn()){
-            lives[x].setLife(false);
-            if(x == 0)
-               p.lose();
+   private static void writeLeaderboards(ArrayList<String> board, String name, int newScore)
+   {
+      int at = board.size() / 2;
+      for(int x = 0; x < board.size() / 2; x++)
+         if(Integer.parseInt(board.get(2 * x + 1)) < newScore){
+            at = x;
             break;
          }
-      }
-   }
-   
-   /**
-   The current top five scores and their associated names are
-   printed in the output box. The player is asked if the would like 
-   to enter their score into the leaderboards; if yes, they are asked 
-   to enter an 8 character name. The entire rankings are displayed once
-   more with their new score and attached name included.
-   */
-   public void enterHighScore(){
-      System.out.println("LEADERBOARDS");
-      
-      Scanner k = null;
-      try{k = new Scanner(new File("leaderboards.txt"));}
-      catch(Exception e){System.exit(0);}
+      board.add(2 * at, "" + newScore);
+      board.add(2 * at, name);
       
-      int place = 1;
-      while(place < 6 && k.hasNext()){
-         System.out.println(place + ". " + k.nextLine());
-         System.out.println("\t" + k.nextLine());
-         place++;
+      for(int x = 0; x < 10; x++)
+         System.out.println();
+      for(int place = 1; 2 * place <= board.size(); place++){
+         System.out.println(place + ". " + board.get(2 * place - 2));
+         System.out.println("\t" + board.get(2 * place - 1));
       }
       
-      int scoreYN = JOptionPane.showConfirmDialog(null, "Would you like to enter your score into the leaderboards?", "Leaderboard", JOptionPane.YES_NO_OPTION);
-      if(scoreYN == 0){
-         for(int x = 0; x < 10; x++)
-            System.out.println();
-         
-         String name = JOptionPane.showInputDialog("Enter your name. (8 characters)");
-         while(name.length() > 8)
-            name = JOptionPane.showInputDialog("Your name is too long. Enter your name in a format less than 8 characters.");
-            
-         Scanner l = null;
-         try{l = new Scanner(new File("leaderboards.txt"));}
-         catch(Exception e){System.exit(0);}
-         
-         String[] names = new String[100];
-         int[] scores = new int[100];
-         
-         place = 1;
-         boolean noReturn = true;
-         while(l.hasNext()){
-            names[place - 1] = l.nextLine();
-            scores[place - 1] = Integer.parseInt(l.nextLine());
-            
-            if(scores[place - 1] < score && noReturn){
-               noReturn = false;
-               names[place] = names[place - 1];
-               scores[place] = scores[place - 1];
-               
-               names[place - 1] = name;
-               scores[place - 1] = score;
-               
-               System.out.println(place + ". " + names[place - 1]);
-               System.out.println("\t" + scores[place - 1]);
-               
-               System.out.println(place + 1 + ". " + names[place]);
-               System.out.println("\t" + scores[place]);
-               
-               place += 2;
-            }
-            else{
-               System.out.println(place + ". " + names[place - 1]);
-               System.out.println("\t" + scores[place - 1]);
-               place++;
-            }
-         }
-         if(noReturn){
-            System.out.println(place + ". " + name);
-            System.out.println("\t" + score);
-            names[place - 1] = name;
-            scores[place - 1] = score;
-         }
-         
-         PrintStream outfile = null;
-         try{outfile = new PrintStream(new File("leaderboards.txt"));}
-         catch(Exception e){}
-         
-         for(int x = 0; x < names.length; x++){
-            if(names[x] == null)
-               break;
-            outfile.println(names[x]);
-            outfile.println(scores[x]);
-         }
+      try{
+         PrintStream outfile = new PrintStream(new File("leaderboards.txt"));
+         for(int x = 0; x < board.size(); x++)
+            outfile.println(board.get(x));
+         outfile.close();
       }
+      catch(Exception e){}
+   }
+   
+   /** The board of the game is presented again in active mode, as
+   when the window has been covered or resized while the game is
+   stopped. */
+   public void requestFrame()
+   {
+      p.requestFrame();
    }
    
    /** The fruit specified is displayed in the bottom right corner
@@ -315,7 +287,7 @@ public class Scoreboard extends JPanel
    @param type type of the fruit being displayed */
    public void showFruit(int type)
    {
-      lives[18 - type].setFruit(type);
+      lives.setFruit(18 - type, type);
    }
    
    /** The game is restarted through the instantiation of a new
@@ -324,16 +296,17 @@ public class Scoreboard extends JPanel
    the score is set to zero. */
    public void restart()
    {
+      p.dispose();
       remove(p);
-      try{p = new PacManPanel(this, sound == 0);}
+      try{p = new PacManPanel(this, sound == 0, active, record, replay, turnSteps, classic);}
       catch(Exception e){System.exit(0);}
       add(p, BorderLayout.CENTER);
+      revalidate();
+      repaint();
       
-      for(int x = 0; x < 3; x++)
-         lives[x].setLife(true);
-     
-      score = 0;
-      scoring.setText("" + score);
+      setLives(3);
+      setScore(0);
+      refresh();
    }
    
 }
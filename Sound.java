@@ -0,0 +1,109 @@
+/**
+The Sound class is a handle to one sound effect of the SoundBank, already
+decoded into samples and added to the AudioMixer as a few voices, so that
+playing it only posts a command to the mixer thread. A sound played while all
+of its voices are busy cuts off the one played longest ago. A Sound may be
+played from any thread, choosing its voice one thread at a time. A Sound with
+no voices, because its file is missing, plays nothing.
+@since 10-18-2026
+*/
+public final class Sound
+{
+   /** mixer the voices belong to, or null if there are none */
+   private final AudioMixer mixer;
+   /** index in the mixer of each voice */
+   private final int[] voices;
+   /** index into voices of the voice played last */
+   private int current;
+
+   /**
+   Initializes a Sound playing the given samples on the given number of
+   voices of the given mixer, which has not yet been started.
+   @param mixer   mixer the sound is played through
+   @param pcm  16-bit mono samples of the sound at AudioMixer.RATE
+   @param n   number of voices
+   */
+   Sound(AudioMixer mixer, short[] pcm, int n)
+   {
+      this.mixer = mixer;
+      voices = new int[n];
+      for(int x = 0; x < n; x++)
+         voices[x] = mixer.addVoice(pcm);
+   }
+
+   /**
+   Initializes a Sound that plays nothing.
+   */
+   Sound()
+   {
+      mixer = null;
+      voices = new int[0];
+   }
+
+   /**
+   Plays the Sound once from its start on a voice that is not playing, or on
+   the voice played longest ago if every one is.
+   */
+   public synchronized void play()
+   {
+      if(voices.length == 0)
+         return;
+      int v = (current + 1) % voices.length;
+      for(int x = 0; x < voices.length; x++)
+         if(!mixer.isPlaying(voices[(current + 1 + x) % voices.length])){
+            v = (current + 1 + x) % voices.length;
+            break;
+         }
+      current = v;
+      mixer.post(voices[v], AudioMixer.PLAY);
+   }
+
+   /**
+   Plays the Sound once on the voice played last, from where it was stopped.
+   */
+   public synchronized void resume()
+   {
+      if(voices.length > 0)
+         mixer.post(voices[current], AudioMixer.RESUME);
+   }
+
+   /**
+   Plays the Sound over and over on the voice played last, from where it was
+   stopped, until it is stopped.
+   */
+   public synchronized void loop()
+   {
+      if(voices.length > 0)
+         mixer.post(voices[current], AudioMixer.LOOP);
+   }
+
+   /**
+   Stops every voice of the Sound where it is, so that it may be resumed.
+   */
+   public void stop()
+   {
+      for(int x = 0; x < voices.length; x++)
+         mixer.post(voices[x], AudioMixer.STOP);
+   }
+
+   /**
+   Returns whether any voice of the Sound is playing.
+   @return  whether the Sound is playing
+   */
+   public boolean isPlaying()
+   {
+      for(int x = 0; x < voices.length; x++)
+         if(mixer.isPlaying(voices[x]))
+            return true;
+      return false;
+   }
+
+   /**
+   Returns the number of voices the Sound may be played on at once.
+   @return  number of voices, 0 if the Sound plays nothing
+   */
+   public int getVoices()
+   {
+      return voices.length;
+   }
+}
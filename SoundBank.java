@@ -0,0 +1,219 @@
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import javax.sound.sampled.*;
+
+/**
+The SoundBank class decodes every sound in the sounds folder once, when the
+program starts, into 16-bit mono samples at the rate of the AudioMixer, adds
+each to the mixer as a small pool of voices, and starts the mixer. The panel
+then only plays and stops the shared Sound handles as things happen during
+play, so no sound file is read or decoded mid-frame, and the only line ever
+opened is the one the mixer writes to.
+@since 10-18-2026
+*/
+public class SoundBank
+{
+   /** folder the sounds are read from */
+   private static final String FOLDER = "sounds";
+   /** extension of the sound files read */
+   private static final String EXTENSION = ".wav";
+   /** name of each sound that may be played on more than one voice at once,
+   without its folder or extension, followed by its number of voices */
+   private static final Object[][] VOICES = {{"eatfruit", 2}, {"eatghost", 2}};
+   /** Sound of each file, by name */
+   private static final HashMap<String, Sound> BANK = new HashMap<String, Sound>();
+   /** number of sounds decoded from files since the program started */
+   private static int decodes;
+   /** milliseconds of sound the mixer buffers */
+   private static int latency = AudioMixer.DEFAULT_LATENCY;
+   /** whether the mixer plays to the null sink rather than the audio device */
+   private static boolean nullSink;
+   /** mixer every sound is played through, or null until the bank is built */
+   private static AudioMixer mixer;
+
+   /**
+   Sets the milliseconds of sound the mixer buffers, which only matters
+   before the bank is loaded.
+   @param millis milliseconds buffered, at least 5
+   @throws IllegalArgumentException if fewer than 5 milliseconds are given
+   */
+   public static synchronized void setLatency(int millis)
+   {
+      if(millis < 5)
+         throw new IllegalArgumentException("latency " + millis);
+      latency = millis;
+   }
+
+   /**
+   Sets whether the mixer plays to the null sink, mixing every sound at the
+   same pace but throwing it away, rather than to the audio device, which
+   only matters before the bank is loaded.
+   @param b   whether the null sink is used
+   */
+   public static synchronized void setNullSink(boolean b)
+   {
+      nullSink = b;
+   }
+
+   /**
+   Decodes every sound in the sounds folder, adds its voices to a new mixer,
+   and starts the mixer, unless the bank has already been loaded.
+   */
+   public static synchronized void load()
+   {
+      if(mixer != null)
+         return;
+      mixer = new AudioMixer(latency, !nullSink);
+      File[] files = new File(FOLDER).listFiles();
+      if(files != null)
+         for(int i = 0; i < files.length; i++){
+            String file = files[i].getName();
+            if(!files[i].isFile() || !file.toLowerCase().endsWith(EXTENSION))
+               continue;
+            String name = file.substring(0, file.length() - EXTENSION.length());
+            short[] pcm = decode(files[i]);
+            BANK.put(name, pcm == null ? new Sound() : new Sound(mixer, pcm, voices(name)));
+         }
+      mixer.start();
+   }
+
+   /**
+   Returns the Sound with the given name. Every call with the same name
+   returns the same Sound, and a sound with no file in the sounds folder, or
+   whose file could not be read, plays nothing.
+   @param name   name of the sound, without its folder or extension
+   @return  Sound of that name
+   @throws IllegalStateException if the bank has not been loaded
+   */
+   public static synchronized Sound get(String name)
+   {
+      if(mixer == null)
+         throw new IllegalStateException("sounds not loaded");
+      Sound s = BANK.get(name);
+      if(s == null){
+         s = new Sound();
+         BANK.put(name, s);
+      }
+      return s;
+   }
+
+   /**
+   Returns the mixer every sound is played through.
+   @return  the mixer
+   @throws IllegalStateException if the bank has not been loaded
+   */
+   public static synchronized AudioMixer getMixer()
+   {
+      if(mixer == null)
+         throw new IllegalStateException("sounds not loaded");
+      return mixer;
+   }
+
+   /**
+   Returns the number of sounds decoded from files since the program started,
+   which stays the same once the bank has been loaded.
+   @return  number of sounds decoded
+   */
+   public static synchronized int getDecodes()
+   {
+      return decodes;
+   }
+
+   /**
+   Returns the number of voices the sound with the given name may be played
+   on at once, read from VOICES, or 1 if it is not listed there.
+   @param name   name of the sound, without its folder or extension
+   @return  number of voices
+   */
+   private static int voices(String name)
+   {
+      for(int i = 0; i < VOICES.length; i++)
+         if(VOICES[i][0].equals(name))
+            return (Integer) VOICES[i][1];
+      return 1;
+   }
+
+   /**
+   Reads the given sound file and decodes it into 16-bit mono samples at
+   AudioMixer.RATE, converting it first if it is not stored as PCM, mixing
+   its channels down, and resampling it if it was recorded at another rate.
+   @param file   sound file
+   @return  decoded samples, or null if the file could not be read
+   */
+   private static short[] decode(File file)
+   {
+      decodes++;
+      try{
+         AudioInputStream in = AudioSystem.getAudioInputStream(file);
+         try{
+            AudioFormat format = in.getFormat();
+            if((format.getEncoding() != AudioFormat.Encoding.PCM_SIGNED
+               && format.getEncoding() != AudioFormat.Encoding.PCM_UNSIGNED)
+               || (format.getSampleSizeInBits() != 8 && format.getSampleSizeInBits() != 16)){
+               format = new AudioFormat(format.getSampleRate(), 16, format.getChannels(), true, false);
+               in = AudioSystem.getAudioInputStream(format, in);
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for(int n = in.read(buffer); n != -1; n = in.read(buffer))
+               bytes.write(buffer, 0, n);
+            return toSamples(bytes.toByteArray(), format);
+         }
+         finally{
+            in.close();
+         }
+      }
+      catch(IOException | UnsupportedAudioFileException | IllegalArgumentException e){
+         return null;
+      }
+   }
+
+   /**
+   Turns 8-bit or 16-bit PCM data of the given format into 16-bit mono
+   samples at AudioMixer.RATE, averaging the channels of each frame and
+   interpolating between frames when the rates differ.
+   @param data   PCM data
+   @param format format of the data
+   @return  samples
+   */
+   private static short[] toSamples(byte[] data, AudioFormat format)
+   {
+      int channels = format.getChannels();
+      int size = format.getSampleSizeInBits() / 8;
+      boolean signed = format.getEncoding() == AudioFormat.Encoding.PCM_SIGNED;
+      boolean big = format.isBigEndian();
+      int frames = data.length / (channels * size);
+      int[] mono = new int[frames];
+      for(int f = 0; f < frames; f++){
+         int sum = 0;
+         for(int c = 0; c < channels; c++){
+            int at = (f * channels + c) * size;
+            int s;
+            if(size == 1)
+               s = signed ? data[at] << 8 : ((data[at] & 0xFF) - 128) << 8;
+            else{
+               int lo = data[big ? at + 1 : at] & 0xFF;
+               int hi = data[big ? at : at + 1];
+               s = hi << 8 | lo;
+               if(!signed)
+                  s = (s & 0xFFFF) - 32768;
+            }
+            sum += s;
+         }
+         mono[f] = sum / channels;
+      }
+
+      double step = format.getSampleRate() / AudioMixer.RATE;
+      int length = frames == 0 ? 0 : (int) ((frames - 1) / step) + 1;
+      short[] pcm = new short[length];
+      for(int x = 0; x < length; x++){
+         double at = x * step;
+         int f = (int) at;
+         int g = Math.min(f + 1, frames - 1);
+         pcm[x] = (short) Math.round(mono[f] + (mono[g] - mono[f]) * (at - f));
+      }
+      return pcm;
+   }
+}
@@ -0,0 +1,68 @@
+import java.awt.*;
+
+/**
+The Sprite class is a handle to one image packed into the SpriteAtlas, already
+decoded and scaled to the size it is drawn at. A Sprite never changes once
+made, so the same one may be shared by every object that draws it.
+@since 10-18-2026
+*/
+public final class Sprite
+{
+   /** sheet the image is packed into */
+   private final Image sheet;
+   /** x-coordinate of the top-left corner of the image within the sheet */
+   private final int sheetX;
+   /** y-coordinate of the top-left corner of the image within the sheet */
+   private final int sheetY;
+   /** width in pixels of the image */
+   private final int width;
+   /** height in pixels of the image */
+   private final int height;
+
+   /**
+   Initializes a Sprite for the part of the given sheet with the given
+   coordinates and size.
+   @param sheet   sheet the image is packed into
+   @param x   x-coordinate of the top-left corner of the image within the sheet
+   @param y   y-coordinate of the top-left corner of the image within the sheet
+   @param w   width of the image
+   @param h   height of the image
+   */
+   Sprite(Image sheet, int x, int y, int w, int h)
+   {
+      this.sheet = sheet;
+      sheetX = x;
+      sheetY = y;
+      width = w;
+      height = h;
+   }
+
+   /**
+   Returns the width of the Sprite.
+   @return  width in pixels
+   */
+   public int getWidth()
+   {
+      return width;
+   }
+
+   /**
+   Returns the height of the Sprite.
+   @return  height in pixels
+   */
+   public int getHeight()
+   {
+      return height;
+   }
+
+   /**
+   Draws the Sprite with its top-left corner at the given coordinates.
+   @param g   Graphics object used to draw the Sprite
+   @param x   x-coordinate of the top-left corner
+   @param y   y-coordinate of the top-left corner
+   */
+   public void draw(Graphics g, int x, int y)
+   {
+      g.drawImage(sheet, x, y, x + width, y + height, sheetX, sheetY, sheetX + width, sheetY + height, null);
+   }
+}
@@ -0,0 +1,128 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import javax.imageio.ImageIO;
+
+/**
+The SpriteAtlas class decodes every image of the game once, the first time any
+of them is needed, scales each to the size it is drawn at, and packs them all
+into a single sheet compatible with the screen. Ghosts, fruit, and the panels
+along the bottom of the Scoreboard then draw from the sheet through shared
+Sprite handles, so making a new Ghost or Fruit never decodes an image again.
+@since 10-18-2026
+*/
+public class SpriteAtlas
+{
+   /** folder the images are read from */
+   private static final String FOLDER = "imageicons";
+   /** width in pixels of the sheet */
+   private static final int SHEET_WIDTH = 256;
+   /** name of each image, without its folder or extension, followed by the
+   width and height it is drawn at */
+   private static final Object[][] IMAGES = {
+      {"blinky1", 34, 32}, {"blinky2", 34, 32}, {"blinky3", 34, 32}, {"blinky4", 34, 32},
+      {"pinky1", 34, 32}, {"pinky2", 34, 32}, {"pinky3", 34, 32}, {"pinky4", 34, 32},
+      {"inky1", 34, 32}, {"inky2", 34, 32}, {"inky3", 34, 32}, {"inky4", 34, 32},
+      {"clyde1", 34, 32}, {"clyde2", 34, 32}, {"clyde3", 34, 32}, {"clyde4", 34, 32},
+      {"blue", 34, 32}, {"white", 34, 32},
+      {"dead1", 34, 32}, {"dead2", 34, 32}, {"dead3", 34, 32}, {"dead4", 34, 32},
+      {"cherry", 52, 42}, {"strawberry", 27, 29}, {"orange", 36, 34},
+      {"apple", 37, 35}, {"melon", 37, 45}};
+   /** Sprite of each image, by name */
+   private static final HashMap<String, Sprite> SPRITES = new HashMap<String, Sprite>();
+   /** number of images decoded from files since the program started */
+   private static int decodes;
+
+   static{
+      int[] x = new int[IMAGES.length];
+      int[] y = new int[IMAGES.length];
+      int shelfX = 0;
+      int shelfY = 0;
+      int shelfHeight = 0;
+      for(int i = 0; i < IMAGES.length; i++){
+         int w = (Integer) IMAGES[i][1];
+         int h = (Integer) IMAGES[i][2];
+         if(shelfX + w > SHEET_WIDTH){
+            shelfX = 0;
+            shelfY += shelfHeight;
+            shelfHeight = 0;
+         }
+         x[i] = shelfX;
+         y[i] = shelfY;
+         shelfX += w;
+         shelfHeight = Math.max(shelfHeight, h);
+      }
+
+      BufferedImage sheet = makeSheet(SHEET_WIDTH, shelfY + shelfHeight);
+      Graphics2D g = sheet.createGraphics();
+      for(int i = 0; i < IMAGES.length; i++){
+         String name = (String) IMAGES[i][0];
+         int w = (Integer) IMAGES[i][1];
+         int h = (Integer) IMAGES[i][2];
+         Image image = decode(name);
+         if(image != null)
+            g.drawImage(image, x[i], y[i], w, h, null);
+         SPRITES.put(name, new Sprite(sheet, x[i], y[i], w, h));
+      }
+      g.dispose();
+   }
+
+   /**
+   Returns the Sprite of the image with the given name. Every call with the
+   same name returns the same Sprite.
+   @param name   name of the image, without its folder or extension
+   @return  Sprite of the image
+   @throws IllegalArgumentException if there is no image with that name
+   */
+   public static Sprite get(String name)
+   {
+      Sprite s = SPRITES.get(name);
+      if(s == null)
+         throw new IllegalArgumentException("no sprite named " + name);
+      return s;
+   }
+
+   /**
+   Returns the number of images decoded from files since the program started,
+   which stays the same once the atlas has been built.
+   @return  number of images decoded
+   */
+   public static int getDecodes()
+   {
+      return decodes;
+   }
+
+   /**
+   Reads and decodes the image with the given name. An image that is missing
+   or cannot be read is left blank, as an ImageIcon would be.
+   @param name   name of the image, without its folder or extension
+   @return  decoded image, or null if it could not be read
+   */
+   private static Image decode(String name)
+   {
+      decodes++;
+      try{
+         return ImageIO.read(new File(FOLDER, name + ".png"));
+      }
+      catch(IOException e){
+         return null;
+      }
+   }
+
+   /**
+   Makes a transparent sheet of the given size, compatible with the screen
+   when there is one so that drawing from it is as fast as possible.
+   @param w   width of the sheet
+   @param h   height of the sheet
+   @return  empty sheet
+   */
+   private static BufferedImage makeSheet(int w, int h)
+   {
+      if(GraphicsEnvironment.isHeadless())
+         return new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+      return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+         .getDefaultConfiguration().createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+   }
+}
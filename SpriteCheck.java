@@ -0,0 +1,66 @@
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+/**
+The SpriteCheck class checks that no image is decoded once the SpriteAtlas
+has been built. It plays games with no window, each with new ghosts and a
+new fruit, and draws every ghost and fruit at every step the way the panel
+does, counting the images decoded from files before and after.
+@since 10-18-2026
+*/
+public class SpriteCheck
+{
+   /**
+   The main method builds the atlas, then plays and draws the games, and
+   prints how many images were decoded while building the atlas and while
+   playing. It exits with a status of 1 if any were decoded while playing.
+   @param args  optionally, the number of games, 3 by default.
+   @throws Exception  removes complication of scanning text files.
+   */
+   public static void main(String[] args) throws Exception
+   {
+      System.setProperty("java.awt.headless", "true");
+      int games = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+      GameEngine layout = new GameEngine(1);
+      SpriteAtlas.get("blinky1");
+      int built = SpriteAtlas.getDecodes();
+
+      BufferedImage board = new BufferedImage(layout.getMaze().getTileWidth() * Maze.TILE,
+         layout.getMaze().getTileHeight() * Maze.TILE, BufferedImage.TYPE_INT_RGB);
+      Graphics g = board.getGraphics();
+      BatchDriver.BotPlayer bot = new BatchDriver.BotPlayer(layout.getMaze());
+      long frames = 0;
+      for(int n = 0; n < games; n++){
+         GameEngine game = new GameEngine(layout, n);
+         for(int type = 1; type <= 5; type++){
+            game.getFruit().setType(type);
+            game.getFruit().drawMe(g);
+         }
+         game.getFruit().setType(1);
+         while(game.getPhase() != GameEngine.GAME_OVER){
+            game.step(bot.next(game));
+            Ghost[] ghosts = game.getGhosts();
+            for(int k = 0; k < ghosts.length; k++){
+               if(ghosts[k].isDead())
+                  ghosts[k].drawDead(g);
+               else if(ghosts[k].isFright() && frames % 2 == 0)
+                  ghosts[k].drawWhite(g);
+               else if(ghosts[k].isFright())
+                  ghosts[k].drawBlue(g);
+               else
+                  ghosts[k].drawMe(g);
+            }
+            if(game.isFruitShown())
+               game.getFruit().drawMe(g);
+            frames++;
+         }
+      }
+      g.dispose();
+
+      int played = SpriteAtlas.getDecodes() - built;
+      System.out.printf("%d images decoded building the atlas, %d decoded over %d games and %d frames%n",
+         built, played, games, frames);
+      if(played > 0)
+         System.exit(1);
+   }
+}